@@ -0,0 +1,120 @@
+package com.example.dat.appointment.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.doctor.entity.Schedule;
+import com.example.dat.enums.AppointmentStatus;
+
+/**
+ * The in-memory part of booking validation: schedule fit, overlap against the doctor's
+ * appointments (as done for series bookings) and building a day of the occupancy calendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingValidationBenchmark {
+
+    // Appointments already held by the doctor in the checked range
+    @Param({"8", "64", "512"})
+    public int takenAppointments;
+
+    private Doctor doctor;
+    private List<Schedule> schedules;
+    private List<Appointment> taken;
+    private LocalDateTime freeStart;
+    private LocalDateTime freeEnd;
+    private LocalDate day;
+
+    @Setup
+    public void setup() {
+        doctor = Doctor.builder().id(1L).tiempoDeConsulta(30).build();
+
+        schedules = new ArrayList<>();
+        for (DayOfWeek dow : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+            schedules.add(Schedule.builder()
+                    .dayOfWeek(dow.name())
+                    .isActive(true)
+                    .startTime(LocalTime.of(8, 0))
+                    .endTime(LocalTime.of(17, 0))
+                    .lunchStart(LocalTime.of(12, 0))
+                    .lunchEnd(LocalTime.of(13, 0))
+                    .doctor(doctor)
+                    .build());
+        }
+
+        day = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+        // 14 half-hour morning/afternoon slots per working day, filled from the first day on
+        taken = new ArrayList<>(takenAppointments);
+        LocalDate date = day;
+        LocalTime time = LocalTime.of(8, 0);
+        for (int i = 0; i < takenAppointments; i++) {
+            LocalDateTime start = date.atTime(time);
+            taken.add(Appointment.builder()
+                    .id((long) i)
+                    .startTime(start)
+                    .endTime(start.plusMinutes(30))
+                    .status(AppointmentStatus.SCHEDULED)
+                    .doctor(doctor)
+                    .build());
+            time = time.plusMinutes(30);
+            if (time.equals(LocalTime.of(12, 0))) {
+                time = LocalTime.of(13, 30);
+            } else if (time.equals(LocalTime.of(16, 30))) {
+                time = LocalTime.of(8, 0);
+                date = date.plusDays(date.getDayOfWeek() == DayOfWeek.FRIDAY ? 3 : 1);
+            }
+        }
+
+        // A slot after every taken one, so the overlap scan walks the whole list
+        freeStart = date.plusDays(7).atTime(9, 0);
+        freeEnd = freeStart.plusMinutes(AppointmentSlotRules.slotMinutes(doctor));
+    }
+
+    @Benchmark
+    public boolean withinAnySchedule() {
+        return AppointmentSlotRules.withinAnySchedule(schedules, freeStart, freeEnd);
+    }
+
+    @Benchmark
+    public boolean overlapsAny() {
+        return AppointmentSlotRules.overlapsAny(taken, freeStart, freeEnd);
+    }
+
+    // Full in-memory check of one occurrence, as bookAppointmentSeries does per date
+    @Benchmark
+    public boolean validateSlot() {
+        return AppointmentSlotRules.withinAnySchedule(schedules, freeStart, freeEnd)
+                && !AppointmentSlotRules.overlapsAny(taken, freeStart, freeEnd);
+    }
+
+    @Benchmark
+    public Object buildCalendarDay() {
+        return DoctorOccupancyCalendar.DayOccupancy.build(day, AppointmentSlotRules.slotMinutes(doctor), schedules);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.dat.config;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.dat.appointment.dto.AppointmentDTO;
+import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.consultation.dto.ConsultationDTO;
+import com.example.dat.consultation.entity.Consultation;
+import com.example.dat.consultation.entity.ConsultationDocument;
+import com.example.dat.doctor.dto.DoctorDTO;
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.doctor.entity.Schedule;
+import com.example.dat.enums.AppointmentStatus;
+import com.example.dat.enums.BloodGroup;
+import com.example.dat.enums.Genotype;
+import com.example.dat.enums.Specialization;
+import com.example.dat.patient.entity.Patient;
+import com.example.dat.role.entity.Role;
+import com.example.dat.users.entity.User;
+
+/**
+ * Entity to DTO conversions with the application's ModelMapper configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private Doctor doctor;
+    private Appointment appointment;
+    private Consultation consultation;
+
+    @Setup
+    public void setup() {
+        modelMapper = new AppConfig().modelMapperConfig();
+
+        User doctorUser = User.builder()
+                .id(1L)
+                .name("Ana Doctora")
+                .email("doctor@example.com")
+                .password("unused")
+                .roles(List.of(Role.builder().id(2L).name("DOCTOR").build()))
+                .build();
+
+        doctor = Doctor.builder()
+                .id(1L)
+                .firstName("Ana")
+                .lastName("Doctora")
+                .gender("FEMENINO")
+                .phone("555-0100")
+                .specialization(Specialization.CARDIOLOGIA)
+                .licenseNumber("LIC-0001")
+                .restriccionGenero("TODOS")
+                .edadMinima(18)
+                .edadMaxima(90)
+                .tiempoDeConsulta(30)
+                .user(doctorUser)
+                .build();
+
+        List<Schedule> schedules = new ArrayList<>();
+        for (String day : List.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY")) {
+            schedules.add(Schedule.builder()
+                    .dayOfWeek(day)
+                    .isActive(true)
+                    .startTime(LocalTime.of(8, 0))
+                    .endTime(LocalTime.of(17, 0))
+                    .lunchStart(LocalTime.of(12, 0))
+                    .lunchEnd(LocalTime.of(13, 0))
+                    .doctor(doctor)
+                    .build());
+        }
+        doctor.setSchedules(schedules);
+
+        User patientUser = User.builder()
+                .id(2L)
+                .name("Luis Paciente")
+                .email("patient@example.com")
+                .password("unused")
+                .roles(List.of(Role.builder().id(1L).name("PATIENT").build()))
+                .build();
+
+        Patient patient = Patient.builder()
+                .id(1L)
+                .expedienteNumber("00001")
+                .firstName("Luis")
+                .lastName("Paciente")
+                .dateOfBirth(LocalDate.of(1990, 5, 17))
+                .gender("MASCULINO")
+                .bloodGroup(BloodGroup.O_POSITIVE)
+                .genotype(Genotype.AA)
+                .user(patientUser)
+                .build();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withHour(9).withMinute(0);
+        appointment = Appointment.builder()
+                .id(10L)
+                .startTime(start)
+                .endTime(start.plusMinutes(30))
+                .meetingLink("https://meet.jit.si/benchmark")
+                .purposeOfConsultation("Control")
+                .initialSymptoms("Ninguno")
+                .status(AppointmentStatus.SCHEDULED)
+                .doctor(doctor)
+                .patient(patient)
+                .build();
+
+        consultation = Consultation.builder()
+                .id(20L)
+                .consultationDate(start)
+                .subjectiveNotes("Paciente refiere dolor leve.")
+                .objectiveFindings("Signos vitales normales.")
+                .assessment("Sin hallazgos.")
+                .plan("Control en 6 meses.")
+                .appointment(appointment)
+                .build();
+
+        List<ConsultationDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            documents.add(ConsultationDocument.builder()
+                    .id((long) i)
+                    .fileName("resultado-" + i + ".pdf")
+                    .filePath("uploads/consultations/resultado-" + i + ".pdf")
+                    .fileType("application/pdf")
+                    .fileSize(120_000L)
+                    .uploadedAt(start)
+                    .consultation(consultation)
+                    .build());
+        }
+        consultation.setDocuments(documents);
+    }
+
+    @Benchmark
+    public DoctorDTO doctorToDTO() {
+        return modelMapper.map(doctor, DoctorDTO.class);
+    }
+
+    @Benchmark
+    public AppointmentDTO appointmentToDTO() {
+        return modelMapper.map(appointment, AppointmentDTO.class);
+    }
+
+    @Benchmark
+    public ConsultationDTO consultationToDTO() {
+        return modelMapper.map(consultation, ConsultationDTO.class);
+    }
+}
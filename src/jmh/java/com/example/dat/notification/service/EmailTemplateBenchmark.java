@@ -0,0 +1,89 @@
+package com.example.dat.notification.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import com.example.dat.config.AppConfig;
+
+/**
+ * Rendering of every e-mail template with the engine configured in AppConfig.
+ * The variable map is the union of what the notification senders pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    @Param({
+            "appointment-cancellation",
+            "appointment-reminder",
+            "appointment-series",
+            "doctor-appointment",
+            "expediente-notification",
+            "password-change",
+            "password-reset",
+            "password-update-confirmation",
+            "patient-appointment",
+            "waitlist-slot-available",
+            "welcome"
+    })
+    public String templateName;
+
+    private SpringTemplateEngine templateEngine;
+    private Context context;
+
+    @Setup
+    public void setup() {
+        templateEngine = new AppConfig().templateEngine();
+
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("name", "Luis Paciente");
+        vars.put("recipientName", "Luis Paciente");
+        vars.put("patientName", "Luis Paciente");
+        vars.put("patientFullName", "Luis Paciente");
+        vars.put("doctorName", "Ana Doctora");
+        vars.put("cancellingPartyName", "Ana Doctora");
+        vars.put("appointmentTime", "Monday, Jan 12, 2026 at 09:00 AM");
+        vars.put("appointmentTimes", List.of("Monday, Jan 12, 2026 at 09:00 AM", "Monday, Jan 19, 2026 at 09:00 AM"));
+        vars.put("skippedTimes", List.of("Monday, Jan 26, 2026 at 09:00 AM"));
+        vars.put("changeTime", LocalDateTime.now().toString());
+        vars.put("expedienteNumber", "00001");
+        vars.put("purposeOfConsultation", "Control");
+        vars.put("initialSymptoms", "Ninguno");
+        vars.put("meetingLink", "https://meet.jit.si/benchmark");
+        vars.put("isVirtual", true);
+        vars.put("loginLink", "http://localhost:4200/login");
+        vars.put("resetLink", "http://localhost:4200/reset-password?code=ABCDE");
+
+        context = new Context();
+        context.setVariables(vars);
+
+        // Parse once so the measurement covers rendering from the template cache
+        templateEngine.process(templateName, context);
+    }
+
+    @Benchmark
+    public String render() {
+        return templateEngine.process(templateName, context);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.dat.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.dat.role.entity.Role;
+import com.example.dat.users.entity.User;
+
+/**
+ * Token issue on login and the per-request parse/verify and revocation check done by AuthFilter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String EMAIL = "patient@example.com";
+
+    @Param({JwtKeyManager.RS256, JwtKeyManager.EDDSA})
+    public String algorithm;
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+    private TokenRevocationList revocationList;
+    private JwtService.AccessToken parsed;
+
+    @Setup
+    public void setup() {
+        // Signing key activated in memory only, no jwt_signing_keys table
+        JwtKeyManager keyManager = new JwtKeyManager(null, null, algorithm, 86_400_000L, 3_600_000L);
+        keyManager.activate(JwtKeyManager.generate(algorithm));
+        jwtService = new JwtService(keyManager);
+        ReflectionTestUtils.setField(jwtService, "EXPIRATION_TIME", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        user = User.builder()
+                .id(42L)
+                .email(EMAIL)
+                .roles(List.of(Role.builder().name("PATIENT").build()))
+                .build();
+        token = jwtService.generateToken(user);
+
+        // 1000 revoked tokens, none of them the one being checked
+        revocationList = new TokenRevocationList(null, 3_600_000L, 10_000);
+        for (int i = 0; i < 1000; i++) {
+            ReflectionTestUtils.invokeMethod(revocationList, "addJti", "revoked-" + i, Instant.MAX);
+        }
+        parsed = jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    // Signature and expiry verified in one parse
+    @Benchmark
+    public JwtService.AccessToken parseToken() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public boolean isRevoked() {
+        return revocationList.isRevoked(parsed);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.dat.users.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Password-reset code generation, single-threaded and under contention on the shared SecureRandom.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeGeneratorBenchmark {
+
+    private CodeGenerator codeGenerator;
+
+    @Setup
+    public void setup() {
+        codeGenerator = new CodeGenerator();
+    }
+
+    @Benchmark
+    public String generateCode() {
+        return codeGenerator.generateCode();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateCodeContended() {
+        return codeGenerator.generateCode();
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.dat.appointment.controller;
 
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,12 +14,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.dat.appointment.dto.AppointmentDTO;
+import com.example.dat.appointment.dto.AppointmentSeriesDTO;
+import com.example.dat.appointment.dto.AppointmentSeriesResultDTO;
+import com.example.dat.appointment.dto.CalendarDayDTO;
 import com.example.dat.appointment.service.AppointmentService;
 import com.example.dat.res.Response;
 
+import jakarta.validation.Valid;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -68,6 +76,13 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.bookAppointment(dto));
     }
 
+    // Recurring (startTime + occurrences + intervalDays) or bulk (startTimes) booking in one request
+    @PostMapping("/series")
+    public ResponseEntity<Response<AppointmentSeriesResultDTO>> bookAppointmentSeries(
+            @RequestBody @Valid AppointmentSeriesDTO seriesDTO) {
+        return ResponseEntity.ok(appointmentService.bookAppointmentSeries(seriesDTO));
+    }
+
     // Debug endpoint to log raw request body for troubleshooting timezone issues
     @PostMapping("/debug")
     public ResponseEntity<String> debugRawBooking(@RequestBody String raw) {
@@ -91,6 +106,16 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.completeAppointment(appointmentId));
     }
 
+    // Doctor agenda: view=day returns the given date, view=week the Monday-Sunday week containing it
+    @GetMapping("/calendar")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    public ResponseEntity<Response<List<CalendarDayDTO>>> getDoctorCalendar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "day") String view) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        return ResponseEntity.ok(appointmentService.getDoctorCalendar(day, "week".equalsIgnoreCase(view)));
+    }
+
 }
 
 
@@ -0,0 +1,51 @@
+package com.example.dat.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AppointmentSeriesDTO {
+
+    @NotNull(message = "Doctor ID is required for booking.")
+    private Long doctorId;
+
+    // Optional: book on behalf of a dependent
+    private Long dependentId;
+
+    private String purposeOfConsultation;
+
+    private String initialSymptoms;
+
+    // Recurring mode: first occurrence, repeated every intervalDays
+    private LocalDateTime startTime;
+
+    @Min(value = 1, message = "A series needs at least one occurrence.")
+    @Max(value = 52, message = "A series can have at most 52 occurrences.")
+    private Integer occurrences;
+
+    @Min(value = 1, message = "The interval between occurrences must be at least one day.")
+    private Integer intervalDays;
+
+    // Bulk mode: explicit start times (takes precedence over the recurring fields)
+    @Size(max = 52, message = "A series can have at most 52 occurrences.")
+    private List<@NotNull(message = "Start times cannot be null.") LocalDateTime> startTimes;
+
+    // true: book nothing unless every occurrence is available; false: book what is available
+    private Boolean allOrNothing;
+}
@@ -0,0 +1,38 @@
+package com.example.dat.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AppointmentSeriesResultDTO {
+
+    private int requested;
+    private int booked;
+
+    private List<Occurrence> occurrences;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Occurrence {
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private boolean booked;
+        private Long appointmentId;
+        private String reason; // why the occurrence was rejected
+    }
+}
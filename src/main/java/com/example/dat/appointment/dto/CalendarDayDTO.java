@@ -0,0 +1,35 @@
+package com.example.dat.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CalendarDayDTO {
+
+    private LocalDate date;
+
+    private Integer slotMinutes;
+
+    // First and last working minute of the day (null when the doctor does not work that day)
+    private LocalTime dayStart;
+    private LocalTime dayEnd;
+
+    // One character per slot starting at dayStart:
+    // F = free, B = booked, C = completed, - = outside schedule or lunch
+    private String occupancy;
+
+    private Integer freeSlots;
+    private Integer bookedSlots;
+}
@@ -16,10 +16,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -30,11 +32,20 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        // lifecycle sweeps: upcoming reminders by start time, overdue appointments by end time
+        @Index(name = "idx_appointments_status_start", columnList = "status, start_time"),
+        @Index(name = "idx_appointments_status_end", columnList = "status, end_time"),
+        // booking conflict check, see db/migration/V2__appointments_conflict_index.sql
+        @Index(name = "idx_appointments_doctor_status_time", columnList = "doctor_id, status, start_time, end_time")
+})
 public class Appointment {
 
+    // Ids come from id_generators 50 at a time (V7), so new rows can be JDBC-batched; IDENTITY cannot be
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "appointment_id")
+    @TableGenerator(name = "appointment_id", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "appointments", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, columnDefinition = "DATETIME")
@@ -51,6 +62,10 @@ public class Appointment {
     @Enumerated(EnumType.STRING)
     private AppointmentStatus status;
 
+    // Set once the reminder e-mail has been dispatched by the lifecycle sweep
+    @Column(columnDefinition = "DATETIME")
+    private LocalDateTime reminderSentAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private Doctor doctor;
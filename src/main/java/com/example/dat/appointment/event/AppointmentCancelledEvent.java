@@ -0,0 +1,10 @@
+package com.example.dat.appointment.event;
+
+import java.time.LocalDateTime;
+
+// Published after an appointment is cancelled and its slot is free again
+public record AppointmentCancelledEvent(Long appointmentId,
+                                        Long doctorId,
+                                        LocalDateTime startTime,
+                                        LocalDateTime endTime) {
+}
@@ -1,7 +1,12 @@
 package com.example.dat.appointment.repo;
 //tengo imports de demas dos org
 import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.appointment.service.AppointmentSlotRules;
+import com.example.dat.enums.AppointmentStatus;
+import com.example.dat.scheduling.dto.SweepKey;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -18,17 +23,141 @@ public interface AppointmentRepo extends JpaRepository<Appointment, Long> {
     //fetch appointment of the patient
     List<Appointment> findByPatient_User_IdOrderByIdDesc(Long userId);
 
-    @Query("SELECT a FROM Appointment a " +
+    //ids of the doctor's appointments in the given status that overlap [newStartTime, newEndTime);
+    //answered from idx_appointments_doctor_status_time without touching the rows.
+    //windowStart bounds the start_time range scan from below (no appointment is longer than the window)
+    @Query("SELECT a.id FROM Appointment a " +
             "WHERE a.doctor.id = :doctorId " +
-            "AND a.status = 'SCHEDULED' " + // Only check for scheduled/confirmed appointments
-            "AND (" +
-            // Case 1: Existing appointment starts during the new slot
-            "    (a.startTime < :newEndTime AND a.endTime > :newStartTime)" +
-            ")")
-    List<Appointment> findConflictingAppointments(
+            "AND a.status = :status " +
+            "AND a.startTime >= :windowStart AND a.startTime < :newEndTime " +
+            "AND a.endTime > :newStartTime")
+    List<Long> findConflictingIds(
             @Param("doctorId") Long doctorId,
+            @Param("status") AppointmentStatus status,
+            @Param("windowStart") LocalDateTime windowStart,
             @Param("newStartTime") LocalDateTime newStartTime,
-            @Param("newEndTime") LocalDateTime newEndTime
+            @Param("newEndTime") LocalDateTime newEndTime,
+            Limit limit
+    );
+
+    //true when a scheduled appointment of the doctor overlaps the new slot; stops at the first match.
+    //No appointment is longer than MAX_APPOINTMENT_LENGTH, so anything starting earlier than that cannot overlap
+    default boolean existsConflictingAppointment(Long doctorId, LocalDateTime newStartTime, LocalDateTime newEndTime) {
+        return !findConflictingIds(doctorId, AppointmentStatus.SCHEDULED,
+                newStartTime.minus(AppointmentSlotRules.MAX_APPOINTMENT_LENGTH),
+                newStartTime, newEndTime, Limit.of(1)).isEmpty();
+    }
+
+    //appointments of the doctor with the given statuses that overlap [from, to)
+    @Query("SELECT a FROM Appointment a " +
+            "WHERE a.doctor.id = :doctorId " +
+            "AND a.status IN :statuses " +
+            "AND a.startTime < :to AND a.endTime > :from")
+    List<Appointment> findDoctorAppointmentsInRange(
+            @Param("doctorId") Long doctorId,
+            @Param("statuses") List<AppointmentStatus> statuses,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    //lifecycle sweep: next batch of appointments starting within the reminder window, walked by id
+    @Query("SELECT a FROM Appointment a " +
+            "JOIN FETCH a.patient p JOIN FETCH p.user " +
+            "JOIN FETCH a.doctor d JOIN FETCH d.user " +
+            "WHERE a.status = :status " +
+            "AND a.reminderSentAt IS NULL " +
+            "AND a.startTime >= :from AND a.startTime < :to " +
+            "AND a.id > :afterId " +
+            "ORDER BY a.id")
+    List<Appointment> findDueForReminder(
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.reminderSentAt = :sentAt WHERE a.id IN :ids")
+    int markReminderSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    //lifecycle sweep: appointments still in the given status that ended before the cutoff, in
+    //(endTime, id) order, which idx_appointments_status_end returns without sorting (id is part of the entry)
+    @Query("SELECT new com.example.dat.scheduling.dto.SweepKey(a.id, a.endTime) FROM Appointment a " +
+            "WHERE a.status = :status " +
+            "AND a.endTime < :cutoff " +
+            "ORDER BY a.endTime, a.id")
+    List<SweepKey> findOverdue(
+            @Param("status") AppointmentStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            Limit limit
+    );
+
+    //next batch: strictly after the (endTime, id) of the last row returned
+    @Query("SELECT new com.example.dat.scheduling.dto.SweepKey(a.id, a.endTime) FROM Appointment a " +
+            "WHERE a.status = :status " +
+            "AND a.endTime < :cutoff " +
+            "AND a.endTime >= :afterEndTime " +
+            "AND (a.endTime > :afterEndTime OR a.id > :afterId) " +
+            "ORDER BY a.endTime, a.id")
+    List<SweepKey> findOverdueAfter(
+            @Param("status") AppointmentStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterEndTime") LocalDateTime afterEndTime,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    //overdue appointments that have consultation notes were attended
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :newStatus " +
+            "WHERE a.id IN :ids AND a.status = :currentStatus " +
+            "AND EXISTS (SELECT c.id FROM Consultation c WHERE c.appointment = a)")
+    int updateStatusWithConsultation(
+            @Param("ids") List<Long> ids,
+            @Param("currentStatus") AppointmentStatus currentStatus,
+            @Param("newStatus") AppointmentStatus newStatus
+    );
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :newStatus " +
+            "WHERE a.id IN :ids AND a.status = :currentStatus")
+    int updateStatus(
+            @Param("ids") List<Long> ids,
+            @Param("currentStatus") AppointmentStatus currentStatus,
+            @Param("newStatus") AppointmentStatus newStatus
+    );
+
+    //archival sweep: appointments in one closed status that started before the cutoff, in (startTime, id)
+    //order so idx_appointments_status_start returns them without sorting; one status per call, since
+    //an IN list would merge several index ranges and need a sort again
+    @Query("SELECT new com.example.dat.scheduling.dto.SweepKey(a.id, a.startTime) FROM Appointment a " +
+            "WHERE a.status = :status " +
+            "AND a.startTime < :cutoff " +
+            "ORDER BY a.startTime, a.id")
+    List<SweepKey> findArchivable(
+            @Param("status") AppointmentStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            Limit limit
     );
 
+    //next batch: strictly after the (startTime, id) of the last row returned
+    @Query("SELECT new com.example.dat.scheduling.dto.SweepKey(a.id, a.startTime) FROM Appointment a " +
+            "WHERE a.status = :status " +
+            "AND a.startTime < :cutoff " +
+            "AND a.startTime >= :afterStartTime " +
+            "AND (a.startTime > :afterStartTime OR a.id > :afterId) " +
+            "ORDER BY a.startTime, a.id")
+    List<SweepKey> findArchivableAfter(
+            @Param("status") AppointmentStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterStartTime") LocalDateTime afterStartTime,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    @Modifying
+    @Query("DELETE FROM Appointment a WHERE a.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
 }
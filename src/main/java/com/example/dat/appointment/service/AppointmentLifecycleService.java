@@ -0,0 +1,183 @@
+package com.example.dat.appointment.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.enums.AppointmentStatus;
+import com.example.dat.notification.dto.NotificationDTO;
+import com.example.dat.notification.event.EmailRequestedEvent;
+import com.example.dat.scheduling.dto.SweepKey;
+import com.example.dat.scheduling.service.LeaseService;
+import com.example.dat.users.entity.User;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodic sweep that moves appointments through their lifecycle without user action:
+ * reminder e-mails ahead of the start time, and closing appointments that are over
+ * (COMPLETED when consultation notes exist, NO_SHOW otherwise).
+ * Work is done in keyset batches over the (status, start_time) and (status, end_time) indexes,
+ * each walked in its own order, and only the node holding the lease runs it.
+ * <p>
+ * A reminder is requested (EmailRequestedEvent) in the transaction that marks it sent, so it goes out
+ * exactly when that mark commits. Appointments are closed with bulk updates that bypass
+ * DoctorOccupancyCalendar: a cached day keeps showing them as booked, not completed or (no-show) free,
+ * until it expires (app.appointments.calendar.ttl-ms). Only past slots are affected, and those cannot
+ * be booked anyway.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentLifecycleService {
+
+    private static final String LEASE_NAME = "appointment-lifecycle";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMM dd, yyyy 'at' hh:mm a");
+
+    private final AppointmentRepo appointmentRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.appointments.lifecycle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.appointments.lifecycle.reminder-hours-ahead:24}")
+    private long reminderHoursAhead;
+
+    @Value("${app.appointments.lifecycle.no-show-grace-minutes:30}")
+    private long noShowGraceMinutes;
+
+    @Value("${app.appointments.lifecycle.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.appointments.lifecycle.lease-seconds:300}")
+    private long leaseSeconds;
+
+
+    @Scheduled(fixedDelayString = "${app.appointments.lifecycle.sweep-interval-ms:60000}",
+            initialDelayString = "${app.appointments.lifecycle.initial-delay-ms:30000}")
+    public void sweep() {
+
+        if (!enabled || !leaseService.tryAcquire(LEASE_NAME, leaseDuration())) {
+            return;
+        }
+
+        try {
+            int reminded = sendReminders();
+            int closed = closeOverdueAppointments();
+            if (reminded > 0 || closed > 0) {
+                log.info("Appointment lifecycle sweep: {} reminders sent, {} appointments closed", reminded, closed);
+            }
+        } catch (Exception e) {
+            log.error("Appointment lifecycle sweep failed", e);
+        }
+    }
+
+    int sendReminders() {
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowEnd = now.plusHours(reminderHoursAhead);
+
+        int total = 0;
+        long lastId = 0L;
+
+        while (true) {
+            final long afterId = lastId;
+            List<Appointment> batch = transactionTemplate.execute(status -> {
+                List<Appointment> due = appointmentRepo.findDueForReminder(
+                        AppointmentStatus.SCHEDULED, now, windowEnd, afterId, Limit.of(batchSize));
+                if (!due.isEmpty()) {
+                    appointmentRepo.markReminderSent(due.stream().map(Appointment::getId).toList(), LocalDateTime.now());
+                    // Sent once the mark has committed (EmailRequestedListener); a rolled-back batch sends nothing
+                    due.forEach(this::requestReminder);
+                }
+                return due;
+            });
+
+            if (batch == null || batch.isEmpty()) {
+                return total;
+            }
+
+            total += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+
+            if (batch.size() < batchSize || !leaseService.tryAcquire(LEASE_NAME, leaseDuration())) {
+                return total;
+            }
+        }
+    }
+
+    int closeOverdueAppointments() {
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(noShowGraceMinutes);
+
+        int total = 0;
+        SweepKey last = null;
+
+        while (true) {
+            List<SweepKey> batch = last == null
+                    ? appointmentRepo.findOverdue(AppointmentStatus.SCHEDULED, cutoff, Limit.of(batchSize))
+                    : appointmentRepo.findOverdueAfter(AppointmentStatus.SCHEDULED, cutoff, last.time(), last.id(),
+                            Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return total;
+            }
+            List<Long> ids = batch.stream().map(SweepKey::id).toList();
+
+            Integer closed = transactionTemplate.execute(status -> {
+                // Attended appointments first, then whatever is still SCHEDULED was missed
+                int completed = appointmentRepo.updateStatusWithConsultation(
+                        ids, AppointmentStatus.SCHEDULED, AppointmentStatus.COMPLETED);
+                int noShows = appointmentRepo.updateStatus(
+                        ids, AppointmentStatus.SCHEDULED, AppointmentStatus.NO_SHOW);
+                return completed + noShows;
+            });
+
+            total += closed != null ? closed : 0;
+            last = batch.get(batch.size() - 1);
+
+            if (ids.size() < batchSize || !leaseService.tryAcquire(LEASE_NAME, leaseDuration())) {
+                return total;
+            }
+        }
+    }
+
+    private void requestReminder(Appointment appointment) {
+
+        User patientUser = appointment.getPatient().getUser();
+
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("patientName", patientUser.getName());
+        vars.put("doctorName", appointment.getDoctor().getUser().getName());
+        vars.put("appointmentTime", appointment.getStartTime().format(FORMATTER));
+        vars.put("meetingLink", appointment.getMeetingLink());
+        vars.put("purposeOfConsultation", appointment.getPurposeOfConsultation());
+
+        NotificationDTO reminder = NotificationDTO.builder()
+                .recipient(patientUser.getEmail())
+                .subject("DAT Health: Appointment Reminder")
+                .templateName("appointment-reminder")
+                .templateVariables(vars)
+                .build();
+
+        eventPublisher.publishEvent(new EmailRequestedEvent(reminder, patientUser));
+    }
+
+    private Duration leaseDuration() {
+        return Duration.ofSeconds(leaseSeconds);
+    }
+}
@@ -1,18 +1,31 @@
 package com.example.dat.appointment.service;
 
 import com.example.dat.appointment.dto.AppointmentDTO;
+import com.example.dat.appointment.dto.AppointmentSeriesDTO;
+import com.example.dat.appointment.dto.AppointmentSeriesResultDTO;
+import com.example.dat.appointment.dto.CalendarDayDTO;
 import com.example.dat.res.Response;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AppointmentService {
 
     Response<AppointmentDTO> bookAppointment(AppointmentDTO appointmentDTO);
 
+    Response<AppointmentSeriesResultDTO> bookAppointmentSeries(AppointmentSeriesDTO seriesDTO);
+
+    // Internal booking for a patient other than the current user (e.g. waitlist backfill)
+    AppointmentDTO bookOnBehalf(Long patientId, Long dependentId, Long doctorId,
+                                LocalDateTime startTime, String purposeOfConsultation);
+
     Response<List<AppointmentDTO>> getMyAppointments();
 
     Response<AppointmentDTO> cancelAppointment(Long appointmentId);
 
     Response<?> completeAppointment(Long appointmentId);
 
+    Response<List<CalendarDayDTO>> getDoctorCalendar(LocalDate date, boolean weekView);
+
 }
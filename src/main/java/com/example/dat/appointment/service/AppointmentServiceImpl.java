@@ -1,21 +1,36 @@
 package com.example.dat.appointment.service;
 
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.dat.appointment.dto.AppointmentDTO;
+import com.example.dat.appointment.dto.AppointmentSeriesDTO;
+import com.example.dat.appointment.dto.AppointmentSeriesResultDTO;
+import com.example.dat.appointment.dto.CalendarDayDTO;
 import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.appointment.event.AppointmentCancelledEvent;
 import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.archive.entity.ArchivedAppointment;
+import com.example.dat.archive.repo.ArchivedAppointmentRepo;
+import com.example.dat.datasource.ReadYourWrites;
 import com.example.dat.doctor.entity.Doctor;
 import com.example.dat.doctor.entity.Schedule;
 import com.example.dat.doctor.repo.DoctorRepo;
@@ -24,7 +39,7 @@ import com.example.dat.enums.AppointmentStatus;
 import com.example.dat.exceptions.BadRequestException;
 import com.example.dat.exceptions.NotFoundException;
 import com.example.dat.notification.dto.NotificationDTO;
-import com.example.dat.notification.service.NotificationService;
+import com.example.dat.notification.event.EmailRequestedEvent;
 import com.example.dat.patient.entity.Patient;
 import com.example.dat.patient.repo.PatientRepo;
 import com.example.dat.res.Response;
@@ -46,190 +61,204 @@ public class AppointmentServiceImpl implements AppointmentService {
         private final com.example.dat.dependent.repo.DependentRepo dependentRepo;
     private final UserService userService;
     private final ModelMapper modelMapper;
-    private final NotificationService notificationService;
+    private final DoctorOccupancyCalendar occupancyCalendar;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadYourWrites readYourWrites;
+    private final ArchivedAppointmentRepo archivedAppointmentRepo;
 
 
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMM dd, yyyy 'at' hh:mm a");
 
+    private static final int MAX_SERIES_OCCURRENCES = 52;
+
 
     @Override
+    @Transactional
     public Response<AppointmentDTO> bookAppointment(AppointmentDTO appointmentDTO) {
 
         User currentUser = userService.getCurrentUser();
 
-                // DEBUG: log incoming startTime and server timezone to troubleshoot timezone shifts
-                log.info("Incoming appointment startTime (raw DTO): {}", appointmentDTO.getStartTime());
-                log.info("Server default ZoneId: {}", java.time.ZoneId.systemDefault());
-                log.info("Server current Instant: {}", java.time.Instant.now());
+        // Timezone troubleshooting: the raw start time as received and the server zone
+        log.debug("[BOOK] Incoming startTime (raw DTO): {} | server zone: {}",
+                appointmentDTO.getStartTime(), java.time.ZoneId.systemDefault());
 
         // 1. Get the patient initiating the booking (titular)
         Patient patient = patientRepo.findByUser(currentUser)
                 .orElseThrow(() -> new NotFoundException("Patient profile required for booking."));
 
-        // If booking on behalf of a dependent, we'll load it below and use its data for validations
-        com.example.dat.dependent.entity.Dependent dependent = null;
-
-
-
         // --- START: VALIDATION LOGIC ---
         // Define the proposed time slot and compute end time from doctor's configured duration
         LocalDateTime startTime = appointmentDTO.getStartTime();
 
         // 2.a If dependentId provided, load dependent and validate ownership
-        if (appointmentDTO.getDependentId() != null) {
-            dependent = dependentRepo.findById(appointmentDTO.getDependentId())
-                    .orElseThrow(() -> new NotFoundException("Dependiente no encontrado."));
+        com.example.dat.dependent.entity.Dependent dependent = resolveDependent(appointmentDTO.getDependentId(), currentUser);
+
+        // 3. Get the target doctor
+        Doctor doctor = doctorRepo.findById(appointmentDTO.getDoctorId())
+                .orElseThrow(() -> new NotFoundException("Doctor no encontrado."));
+
+        placeAppointment(patient, dependent, doctor, startTime,
+                appointmentDTO.getPurposeOfConsultation(), appointmentDTO.getInitialSymptoms());
+
+        return Response.<AppointmentDTO>builder()
+                .statusCode(200)
+                .message("Appointment booked successfully.")
+                .build();
+
+
+    }
+
+
+    @Override
+    @Transactional
+    public AppointmentDTO bookOnBehalf(Long patientId, Long dependentId, Long doctorId,
+                                       LocalDateTime startTime, String purposeOfConsultation) {
+
+        Patient patient = patientRepo.findById(patientId)
+                .orElseThrow(() -> new NotFoundException("Paciente no encontrado."));
 
-            // Ensure the dependent belongs to the patient's user
-            if (!dependent.getPatient().getUser().getId().equals(currentUser.getId())) {
-                throw new BadRequestException("You can only book appointments for your own dependents.");
+        com.example.dat.dependent.entity.Dependent dependent = null;
+        if (dependentId != null) {
+            dependent = dependentRepo.findById(dependentId)
+                    .orElseThrow(() -> new NotFoundException("Dependiente no encontrado."));
+            if (!dependent.getPatient().getId().equals(patient.getId())) {
+                throw new BadRequestException("El dependiente no pertenece al paciente.");
             }
         }
 
-        // 3. Get the target doctor
-        Doctor doctor = doctorRepo.findById(appointmentDTO.getDoctorId())
+        Doctor doctor = doctorRepo.findById(doctorId)
                 .orElseThrow(() -> new NotFoundException("Doctor no encontrado."));
 
-        int doctorMinutes = (doctor.getTiempoDeConsulta() != null && doctor.getTiempoDeConsulta() > 0) ? doctor.getTiempoDeConsulta() : 60;
-        LocalDateTime endTime = startTime.plusMinutes(doctorMinutes);
+        Appointment saved = placeAppointment(patient, dependent, doctor, startTime, purposeOfConsultation, null);
 
-                // 3.a Determine subject (patient or dependent) data for validations
-                String subjectGender = null;
-                LocalDate subjectDob = null;
-                if (dependent != null) {
-                        subjectGender = dependent.getGender();
-                        subjectDob = dependent.getDateOfBirth();
-                } else {
-                        // As titular, use patient data
-                        subjectDob = patient.getDateOfBirth();
-                        subjectGender = patient.getGender();
-                }
+        return AppointmentDTO.builder()
+                .id(saved.getId())
+                .doctorId(doctorId)
+                .dependentId(dependentId)
+                .startTime(saved.getStartTime())
+                .endTime(saved.getEndTime())
+                .meetingLink(saved.getMeetingLink())
+                .status(saved.getStatus())
+                .build();
+    }
 
-                // 3.b Gender restriction check
-                if (doctor.getRestriccionGenero() != null && !doctor.getRestriccionGenero().isBlank()
-                                && !doctor.getRestriccionGenero().equalsIgnoreCase("TODOS")) {
-                        String docRestr = doctor.getRestriccionGenero().trim();
-                        if (subjectGender == null || subjectGender.isBlank()) {
-                                throw new BadRequestException("El género del paciente no está especificado; no se puede reservar con la restricción del doctor: " + docRestr);
-                        }
-                        String subj = subjectGender.trim();
-                        if (!subj.equalsIgnoreCase(docRestr)) {
-                                throw new BadRequestException("El doctor solo acepta pacientes con género: " + docRestr);
-                        }
-                }
 
-                // 3.c Age restriction check
-                if (subjectDob != null) {
-                        int age = Period.between(subjectDob, LocalDate.now()).getYears();
-                        if (doctor.getEdadMinima() != null && age < doctor.getEdadMinima()) {
-                                throw new BadRequestException("El paciente no cumple con la edad mínima requerida por este doctor.");
-                        }
-                        if (doctor.getEdadMaxima() != null && age > doctor.getEdadMaxima()) {
-                                throw new BadRequestException("El paciente excede la edad máxima permitida por este doctor.");
-                        }
-                } else {
-                        // If doctor has age restrictions but subject DOB is missing, block booking
-                        if (doctor.getEdadMinima() != null || doctor.getEdadMaxima() != null) {
-                                throw new BadRequestException("La fecha de nacimiento es obligatoria debido a las restricciones de edad del doctor.");
-                        }
-                }
+    @Override
+    @Transactional
+    public Response<AppointmentSeriesResultDTO> bookAppointmentSeries(AppointmentSeriesDTO seriesDTO) {
 
-                // 4. Basic validation: booking must be at least 1 hour in advance
-                if (startTime.isBefore(LocalDateTime.now().plusHours(1))) {
-                        throw new BadRequestException("Las citas deben reservarse con al menos 1 hora de anticipación.");
-                }
+        User currentUser = userService.getCurrentUser();
 
-        //This code snippet logic used to enforce a mandatory one-hour break (or buffer) for the doctor before a new appointment.
-                // 5. Check schedule availability for the doctor on the appointment day
-                java.time.DayOfWeek dow = startTime.getDayOfWeek();
-                List<Schedule> schedules = scheduleRepo.findByDoctorId(doctor.getId());
+        Patient patient = patientRepo.findByUser(currentUser)
+                .orElseThrow(() -> new NotFoundException("Patient profile required for booking."));
 
-                boolean withinSchedule = false;
-                for (Schedule sch : schedules) {
-                        if (!Boolean.TRUE.equals(sch.getIsActive())) continue;
-                        if (!sch.getDayOfWeek().equalsIgnoreCase(dow.name())) continue;
+        com.example.dat.dependent.entity.Dependent dependent = resolveDependent(seriesDTO.getDependentId(), currentUser);
 
-                        java.time.LocalTime apptStart = startTime.toLocalTime();
-                        java.time.LocalTime apptEnd = endTime.toLocalTime();
+        Doctor doctor = doctorRepo.findById(seriesDTO.getDoctorId())
+                .orElseThrow(() -> new NotFoundException("Doctor no encontrado."));
 
-                        if ((apptStart.equals(sch.getStartTime()) || apptStart.isAfter(sch.getStartTime()))
-                                        && (apptEnd.equals(sch.getEndTime()) || apptEnd.isBefore(sch.getEndTime()))) {
+        // Subject restrictions do not depend on the date, so they are checked once for the whole series
+        validateSubjectRestrictions(doctor, patient, dependent);
 
-                                // Check lunch intersection
-                                if (sch.getLunchStart() != null && sch.getLunchEnd() != null) {
-                                        if (!(apptEnd.isBefore(sch.getLunchStart()) || apptStart.isAfter(sch.getLunchEnd()))) {
-                                                // intersects lunch, not allowed
-                                                continue;
-                                        }
-                                }
+        List<LocalDateTime> startTimes = expandSeries(seriesDTO);
+        int doctorMinutes = AppointmentSlotRules.slotMinutes(doctor);
 
-                                withinSchedule = true;
-                                break;
-                        }
-                }
+        LocalDateTime seriesStart = startTimes.get(0);
+        LocalDateTime seriesEnd = startTimes.get(startTimes.size() - 1).plusMinutes(doctorMinutes);
 
-                if (!withinSchedule) {
-                        throw new BadRequestException("El doctor no está trabajando en el día/hora solicitados.");
-        }
+        // One schedule read and one range query replace the per-occurrence lookups
+        List<Schedule> schedules = scheduleRepo.findByDoctorId(doctor.getId());
+        List<Appointment> taken = new ArrayList<>(appointmentRepo.findDoctorAppointmentsInRange(
+                doctor.getId(), List.of(AppointmentStatus.SCHEDULED), seriesStart, seriesEnd));
 
-                // 6. Conflict detection with existing appointments (overlap)
-                List<Appointment> conflicts = appointmentRepo.findConflictingAppointments(
-                                doctor.getId(),
-                                startTime,
-                                endTime
-                );
+        LocalDateTime earliestAllowed = LocalDateTime.now().plusHours(1);
+        List<AppointmentSeriesResultDTO.Occurrence> occurrences = new ArrayList<>();
+        List<Appointment> toSave = new ArrayList<>();
 
-                if (!conflicts.isEmpty()) {
-                        throw new BadRequestException("El doctor no está disponible a la hora solicitada. Por favor, revisa su horario.");
-                }
+        for (LocalDateTime startTime : startTimes) {
 
+            LocalDateTime endTime = startTime.plusMinutes(doctorMinutes);
+            String reason = null;
 
-        // 4a. Generate a unique, random string for the room name.
-        //    (Your existing code is good for this)
-        String uuid = UUID.randomUUID().toString().replace("-", "");
-        String uniqueRoomName = "dat-" + uuid.substring(0, 10);
+            if (startTime.isBefore(earliestAllowed)) {
+                reason = "Las citas deben reservarse con al menos 1 hora de anticipación.";
+            } else if (!AppointmentSlotRules.withinAnySchedule(schedules, startTime, endTime)) {
+                reason = "El doctor no está trabajando en el día/hora solicitados.";
+            } else if (AppointmentSlotRules.overlapsAny(taken, startTime, endTime)) {
+                reason = "El doctor no está disponible a la hora solicitada.";
+            }
 
+            if (reason == null) {
+                Appointment appointment = Appointment.builder()
+                        .startTime(startTime)
+                        .endTime(endTime)
+                        .meetingLink(generateMeetingLink())
+                        .initialSymptoms(seriesDTO.getInitialSymptoms())
+                        .purposeOfConsultation(seriesDTO.getPurposeOfConsultation())
+                        .status(AppointmentStatus.SCHEDULED)
+                        .doctor(doctor)
+                        .patient(patient)
+                        .dependent(dependent)
+                        .build();
+                toSave.add(appointment);
+                // Occurrences of the same series must not overlap each other either
+                taken.add(appointment);
+            }
 
-        // 4b. Use the public Jitsi Meet domain with your unique room name
-        String meetingLink = "https://meet.jit.si/" + uniqueRoomName;
+            occurrences.add(AppointmentSeriesResultDTO.Occurrence.builder()
+                    .startTime(startTime)
+                    .endTime(endTime)
+                    .booked(reason == null)
+                    .reason(reason)
+                    .build());
+        }
 
-        log.info("Generated Jitsi meeting link: {}", meetingLink);
+        boolean allOrNothing = !Boolean.FALSE.equals(seriesDTO.getAllOrNothing());
+        int rejected = occurrences.size() - toSave.size();
 
+        if (toSave.isEmpty() || (allOrNothing && rejected > 0)) {
+            String unavailable = occurrences.stream()
+                    .filter(o -> !o.isBooked())
+                    .map(o -> o.getStartTime().format(FORMATTER))
+                    .collect(Collectors.joining("; "));
+            throw new BadRequestException("No se pudo reservar la serie: " + rejected + " de " + occurrences.size()
+                    + " fechas no están disponibles (" + unavailable + ").");
+        }
 
-        // 5. Build and Save Appointment
-        // Build appointment entity, attach dependent if present
-        Appointment.AppointmentBuilder builder = Appointment.builder()
-                .startTime(startTime)
-                .endTime(endTime)
-                .meetingLink(meetingLink)
-                .initialSymptoms(appointmentDTO.getInitialSymptoms())
-                .purposeOfConsultation(appointmentDTO.getPurposeOfConsultation())
-                .status(AppointmentStatus.SCHEDULED)
-                .doctor(doctor)
-                .patient(patient);
+        List<Appointment> saved = appointmentRepo.saveAll(toSave);
+        readYourWrites.recordWrite();
 
-        if (dependent != null) {
-            builder.dependent(dependent);
+        int savedIndex = 0;
+        for (AppointmentSeriesResultDTO.Occurrence occurrence : occurrences) {
+            if (occurrence.isBooked()) {
+                occurrence.setAppointmentId(saved.get(savedIndex++).getId());
+            }
         }
 
-        Appointment appointment = builder.build();
+        for (Appointment appointment : saved) {
+            occupancyCalendar.markBooked(doctor.getId(), appointment.getStartTime(), appointment.getEndTime());
+        }
 
-        Appointment savedAppointment = appointmentRepo.save(appointment);
+        log.info("[BOOK-SERIES] Booked {} of {} occurrences for doctor {}", saved.size(), occurrences.size(), doctor.getId());
 
-        log.info("[BOOK] Saved appointment startTime (entity): {} | endTime: {}", savedAppointment.getStartTime(), savedAppointment.getEndTime());
+        sendSeriesConfirmation(saved, occurrences, seriesDTO.getPurposeOfConsultation());
 
-        sendAppointmentConfirmation(savedAppointment);
+        AppointmentSeriesResultDTO result = AppointmentSeriesResultDTO.builder()
+                .requested(occurrences.size())
+                .booked(saved.size())
+                .occurrences(occurrences)
+                .build();
 
-        return Response.<AppointmentDTO>builder()
+        return Response.<AppointmentSeriesResultDTO>builder()
                 .statusCode(200)
-                .message("Appointment booked successfully.")
+                .message("Appointment series booked successfully.")
+                .data(result)
                 .build();
-
-
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public Response<List<AppointmentDTO>> getMyAppointments() {
 
         User user = userService.getCurrentUser();
@@ -237,6 +266,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         Long userId = user.getId();
 
         List<Appointment> appointments;
+        List<ArchivedAppointment> archived;
 
         // Check for "DOCTOR" role
         boolean isDoctor = user.getRoles().stream()
@@ -249,6 +279,7 @@ public class AppointmentServiceImpl implements AppointmentService {
 
             // 2. Efficiently fetch appointments of the Doctor
             appointments = appointmentRepo.findByDoctor_User_IdOrderByIdDesc(userId);
+            archived = archivedAppointmentRepo.findByDoctor_User_IdOrderByIdDesc(userId);
 
         } else {
 
@@ -258,20 +289,20 @@ public class AppointmentServiceImpl implements AppointmentService {
 
             // 2. Efficiently fetch appointments using the User ID to navigate Patient relationship
             appointments = appointmentRepo.findByPatient_User_IdOrderByIdDesc(userId);
+            archived = archivedAppointmentRepo.findByPatient_User_IdOrderByIdDesc(userId);
         }
-                // Debug: log start times returned from DB before mapping
-                for (Appointment a : appointments) {
-                        log.info("[LIST] Appointment id={} startTime(entity)={} | endTime(entity)={}", a.getId(), a.getStartTime(), a.getEndTime());
-                }
-
-                // Convert the list of entities to DTOs in a single step
-                List<AppointmentDTO> appointmentDTOList = appointments.stream()
+                // Convert the list of entities to DTOs in a single step; archived history keeps its place by id
+                List<AppointmentDTO> appointmentDTOList = Stream.concat(appointments.stream(), archived.stream())
                                 .map(appointment -> modelMapper.map(appointment, AppointmentDTO.class))
+                                .sorted(Comparator.comparing(AppointmentDTO::getId).reversed())
                                 .toList();
 
-                // Debug: log DTO times after mapping
-                for (AppointmentDTO dto : appointmentDTOList) {
-                        log.info("[LIST] DTO id={} startTime(dto)={} | endTime(dto)={}", dto.getId(), dto.getStartTime(), dto.getEndTime());
+                log.debug("[LIST] {} appointments for user {}", appointmentDTOList.size(), userId);
+                // Per-row times only at TRACE: one line per appointment is too much for a listing
+                if (log.isTraceEnabled()) {
+                        for (AppointmentDTO dto : appointmentDTOList) {
+                                log.trace("[LIST] id={} startTime={} | endTime={}", dto.getId(), dto.getStartTime(), dto.getEndTime());
+                        }
                 }
 
         return Response.<List<AppointmentDTO>>builder()
@@ -283,6 +314,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional
     public Response<AppointmentDTO> cancelAppointment(Long appointmentId) {
 
         User user = userService.getCurrentUser();
@@ -302,6 +334,16 @@ public class AppointmentServiceImpl implements AppointmentService {
         // Update status
         appointment.setStatus(AppointmentStatus.CANCELLED);
         Appointment savedAppointment = appointmentRepo.save(appointment);
+        readYourWrites.recordWrite();
+
+        occupancyCalendar.markFree(appointment.getDoctor().getId(), appointment.getStartTime(), appointment.getEndTime());
+
+        // Freed slot: lets the waitlist offer or backfill it
+        eventPublisher.publishEvent(new AppointmentCancelledEvent(
+                savedAppointment.getId(),
+                appointment.getDoctor().getId(),
+                savedAppointment.getStartTime(),
+                savedAppointment.getEndTime()));
 
         // NOTE: Notification should be sent to the other party (patient/doctor)
         sendAppointmentCancellation(savedAppointment, user);
@@ -314,6 +356,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional
     public Response<?> completeAppointment(Long appointmentId) {
 
         // Get the current user (must be the Doctor)
@@ -328,12 +371,14 @@ public class AppointmentServiceImpl implements AppointmentService {
             throw new BadRequestException("Solo el doctor asignado puede marcar esta cita como completada.");
         }
 
-        // 2. Update status and end time
+        // 2. Update status; endTime stays the booked end, which is what the calendar occupies
         appointment.setStatus(AppointmentStatus.COMPLETED);
-        appointment.setEndTime(LocalDateTime.now());
 
         Appointment updatedAppointment = appointmentRepo.save(appointment);
 
+        occupancyCalendar.markCompleted(appointment.getDoctor().getId(), appointment.getStartTime(),
+                DoctorOccupancyCalendar.occupiedUntil(appointment));
+
         modelMapper.map(updatedAppointment, AppointmentDTO.class);
 
         return Response.builder()
@@ -343,6 +388,202 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Response<List<CalendarDayDTO>> getDoctorCalendar(LocalDate date, boolean weekView) {
+
+        // Days loaded here stay cached past this transaction: build them from the primary, not a lagging replica
+        readYourWrites.readCurrentTransactionFromPrimary();
+
+        User user = userService.getCurrentUser();
+
+        Doctor doctor = doctorRepo.findByUser(user)
+                .orElseThrow(() -> new NotFoundException("Doctor profile not found."));
+
+        LocalDate from = weekView ? date.with(DayOfWeek.MONDAY) : date;
+        int numberOfDays = weekView ? 7 : 1;
+
+        List<CalendarDayDTO> days = occupancyCalendar.getDays(doctor, from, numberOfDays);
+
+        return Response.<List<CalendarDayDTO>>builder()
+                .statusCode(200)
+                .message("Calendar retrieved successfully.")
+                .data(days)
+                .build();
+    }
+
+    // Validates the slot for the given subject and doctor, then saves the appointment and notifies both parties
+    private Appointment placeAppointment(Patient patient, com.example.dat.dependent.entity.Dependent dependent, Doctor doctor,
+                                         LocalDateTime startTime, String purposeOfConsultation, String initialSymptoms) {
+
+        int doctorMinutes = AppointmentSlotRules.slotMinutes(doctor);
+        LocalDateTime endTime = startTime.plusMinutes(doctorMinutes);
+
+                // 3.a Gender and age restrictions of the doctor, checked against the patient or dependent
+                validateSubjectRestrictions(doctor, patient, dependent);
+
+                // 4. Basic validation: booking must be at least 1 hour in advance
+                if (startTime.isBefore(LocalDateTime.now().plusHours(1))) {
+                        throw new BadRequestException("Las citas deben reservarse con al menos 1 hora de anticipación.");
+                }
+
+        //This code snippet logic used to enforce a mandatory one-hour break (or buffer) for the doctor before a new appointment.
+                // 5. Check schedule availability for the doctor on the appointment day
+                List<Schedule> schedules = scheduleRepo.findByDoctorId(doctor.getId());
+                boolean withinSchedule = AppointmentSlotRules.withinAnySchedule(schedules, startTime, endTime);
+
+                if (!withinSchedule) {
+                        throw new BadRequestException("El doctor no está trabajando en el día/hora solicitados.");
+        }
+
+                // 6. Conflict detection with existing appointments (overlap)
+                boolean conflict = appointmentRepo.existsConflictingAppointment(
+                                doctor.getId(),
+                                startTime,
+                                endTime
+                );
+
+                if (conflict) {
+                        throw new BadRequestException("El doctor no está disponible a la hora solicitada. Por favor, revisa su horario.");
+                }
+
+
+        // 4a. Generate the Jitsi meeting link for the virtual consultation
+        String meetingLink = generateMeetingLink();
+
+        log.debug("Generated Jitsi meeting link: {}", meetingLink);
+
+
+        // 5. Build and Save Appointment
+        // Build appointment entity, attach dependent if present
+        Appointment.AppointmentBuilder builder = Appointment.builder()
+                .startTime(startTime)
+                .endTime(endTime)
+                .meetingLink(meetingLink)
+                .initialSymptoms(initialSymptoms)
+                .purposeOfConsultation(purposeOfConsultation)
+                .status(AppointmentStatus.SCHEDULED)
+                .doctor(doctor)
+                .patient(patient);
+
+        if (dependent != null) {
+            builder.dependent(dependent);
+        }
+
+        Appointment appointment = builder.build();
+
+        Appointment savedAppointment = appointmentRepo.save(appointment);
+        // The patient's appointment list usually comes next: keep their reads off a lagging replica.
+        // Keyed to the patient, since waitlist auto-bookings run without a signed-in user
+        readYourWrites.recordWrite(patient.getUser().getEmail());
+
+        log.debug("[BOOK] Saved appointment startTime (entity): {} | endTime: {}", savedAppointment.getStartTime(), savedAppointment.getEndTime());
+
+        occupancyCalendar.markBooked(doctor.getId(), savedAppointment.getStartTime(), savedAppointment.getEndTime());
+
+        sendAppointmentConfirmation(savedAppointment);
+
+        return savedAppointment;
+    }
+
+    // Dependent the booking is made for (null for the titular), after checking it belongs to the current user
+    private com.example.dat.dependent.entity.Dependent resolveDependent(Long dependentId, User currentUser) {
+        if (dependentId == null) {
+            return null;
+        }
+
+        com.example.dat.dependent.entity.Dependent dependent = dependentRepo.findById(dependentId)
+                .orElseThrow(() -> new NotFoundException("Dependiente no encontrado."));
+
+        // Ensure the dependent belongs to the patient's user
+        if (!dependent.getPatient().getUser().getId().equals(currentUser.getId())) {
+            throw new BadRequestException("You can only book appointments for your own dependents.");
+        }
+        return dependent;
+    }
+
+    private String generateMeetingLink() {
+        // Unique, random room name on the public Jitsi Meet domain
+        String uuid = UUID.randomUUID().toString().replace("-", "");
+        String uniqueRoomName = "dat-" + uuid.substring(0, 10);
+        return "https://meet.jit.si/" + uniqueRoomName;
+    }
+
+    // Explicit start times win; otherwise expand startTime every intervalDays (weekly by default)
+    private List<LocalDateTime> expandSeries(AppointmentSeriesDTO seriesDTO) {
+
+        List<LocalDateTime> startTimes;
+        if (seriesDTO.getStartTimes() != null && !seriesDTO.getStartTimes().isEmpty()) {
+            // Checked before sorting: the controller validates these too, other callers may not
+            if (seriesDTO.getStartTimes().size() > MAX_SERIES_OCCURRENCES) {
+                throw new BadRequestException("Una serie puede tener como máximo " + MAX_SERIES_OCCURRENCES + " citas.");
+            }
+            if (seriesDTO.getStartTimes().stream().anyMatch(Objects::isNull)) {
+                throw new BadRequestException("Las fechas de la serie no pueden estar vacías.");
+            }
+            startTimes = seriesDTO.getStartTimes().stream().distinct().sorted().toList();
+        } else {
+            if (seriesDTO.getStartTime() == null || seriesDTO.getOccurrences() == null) {
+                throw new BadRequestException("Se requiere la fecha inicial y el número de citas de la serie.");
+            }
+            int interval = seriesDTO.getIntervalDays() != null ? seriesDTO.getIntervalDays() : 7;
+            startTimes = new ArrayList<>();
+            for (int i = 0; i < seriesDTO.getOccurrences(); i++) {
+                startTimes.add(seriesDTO.getStartTime().plusDays((long) i * interval));
+            }
+        }
+
+        if (startTimes.size() > MAX_SERIES_OCCURRENCES) {
+            throw new BadRequestException("Una serie puede tener como máximo " + MAX_SERIES_OCCURRENCES + " citas.");
+        }
+        return startTimes;
+    }
+
+    private void validateSubjectRestrictions(Doctor doctor, Patient patient,
+                                             com.example.dat.dependent.entity.Dependent dependent) {
+
+        // Determine subject (patient or dependent) data for validations
+        String subjectGender = null;
+        LocalDate subjectDob = null;
+        if (dependent != null) {
+                subjectGender = dependent.getGender();
+                subjectDob = dependent.getDateOfBirth();
+        } else {
+                // As titular, use patient data
+                subjectDob = patient.getDateOfBirth();
+                subjectGender = patient.getGender();
+        }
+
+        // Gender restriction check
+        if (doctor.getRestriccionGenero() != null && !doctor.getRestriccionGenero().isBlank()
+                        && !doctor.getRestriccionGenero().equalsIgnoreCase("TODOS")) {
+                String docRestr = doctor.getRestriccionGenero().trim();
+                if (subjectGender == null || subjectGender.isBlank()) {
+                        throw new BadRequestException("El género del paciente no está especificado; no se puede reservar con la restricción del doctor: " + docRestr);
+                }
+                String subj = subjectGender.trim();
+                if (!subj.equalsIgnoreCase(docRestr)) {
+                        throw new BadRequestException("El doctor solo acepta pacientes con género: " + docRestr);
+                }
+        }
+
+        // Age restriction check
+        if (subjectDob != null) {
+                int age = Period.between(subjectDob, LocalDate.now()).getYears();
+                if (doctor.getEdadMinima() != null && age < doctor.getEdadMinima()) {
+                        throw new BadRequestException("El paciente no cumple con la edad mínima requerida por este doctor.");
+                }
+                if (doctor.getEdadMaxima() != null && age > doctor.getEdadMaxima()) {
+                        throw new BadRequestException("El paciente excede la edad máxima permitida por este doctor.");
+                }
+        } else {
+                // If doctor has age restrictions but subject DOB is missing, block booking
+                if (doctor.getEdadMinima() != null || doctor.getEdadMaxima() != null) {
+                        throw new BadRequestException("La fecha de nacimiento es obligatoria debido a las restricciones de edad del doctor.");
+                }
+        }
+    }
+
     private void sendAppointmentCancellation(Appointment appointment, User cancelingUser){
 
         User patientUser = appointment.getPatient().getUser();
@@ -377,8 +618,8 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .templateVariables(doctorVars)
                 .build();
 
-        notificationService.sendEmail(doctorNotification, doctorUser);
-        log.info("Dispatched cancellation email to Doctor: {}", doctorUser.getEmail());
+        eventPublisher.publishEvent(new EmailRequestedEvent(doctorNotification, doctorUser));
+        log.info("Queued cancellation email to Doctor: {}", doctorUser.getEmail());
 
 
         // --- 2. Dispatch Email to Patient ---
@@ -392,8 +633,8 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .templateVariables(patientVars)
                 .build();
 
-        notificationService.sendEmail(patientNotification, patientUser);
-        log.info("Dispatched cancellation email to Patient: {}", patientUser.getEmail());
+        eventPublisher.publishEvent(new EmailRequestedEvent(patientNotification, patientUser));
+        log.info("Queued cancellation email to Patient: {}", patientUser.getEmail());
 
     }
 
@@ -421,9 +662,9 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .build();
 
 
-        // Dispatch patient email using the low-level service
-        notificationService.sendEmail(patientNotification, patientUser);
-        log.info("Dispatched confirmation email for patient: {}", patientUser.getEmail());
+        // Sent once the booking has committed (EmailRequestedListener)
+        eventPublisher.publishEvent(new EmailRequestedEvent(patientNotification, patientUser));
+        log.info("Queued confirmation email for patient: {}", patientUser.getEmail());
 
 
         // --- 2. Prepare Doctor Notification ---
@@ -446,26 +687,53 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .build();
 
 
-        // Dispatch doctor email using the low-level service
-        notificationService.sendEmail(doctorNotification, doctorUser);
-        log.info("Dispatched new appointment email for doctor: {}", doctorUser.getEmail());
+        eventPublisher.publishEvent(new EmailRequestedEvent(doctorNotification, doctorUser));
+        log.info("Queued new appointment email for doctor: {}", doctorUser.getEmail());
     }
-}
-
-
-
-
-
-
-
-
-
 
+    // One summary e-mail per party for the whole series instead of two e-mails per occurrence
+    private void sendSeriesConfirmation(List<Appointment> saved, List<AppointmentSeriesResultDTO.Occurrence> occurrences,
+                                        String purposeOfConsultation) {
 
+        Appointment first = saved.get(0);
+        User patientUser = first.getPatient().getUser();
+        User doctorUser = first.getDoctor().getUser();
 
+        List<String> appointmentTimes = saved.stream()
+                .map(a -> a.getStartTime().format(FORMATTER))
+                .toList();
+        List<String> skippedTimes = occurrences.stream()
+                .filter(o -> !o.isBooked())
+                .map(o -> o.getStartTime().format(FORMATTER))
+                .toList();
 
+        Map<String, Object> baseVars = new HashMap<>();
+        baseVars.put("patientFullName", patientUser.getName());
+        baseVars.put("doctorName", doctorUser.getName());
+        baseVars.put("appointmentTimes", appointmentTimes);
+        baseVars.put("skippedTimes", skippedTimes);
+        baseVars.put("purposeOfConsultation", purposeOfConsultation);
 
+        Map<String, Object> patientVars = new HashMap<>(baseVars);
+        patientVars.put("recipientName", patientUser.getName());
 
+        eventPublisher.publishEvent(new EmailRequestedEvent(NotificationDTO.builder()
+                .recipient(patientUser.getEmail())
+                .subject("DAT Health: Your Appointment Series is Confirmed")
+                .templateName("appointment-series")
+                .templateVariables(patientVars)
+                .build(), patientUser));
 
+        Map<String, Object> doctorVars = new HashMap<>(baseVars);
+        doctorVars.put("recipientName", doctorUser.getName());
 
+        eventPublisher.publishEvent(new EmailRequestedEvent(NotificationDTO.builder()
+                .recipient(doctorUser.getEmail())
+                .subject("DAT Health: New Appointment Series Booked")
+                .templateName("appointment-series")
+                .templateVariables(doctorVars)
+                .build(), doctorUser));
 
+        log.info("Queued series confirmation emails for patient {} and doctor {}", patientUser.getEmail(), doctorUser.getEmail());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.dat.appointment.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.doctor.entity.Schedule;
+
+/**
+ * Slot rules shared by booking validation and the doctor occupancy calendar,
+ * so both agree on what a bookable slot is.
+ */
+public final class AppointmentSlotRules {
+
+    public static final int DEFAULT_SLOT_MINUTES = 60;
+
+    // Upper bound on any appointment's length, whatever the doctor's consultation length: withinAnySchedule
+    // only accepts appointments that start and end on the same day. The conflict check relies on it
+    // (AppointmentRepo.existsConflictingAppointment)
+    public static final Duration MAX_APPOINTMENT_LENGTH = Duration.ofDays(1);
+
+    private AppointmentSlotRules() {
+    }
+
+    // Doctor's configured consultation length, falling back to one hour
+    public static int slotMinutes(Doctor doctor) {
+        Integer minutes = doctor.getTiempoDeConsulta();
+        return (minutes != null && minutes > 0) ? minutes : DEFAULT_SLOT_MINUTES;
+    }
+
+    // True when [start, end] lies inside the schedule block and does not touch lunch
+    public static boolean fitsSchedule(Schedule schedule, LocalTime start, LocalTime end) {
+        if (!Boolean.TRUE.equals(schedule.getIsActive())) {
+            return false;
+        }
+
+        boolean insideBlock = !start.isBefore(schedule.getStartTime()) && !end.isAfter(schedule.getEndTime());
+        if (!insideBlock) {
+            return false;
+        }
+
+        if (schedule.getLunchStart() != null && schedule.getLunchEnd() != null) {
+            return end.isBefore(schedule.getLunchStart()) || start.isAfter(schedule.getLunchEnd());
+        }
+        return true;
+    }
+
+    // True when some schedule of the appointment's weekday fits [startTime, endTime]; never across midnight
+    public static boolean withinAnySchedule(List<Schedule> schedules, LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.toLocalDate().equals(startTime.toLocalDate())) {
+            return false;
+        }
+        String dayOfWeek = startTime.getDayOfWeek().name();
+        for (Schedule sch : schedules) {
+            if (sch.getDayOfWeek().equalsIgnoreCase(dayOfWeek)
+                    && fitsSchedule(sch, startTime.toLocalTime(), endTime.toLocalTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // True when any of the appointments overlaps [startTime, endTime)
+    public static boolean overlapsAny(List<Appointment> appointments, LocalDateTime startTime, LocalDateTime endTime) {
+        for (Appointment a : appointments) {
+            if (a.getStartTime().isBefore(endTime) && a.getEndTime().isAfter(startTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
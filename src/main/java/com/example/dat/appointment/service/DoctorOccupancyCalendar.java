@@ -0,0 +1,378 @@
+package com.example.dat.appointment.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.dat.appointment.dto.CalendarDayDTO;
+import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.doctor.entity.Schedule;
+import com.example.dat.doctor.repo.ScheduleRepo;
+import com.example.dat.enums.AppointmentStatus;
+
+/**
+ * In-memory per-doctor, per-day occupancy bitmaps at the doctor's consultation granularity.
+ * Days are built from the doctor's schedules plus their SCHEDULED/COMPLETED appointments on first read
+ * and then kept up to date by the booking, cancellation and completion paths. Those changes are applied
+ * once the transaction that made them has committed, so a day loaded meanwhile never misses them.
+ * <p>
+ * The cache is per node: changes made through another node are only seen here once the day expires
+ * (app.appointments.calendar.ttl-ms). When max-entries days are cached, further days are served
+ * straight from the database until expired ones are evicted.
+ * <p>
+ * Days are loaded in the caller's transaction. A read-only caller should keep it on the primary
+ * (ReadYourWrites.readCurrentTransactionFromPrimary): a day built from a lagging replica would stay
+ * cached until it expires.
+ */
+@Component
+public class DoctorOccupancyCalendar {
+
+    private static final List<AppointmentStatus> OCCUPYING_STATUSES =
+            List.of(AppointmentStatus.SCHEDULED, AppointmentStatus.COMPLETED);
+
+    private final AppointmentRepo appointmentRepo;
+    private final ScheduleRepo scheduleRepo;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    private final Map<DayKey, CachedDay> days = new ConcurrentHashMap<>();
+
+    // Bumped on every committed change to a doctor's days so a concurrent load never caches a stale bitmap.
+    // Bump-and-apply and check-and-cache both hold the doctor's counter as lock.
+    private final Map<Long, AtomicLong> doctorVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DoctorOccupancyCalendar(AppointmentRepo appointmentRepo, ScheduleRepo scheduleRepo,
+                                   @Value("${app.appointments.calendar.ttl-ms:300000}") long ttlMs,
+                                   @Value("${app.appointments.calendar.max-entries:20000}") int maxEntries) {
+        this(appointmentRepo, scheduleRepo, Duration.ofMillis(ttlMs), maxEntries, System::nanoTime);
+    }
+
+    // Package-visible so expiry can be tested without sleeping
+    DoctorOccupancyCalendar(AppointmentRepo appointmentRepo, ScheduleRepo scheduleRepo, Duration ttl, int maxEntries,
+                            LongSupplier nanoClock) {
+        this.appointmentRepo = appointmentRepo;
+        this.scheduleRepo = scheduleRepo;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+
+    public List<CalendarDayDTO> getDays(Doctor doctor, LocalDate from, int numberOfDays) {
+
+        Map<LocalDate, DayOccupancy> found = new HashMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+        long now = nanoClock.getAsLong();
+
+        for (int i = 0; i < numberOfDays; i++) {
+            LocalDate date = from.plusDays(i);
+            CachedDay cached = days.get(new DayKey(doctor.getId(), date));
+            if (cached != null && cached.expiresAtNanos() - now > 0) {
+                found.put(date, cached.day());
+            } else {
+                missing.add(date);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            found.putAll(loadDays(doctor, missing));
+        }
+
+        List<CalendarDayDTO> result = new ArrayList<>(numberOfDays);
+        for (int i = 0; i < numberOfDays; i++) {
+            result.add(found.get(from.plusDays(i)).toDTO());
+        }
+        return result;
+    }
+
+    public void markBooked(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        afterCommit(doctorId, () -> forEachCachedDay(doctorId, start, end, day -> day.mark(start, end, false)));
+    }
+
+    public void markCompleted(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        afterCommit(doctorId, () -> forEachCachedDay(doctorId, start, end, day -> day.mark(start, end, true)));
+    }
+
+    public void markFree(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        afterCommit(doctorId, () -> {
+            for (LocalDate date = start.toLocalDate(); !date.isAfter(lastDate(start, end)); date = date.plusDays(1)) {
+                DayKey key = new DayKey(doctorId, date);
+                CachedDay cached = days.get(key);
+                // Off-grid appointments may share a slot with a neighbour; rebuild those days instead of guessing
+                if (cached != null && !cached.day().clear(start, end)) {
+                    days.remove(key);
+                }
+            }
+        });
+    }
+
+    // Schedule or consultation length changed: every cached day of this doctor is invalid
+    public void evictDoctor(Long doctorId) {
+        afterCommit(doctorId, () -> days.keySet().removeIf(key -> key.doctorId().equals(doctorId)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.appointments.calendar.sweep-ms:60000}")
+    public void evictExpired() {
+        long now = nanoClock.getAsLong();
+        days.values().removeIf(cached -> cached.expiresAtNanos() - now <= 0);
+    }
+
+
+    // The booked end; rows saved before endTime was set occupy one slot
+    static LocalDateTime occupiedUntil(Appointment appointment) {
+        return occupiedUntil(appointment, AppointmentSlotRules.slotMinutes(appointment.getDoctor()));
+    }
+
+    private static LocalDateTime occupiedUntil(Appointment appointment, int slotMinutes) {
+        return appointment.getEndTime() != null
+                ? appointment.getEndTime()
+                : appointment.getStartTime().plusMinutes(slotMinutes);
+    }
+
+    private Map<LocalDate, DayOccupancy> loadDays(Doctor doctor, List<LocalDate> dates) {
+
+        long version = versionOf(doctor.getId()).get();
+
+        List<Schedule> schedules = scheduleRepo.findByDoctorId(doctor.getId());
+        int slotMinutes = AppointmentSlotRules.slotMinutes(doctor);
+
+        LocalDate first = dates.get(0);
+        LocalDate last = dates.get(dates.size() - 1);
+
+        // One range query covers the whole week instead of one per day
+        List<Appointment> appointments = appointmentRepo.findDoctorAppointmentsInRange(
+                doctor.getId(),
+                OCCUPYING_STATUSES,
+                first.atStartOfDay(),
+                last.plusDays(1).atStartOfDay()
+        );
+
+        Map<LocalDate, DayOccupancy> loaded = new HashMap<>();
+        for (LocalDate date : dates) {
+            loaded.put(date, DayOccupancy.build(date, slotMinutes, schedules));
+        }
+
+        for (Appointment appointment : appointments) {
+            boolean completed = appointment.getStatus() == AppointmentStatus.COMPLETED;
+            LocalDateTime start = appointment.getStartTime();
+            LocalDateTime end = occupiedUntil(appointment, slotMinutes);
+            for (LocalDate date = start.toLocalDate(); !date.isAfter(lastDate(start, end)); date = date.plusDays(1)) {
+                DayOccupancy day = loaded.get(date);
+                if (day != null) {
+                    day.mark(start, end, completed);
+                }
+            }
+        }
+
+        AtomicLong current = versionOf(doctor.getId());
+        synchronized (current) {
+            if (current.get() == version) {
+                long expiresAt = nanoClock.getAsLong() + ttlNanos;
+                loaded.forEach((date, day) -> {
+                    DayKey key = new DayKey(doctor.getId(), date);
+                    // Replaces an expired entry; a full cache only takes the place of one
+                    if (days.size() < maxEntries || days.containsKey(key)) {
+                        days.put(key, new CachedDay(day, expiresAt));
+                    }
+                });
+            }
+        }
+
+        return loaded;
+    }
+
+    private void forEachCachedDay(Long doctorId, LocalDateTime start, LocalDateTime end,
+                                  Consumer<DayOccupancy> action) {
+        for (LocalDate date = start.toLocalDate(); !date.isAfter(lastDate(start, end)); date = date.plusDays(1)) {
+            CachedDay cached = days.get(new DayKey(doctorId, date));
+            if (cached != null) {
+                action.accept(cached.day());
+            }
+        }
+    }
+
+    // Last calendar day touched by [start, end)
+    private static LocalDate lastDate(LocalDateTime start, LocalDateTime end) {
+        return end.isAfter(start) ? end.minusNanos(1).toLocalDate() : start.toLocalDate();
+    }
+
+    private AtomicLong versionOf(Long doctorId) {
+        return doctorVersions.computeIfAbsent(doctorId, id -> new AtomicLong());
+    }
+
+    // Inside a transaction the change waits for its commit (and is dropped on rollback): applied earlier,
+    // a load reading the rows before the commit could cache them after the change
+    private void afterCommit(Long doctorId, Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(doctorId, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(doctorId, change);
+            }
+        });
+    }
+
+    private void apply(Long doctorId, Runnable change) {
+        AtomicLong version = versionOf(doctorId);
+        synchronized (version) {
+            version.incrementAndGet();
+            change.run();
+        }
+    }
+
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+
+    private record CachedDay(DayOccupancy day, long expiresAtNanos) {
+    }
+
+    static final class DayOccupancy {
+
+        private final LocalDate date;
+        private final LocalTime dayStart;
+        private final LocalTime dayEnd;
+        private final int slotMinutes;
+        private final int slotCount;
+
+        private final BitSet working;
+        private final BitSet booked;
+        private final BitSet completed;
+
+        private DayOccupancy(LocalDate date, LocalTime dayStart, LocalTime dayEnd, int slotMinutes, int slotCount) {
+            this.date = date;
+            this.dayStart = dayStart;
+            this.dayEnd = dayEnd;
+            this.slotMinutes = slotMinutes;
+            this.slotCount = slotCount;
+            this.working = new BitSet(slotCount);
+            this.booked = new BitSet(slotCount);
+            this.completed = new BitSet(slotCount);
+        }
+
+        static DayOccupancy build(LocalDate date, int slotMinutes, List<Schedule> schedules) {
+
+            List<Schedule> daySchedules = schedules.stream()
+                    .filter(s -> Boolean.TRUE.equals(s.getIsActive()))
+                    .filter(s -> s.getDayOfWeek().equalsIgnoreCase(date.getDayOfWeek().name()))
+                    .toList();
+
+            if (daySchedules.isEmpty()) {
+                return new DayOccupancy(date, null, null, slotMinutes, 0);
+            }
+
+            LocalTime dayStart = daySchedules.stream().map(Schedule::getStartTime).min(LocalTime::compareTo).orElseThrow();
+            LocalTime dayEnd = daySchedules.stream().map(Schedule::getEndTime).max(LocalTime::compareTo).orElseThrow();
+
+            long span = Duration.between(dayStart, dayEnd).toMinutes();
+            int slotCount = (int) Math.floorDiv(span + slotMinutes - 1, slotMinutes);
+
+            DayOccupancy day = new DayOccupancy(date, dayStart, dayEnd, slotMinutes, slotCount);
+            for (int i = 0; i < slotCount; i++) {
+                LocalTime slotStart = dayStart.plusMinutes((long) i * slotMinutes);
+                LocalTime slotEnd = slotStart.plusMinutes(slotMinutes);
+                for (Schedule schedule : daySchedules) {
+                    if (AppointmentSlotRules.fitsSchedule(schedule, slotStart, slotEnd)) {
+                        day.working.set(i);
+                        break;
+                    }
+                }
+            }
+            return day;
+        }
+
+        synchronized void mark(LocalDateTime start, LocalDateTime end, boolean asCompleted) {
+            if (slotCount == 0) {
+                return;
+            }
+            int from = Math.max(0, (int) Math.floorDiv(offsetMinutes(start), slotMinutes));
+            int to = Math.min(slotCount, (int) Math.floorDiv(offsetMinutes(end) + slotMinutes - 1, slotMinutes));
+            if (from >= to) {
+                return;
+            }
+            if (asCompleted) {
+                booked.clear(from, to);
+                completed.set(from, to);
+            } else {
+                booked.set(from, to);
+            }
+        }
+
+        // Returns false when the interval is not aligned to the slot grid and the day must be rebuilt
+        synchronized boolean clear(LocalDateTime start, LocalDateTime end) {
+            if (slotCount == 0) {
+                return true;
+            }
+            long startOffset = offsetMinutes(start);
+            long endOffset = offsetMinutes(end);
+            if (Math.floorMod(startOffset, slotMinutes) != 0 || Math.floorMod(endOffset, slotMinutes) != 0) {
+                return false;
+            }
+            int from = Math.max(0, (int) (startOffset / slotMinutes));
+            int to = Math.min(slotCount, (int) (endOffset / slotMinutes));
+            if (from < to) {
+                booked.clear(from, to);
+                completed.clear(from, to);
+            }
+            return true;
+        }
+
+        synchronized CalendarDayDTO toDTO() {
+            char[] occupancy = new char[slotCount];
+            int free = 0;
+            int taken = 0;
+            for (int i = 0; i < slotCount; i++) {
+                if (completed.get(i)) {
+                    occupancy[i] = 'C';
+                    taken++;
+                } else if (booked.get(i)) {
+                    occupancy[i] = 'B';
+                    taken++;
+                } else if (working.get(i)) {
+                    occupancy[i] = 'F';
+                    free++;
+                } else {
+                    occupancy[i] = '-';
+                }
+            }
+
+            return CalendarDayDTO.builder()
+                    .date(date)
+                    .slotMinutes(slotMinutes)
+                    .dayStart(dayStart)
+                    .dayEnd(dayEnd)
+                    .occupancy(new String(occupancy))
+                    .freeSlots(free)
+                    .bookedSlots(taken)
+                    .build();
+        }
+
+        private long offsetMinutes(LocalDateTime time) {
+            return Duration.between(date.atTime(dayStart), time).toMinutes();
+        }
+    }
+}
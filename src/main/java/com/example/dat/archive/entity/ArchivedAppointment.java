@@ -0,0 +1,73 @@
+package com.example.dat.archive.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import com.example.dat.dependent.entity.Dependent;
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.enums.AppointmentStatus;
+import com.example.dat.patient.entity.Patient;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A closed appointment moved out of the appointments table by the archival sweep (V8).
+ * Same columns and id as the original row; never written through JPA.
+ */
+@Entity
+@Immutable
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "appointments_archive")
+public class ArchivedAppointment {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime startTime;
+
+    @Column(columnDefinition = "DATETIME")
+    private LocalDateTime endTime;
+    private String meetingLink;
+
+    private String purposeOfConsultation;
+
+    private String initialSymptoms;
+
+    @Enumerated(EnumType.STRING)
+    private AppointmentStatus status;
+
+    @Column(columnDefinition = "DATETIME")
+    private LocalDateTime reminderSentAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id")
+    private Patient patient;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "dependent_id")
+    private Dependent dependent;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,57 @@
+package com.example.dat.archive.entity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Immutable
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "consultations_archive")
+public class ArchivedConsultation {
+
+    @Id
+    private Long id;
+
+    private LocalDateTime consultationDate;
+
+    @Lob
+    private String subjectiveNotes;
+
+    @Lob
+    private String objectiveFindings;
+
+    @Lob
+    private String assessment;
+
+    @Lob
+    private String plan;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "appointment_id", unique = true, nullable = false)
+    private ArchivedAppointment appointment;
+
+    @OneToMany(mappedBy = "consultation")
+    private List<ArchivedConsultationDocument> documents;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,53 @@
+package com.example.dat.archive.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Only the database row is archived; the file stays where filePath points
+@Entity
+@Immutable
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "consultation_documents_archive")
+public class ArchivedConsultationDocument {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private String filePath;
+
+    @Column(nullable = false)
+    private String fileType;
+
+    @Column(nullable = false)
+    private Long fileSize;
+
+    @Column(nullable = false)
+    private LocalDateTime uploadedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "consultation_id", nullable = false)
+    private ArchivedConsultation consultation;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
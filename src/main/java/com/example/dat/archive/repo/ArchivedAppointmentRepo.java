@@ -0,0 +1,34 @@
+package com.example.dat.archive.repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.dat.archive.entity.ArchivedAppointment;
+
+import jakarta.persistence.QueryHint;
+
+public interface ArchivedAppointmentRepo extends JpaRepository<ArchivedAppointment, Long> {
+
+    List<ArchivedAppointment> findByDoctor_User_IdOrderByIdDesc(Long userId);
+
+    List<ArchivedAppointment> findByPatient_User_IdOrderByIdDesc(Long userId);
+
+    // Copies the rows as they are, keeping their ids. The native-spaces hint limits the
+    // second-level cache invalidation to this table instead of every cached region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "appointments_archive"))
+    @Query(value = "INSERT INTO appointments_archive (id, start_time, end_time, meeting_link, " +
+            "purpose_of_consultation, initial_symptoms, status, reminder_sent_at, doctor_id, patient_id, " +
+            "dependent_id, archived_at) " +
+            "SELECT id, start_time, end_time, meeting_link, purpose_of_consultation, initial_symptoms, status, " +
+            "reminder_sent_at, doctor_id, patient_id, dependent_id, :archivedAt " +
+            "FROM appointments WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromAppointments(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,46 @@
+package com.example.dat.archive.repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.dat.archive.entity.ArchivedConsultation;
+
+import jakarta.persistence.QueryHint;
+
+public interface ArchivedConsultationRepo extends JpaRepository<ArchivedConsultation, Long> {
+
+    Optional<ArchivedConsultation> findByAppointmentId(Long appointmentId);
+
+    List<ArchivedConsultation> findByAppointmentPatientIdOrderByConsultationDateDesc(Long patientId);
+
+    List<ArchivedConsultation> findByAppointmentDoctorIdOrderByConsultationDateDesc(Long doctorId);
+
+    // Consultations of the given (already archived) appointments
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "consultations_archive"))
+    @Query(value = "INSERT INTO consultations_archive (id, consultation_date, subjective_notes, objective_findings, " +
+            "assessment, plan, appointment_id, archived_at) " +
+            "SELECT id, consultation_date, subjective_notes, objective_findings, assessment, plan, appointment_id, " +
+            ":archivedAt FROM consultations WHERE appointment_id IN (:appointmentIds)", nativeQuery = true)
+    int copyFromConsultations(@Param("appointmentIds") List<Long> appointmentIds,
+                              @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Documents of those consultations; the files themselves are not moved
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "consultation_documents_archive"))
+    @Query(value = "INSERT INTO consultation_documents_archive (id, file_name, file_path, file_type, file_size, " +
+            "uploaded_at, consultation_id, archived_at) " +
+            "SELECT d.id, d.file_name, d.file_path, d.file_type, d.file_size, d.uploaded_at, d.consultation_id, " +
+            ":archivedAt FROM consultation_documents d JOIN consultations c ON c.id = d.consultation_id " +
+            "WHERE c.appointment_id IN (:appointmentIds)", nativeQuery = true)
+    int copyFromConsultationDocuments(@Param("appointmentIds") List<Long> appointmentIds,
+                                      @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,26 @@
+package com.example.dat.archive.repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.dat.archive.entity.ArchivedNotification;
+
+import jakarta.persistence.QueryHint;
+
+public interface ArchivedNotificationRepo extends JpaRepository<ArchivedNotification, Long> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notifications_archive"))
+    @Query(value = "INSERT INTO notifications_archive (id, subject, recipient, message, type, user_id, created_at, " +
+            "read_at, archived_at) " +
+            "SELECT id, subject, recipient, message, type, user_id, created_at, read_at, :archivedAt " +
+            "FROM notifications WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromNotifications(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
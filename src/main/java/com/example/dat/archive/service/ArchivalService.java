@@ -0,0 +1,167 @@
+package com.example.dat.archive.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.archive.repo.ArchivedAppointmentRepo;
+import com.example.dat.archive.repo.ArchivedConsultationRepo;
+import com.example.dat.archive.repo.ArchivedNotificationRepo;
+import com.example.dat.consultation.repo.ConsultationDocumentRepo;
+import com.example.dat.consultation.repo.ConsultationRepo;
+import com.example.dat.enums.AppointmentStatus;
+import com.example.dat.notification.repo.NotificationRepo;
+import com.example.dat.scheduling.dto.SweepKey;
+import com.example.dat.scheduling.service.LeaseService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodic sweep that keeps the hot tables small: closed appointments older than the horizon move,
+ * with their consultations and documents, to the *_archive tables (V8), and so do old notifications.
+ * Each batch is copied and deleted in one transaction, so a row is always in exactly one of the two
+ * tables; history reads look in both. Batches are keyset pages in the order of the index each sweep
+ * scans. Only the node holding the lease runs it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArchivalService {
+
+    private static final String LEASE_NAME = "archival";
+    private static final List<AppointmentStatus> CLOSED = List.of(
+            AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED, AppointmentStatus.NO_SHOW);
+
+    private final AppointmentRepo appointmentRepo;
+    private final ConsultationRepo consultationRepo;
+    private final ConsultationDocumentRepo consultationDocumentRepo;
+    private final NotificationRepo notificationRepo;
+    private final ArchivedAppointmentRepo archivedAppointmentRepo;
+    private final ArchivedConsultationRepo archivedConsultationRepo;
+    private final ArchivedNotificationRepo archivedNotificationRepo;
+    private final LeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.archival.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archival.appointment-horizon-days:730}")
+    private long appointmentHorizonDays;
+
+    @Value("${app.archival.notification-horizon-days:180}")
+    private long notificationHorizonDays;
+
+    @Value("${app.archival.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archival.lease-seconds:600}")
+    private long leaseSeconds;
+
+
+    @Scheduled(fixedDelayString = "${app.archival.sweep-interval-ms:3600000}",
+            initialDelayString = "${app.archival.initial-delay-ms:300000}")
+    public void sweep() {
+
+        if (!enabled || !leaseService.tryAcquire(LEASE_NAME, leaseDuration())) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int appointments = archiveAppointments(now.minusDays(appointmentHorizonDays));
+            int notifications = archiveNotifications(now.minusDays(notificationHorizonDays));
+            if (appointments > 0 || notifications > 0) {
+                log.info("Archival sweep: {} appointments and {} notifications archived", appointments, notifications);
+            }
+        } catch (Exception e) {
+            log.error("Archival sweep failed", e);
+        }
+    }
+
+    // Closed appointments that started before the cutoff, with their consultations and documents.
+    // One status at a time, each walked in (start_time, id) order over idx_appointments_status_start
+    int archiveAppointments(LocalDateTime cutoff) {
+
+        int total = 0;
+
+        for (AppointmentStatus closedStatus : CLOSED) {
+            SweepKey last = null;
+
+            while (true) {
+                List<SweepKey> batch = last == null
+                        ? appointmentRepo.findArchivable(closedStatus, cutoff, Limit.of(batchSize))
+                        : appointmentRepo.findArchivableAfter(closedStatus, cutoff, last.time(), last.id(),
+                                Limit.of(batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                List<Long> ids = batch.stream().map(SweepKey::id).toList();
+
+                Integer moved = transactionTemplate.execute(status -> {
+                    LocalDateTime archivedAt = LocalDateTime.now();
+                    // Parents first on the way in, children first on the way out (foreign keys)
+                    int appointments = archivedAppointmentRepo.copyFromAppointments(ids, archivedAt);
+                    archivedConsultationRepo.copyFromConsultations(ids, archivedAt);
+                    archivedConsultationRepo.copyFromConsultationDocuments(ids, archivedAt);
+                    consultationDocumentRepo.deleteByAppointmentIds(ids);
+                    consultationRepo.deleteByAppointmentIds(ids);
+                    appointmentRepo.deleteByIds(ids);
+                    return appointments;
+                });
+
+                total += moved != null ? moved : 0;
+                last = batch.get(batch.size() - 1);
+
+                if (ids.size() < batchSize) {
+                    break;
+                }
+                if (!leaseService.tryAcquire(LEASE_NAME, leaseDuration())) {
+                    return total;
+                }
+            }
+        }
+
+        return total;
+    }
+
+    int archiveNotifications(LocalDateTime cutoff) {
+
+        int total = 0;
+        SweepKey last = null;
+
+        while (true) {
+            List<SweepKey> batch = last == null
+                    ? notificationRepo.findArchivable(cutoff, Limit.of(batchSize))
+                    : notificationRepo.findArchivableAfter(cutoff, last.time(), last.id(), Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return total;
+            }
+            List<Long> ids = batch.stream().map(SweepKey::id).toList();
+
+            Integer moved = transactionTemplate.execute(status -> {
+                int notifications = archivedNotificationRepo.copyFromNotifications(ids, LocalDateTime.now());
+                notificationRepo.deleteByIds(ids);
+                return notifications;
+            });
+
+            total += moved != null ? moved : 0;
+            last = batch.get(batch.size() - 1);
+
+            if (ids.size() < batchSize || !leaseService.tryAcquire(LEASE_NAME, leaseDuration())) {
+                return total;
+            }
+        }
+    }
+
+    private Duration leaseDuration() {
+        return Duration.ofSeconds(leaseSeconds);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.dat.concurrency;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limits on blocking resources. spring.threads.virtual.enabled (VIRTUAL_THREADS) switches Tomcat
+ * request handling and the @Async executors (AsyncConfig) to virtual threads; the JDBC limit is only
+ * installed in that mode, since with platform threads the pools already bound concurrency.
+ * It goes on each physical pool, sized to that pool: the primary Hikari pool here, before replica
+ * routing wraps it, and each replica pool in ReadReplicas.
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    @Bean
+    public ConcurrencyLimiter smtpConcurrencyLimiter(
+            @Value("${app.mail.max-concurrent-sends:8}") int permits,
+            @Value("${app.mail.send-acquire-timeout-ms:30000}") long acquireTimeoutMs,
+            MeterRegistry meterRegistry) {
+        return new ConcurrencyLimiter("smtp", permits, Duration.ofMillis(acquireTimeoutMs), meterRegistry);
+    }
+
+    // Declared as PrimaryPoolLimit: the order is read from the bean type before the instance exists
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public static PrimaryPoolLimit jdbcConcurrencyLimit(
+            @Value("${app.jdbc.max-concurrent-connections:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long acquireTimeoutMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PrimaryPoolLimit(permits, Duration.ofMillis(acquireTimeoutMs), meterRegistry);
+    }
+
+    // First DataSource post-processor: only the bare Hikari pool is wrapped, never a routing or proxy layer
+    static class PrimaryPoolLimit implements BeanPostProcessor, Ordered {
+
+        private final int permits;
+        private final Duration acquireTimeout;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        PrimaryPoolLimit(int permits, Duration acquireTimeout, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.permits = permits;
+            this.acquireTimeout = acquireTimeout;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource pool) {
+                return new ConcurrencyLimitedDataSource(pool,
+                        new ConcurrencyLimiter("jdbc", permits, acquireTimeout, meterRegistry.getObject()));
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.dat.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fair semaphore in front of a blocking resource (SMTP, the JDBC pool). With virtual threads
+ * the number of concurrent callers is no longer capped by a thread pool, so the cap moves here.
+ * Waiting is bounded by the acquire timeout; callers that time out get a LimitExceededException.
+ */
+public class ConcurrencyLimiter {
+
+    private final String name;
+    private final int permits;
+    private final Duration acquireTimeout;
+    private final Semaphore semaphore;
+
+    public ConcurrencyLimiter(String name, int permits, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = permits;
+        this.acquireTimeout = acquireTimeout;
+        this.semaphore = new Semaphore(permits, true);
+
+        Gauge.builder("concurrency.limiter.in.use", semaphore, s -> permits - s.availablePermits())
+                .description("Permits currently held")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.limiter.waiting", semaphore, Semaphore::getQueueLength)
+                .description("Callers waiting for a permit")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public void acquire() {
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LimitExceededException(name + ": interrupted while waiting for a permit");
+        }
+        if (!acquired) {
+            throw new LimitExceededException(name + ": no permit within " + acquireTimeout.toMillis()
+                    + " ms (" + permits + " in use)");
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public void run(Runnable action) {
+        acquire();
+        try {
+            action.run();
+        } finally {
+            release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public static class LimitExceededException extends RuntimeException {
+        public LimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
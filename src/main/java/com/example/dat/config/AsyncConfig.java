@@ -0,0 +1,135 @@
+package com.example.dat.config;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One bounded executor per kind of @Async work, selected with @Async(AsyncConfig.EMAIL) etc.
+ * Pool sizes, queue capacity and the overflow policy come from app.async.* (AsyncProperties).
+ * Pool and queue sizes are published by the actuator's executor metrics; overflows as executor.rejected.
+ * In virtual-thread mode each @Async executor starts a virtual thread per task instead, and callers block
+ * once maxSize + queueCapacity tasks are in flight. Password hashing always keeps its platform-thread pool.
+ */
+@Configuration
+@Slf4j
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String EMAIL = "emailExecutor";
+    public static final String FILE_PROCESSING = "fileProcessingExecutor";
+    public static final String MAINTENANCE = "maintenanceExecutor";
+    public static final String PASSWORD_HASHING = "passwordHashingExecutor";
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(name = EMAIL)
+    public AsyncTaskExecutor emailExecutor(AsyncProperties asyncProperties,
+                                           ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+                                           SimpleAsyncTaskExecutorBuilder virtualBuilder,
+                                           MeterRegistry meterRegistry) {
+        return executor(EMAIL, "email-", asyncProperties.getEmail(), threadPoolBuilder, virtualBuilder, meterRegistry);
+    }
+
+    @Bean(name = FILE_PROCESSING)
+    public AsyncTaskExecutor fileProcessingExecutor(AsyncProperties asyncProperties,
+                                                    ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+                                                    SimpleAsyncTaskExecutorBuilder virtualBuilder,
+                                                    MeterRegistry meterRegistry) {
+        return executor(FILE_PROCESSING, "files-", asyncProperties.getFileProcessing(), threadPoolBuilder,
+                virtualBuilder, meterRegistry);
+    }
+
+    // Also the default for a plain @Async, so nothing falls back to an unbounded executor
+    @Bean(name = {MAINTENANCE, "taskExecutor"})
+    public AsyncTaskExecutor maintenanceExecutor(AsyncProperties asyncProperties,
+                                                 ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+                                                 SimpleAsyncTaskExecutorBuilder virtualBuilder,
+                                                 MeterRegistry meterRegistry) {
+        return executor(MAINTENANCE, "maintenance-", asyncProperties.getMaintenance(), threadPoolBuilder,
+                virtualBuilder, meterRegistry);
+    }
+
+    // Not an @Async target: PooledPasswordEncoder submits to it and waits for the hash.
+    // Bounded platform threads also in virtual-thread mode: BCrypt is pure CPU, and its maxSize is what
+    // keeps a login burst from taking every core
+    @Bean(name = PASSWORD_HASHING)
+    public AsyncTaskExecutor passwordHashingExecutor(AsyncProperties asyncProperties,
+                                                     ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+                                                     MeterRegistry meterRegistry) {
+        return boundedExecutor(PASSWORD_HASHING, "hashing-", asyncProperties.getPasswordHashing(), threadPoolBuilder,
+                meterRegistry);
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (e, method, params) -> log.error("@Async {}.{} failed", method.getDeclaringClass().getSimpleName(),
+                method.getName(), e);
+    }
+
+    private AsyncTaskExecutor executor(String name, String threadNamePrefix, AsyncProperties.Pool pool,
+                                       ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+                                       SimpleAsyncTaskExecutorBuilder virtualBuilder,
+                                       MeterRegistry meterRegistry) {
+        if (virtualThreads) {
+            return virtualBuilder
+                    .threadNamePrefix(threadNamePrefix)
+                    .concurrencyLimit(pool.getMaxSize() + pool.getQueueCapacity())
+                    .build();
+        }
+        return boundedExecutor(name, threadNamePrefix, pool, threadPoolBuilder, meterRegistry);
+    }
+
+    // Package-visible so the overflow behaviour can be tested without a context
+    static ThreadPoolTaskExecutor boundedExecutor(String name, String threadNamePrefix, AsyncProperties.Pool pool,
+                                                  ThreadPoolTaskExecutorBuilder builder, MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = builder
+                .threadNamePrefix(threadNamePrefix)
+                .corePoolSize(pool.getCoreSize())
+                .maxPoolSize(pool.getMaxSize())
+                .queueCapacity(pool.getQueueCapacity())
+                .build();
+        executor.setRejectedExecutionHandler(
+                MetricsConfig.countingRejections(meterRegistry, name, rejectionHandler(name, pool)));
+        return executor;
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(String name, AsyncProperties.Pool pool) {
+        return switch (pool.getRejectionPolicy()) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case SHED -> (task, executor) -> log.warn("Executor {} saturated ({} queued), task dropped",
+                    name, executor.getQueue().size());
+            case BLOCK -> (task, executor) -> {
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException("Executor " + name + " is shut down");
+                }
+                // Rejection means every thread is busy, so the queued task is picked up as one frees.
+                // Bounded wait: a pool that stays stuck must not hang its submitters as well
+                try {
+                    if (!executor.getQueue().offer(task, pool.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                        log.error("Executor {} still saturated after {} ({} queued), task dropped",
+                                name, pool.getBlockTimeout(), executor.getQueue().size());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for executor " + name, e);
+                }
+            };
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.dat.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sizes and overflow policy of the @Async executors, one per workload class (app.async.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.async")
+@Data
+public class AsyncProperties {
+
+    // Confirmation, reminder and expediente e-mails (blocking SMTP); never sent from the request thread
+    private Pool email = new Pool(2, 8, 500, RejectionPolicy.BLOCK);
+
+    // Disk work taken off the request path (clean-up of replaced uploads)
+    private Pool fileProcessing = new Pool(1, 4, 200, RejectionPolicy.CALLER_RUNS);
+
+    // Background reactions to domain events (waitlist backfill); only dropped once the pool has been stuck for blockTimeout
+    private Pool maintenance = new Pool(1, 2, 100, RejectionPolicy.BLOCK);
+
+    // BCrypt encode/verify (PooledPasswordEncoder); caps the CPU a login storm can take
+    private Pool passwordHashing = new Pool(2, 2, 100, RejectionPolicy.ABORT);
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Pool {
+        private int coreSize;
+        private int maxSize;
+        private int queueCapacity;
+        private RejectionPolicy rejectionPolicy;
+        // BLOCK only: how long a submitter waits for queue space before the task is dropped
+        private Duration blockTimeout = Duration.ofSeconds(10);
+
+        public Pool(int coreSize, int maxSize, int queueCapacity, RejectionPolicy rejectionPolicy) {
+            this(coreSize, maxSize, queueCapacity, rejectionPolicy, Duration.ofSeconds(10));
+        }
+    }
+
+    public enum RejectionPolicy {
+        // Queue full: the submitting thread runs the task itself, slowing the producer down
+        CALLER_RUNS,
+        // Queue full: the task is dropped and counted
+        SHED,
+        // Queue full: the submitting thread waits up to blockTimeout for space and the task still runs on the pool;
+        // if the pool is still saturated then (e.g. a stalled SMTP server), the task is dropped like SHED
+        BLOCK,
+        // Queue full: submit throws, for callers that wait for the result
+        ABORT
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.dat.config;
+
+import java.util.concurrent.RejectedExecutionHandler;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.dat.monitoring.DebugSamplingTurboFilter;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Metrics Spring Boot does not publish on its own. HTTP endpoints, repository methods,
+ * the Hikari pool and executor pool/queue sizes are auto-instrumented by the actuator.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // DEBUG/TRACE events dropped by the sampling filter declared in logback-spring.xml
+    @Bean
+    public MeterBinder debugSamplingMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+                return;
+            }
+            loggerContext.getTurboFilterList().stream()
+                    .filter(DebugSamplingTurboFilter.class::isInstance)
+                    .map(DebugSamplingTurboFilter.class::cast)
+                    .findFirst()
+                    .ifPresent(filter -> FunctionCounter.builder("logging.events.sampled.dropped", filter,
+                                    DebugSamplingTurboFilter::getDropped)
+                            .description("DEBUG/TRACE log events dropped by per-logger sampling")
+                            .register(registry));
+        };
+    }
+
+    // Hits, misses and hit ratio of each second-level cache region (ehcache.xml), from Hibernate's statistics.
+    // Only when hibernate.generate_statistics is on: otherwise every count would read 0
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            if (!statistics.isStatisticsEnabled()) {
+                return;
+            }
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+                if (regionStatistics == null) {
+                    continue;
+                }
+                FunctionCounter.builder("hibernate.cache.hits", regionStatistics, CacheRegionStatistics::getHitCount)
+                        .tag("region", region)
+                        .register(registry);
+                FunctionCounter.builder("hibernate.cache.misses", regionStatistics, CacheRegionStatistics::getMissCount)
+                        .tag("region", region)
+                        .register(registry);
+                FunctionCounter.builder("hibernate.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                        .tag("region", region)
+                        .register(registry);
+                Gauge.builder("hibernate.cache.hit.ratio", regionStatistics, MetricsConfig::hitRatio)
+                        .description("Share of second-level cache lookups answered from the region")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double hitRatio(CacheRegionStatistics statistics) {
+        long lookups = statistics.getHitCount() + statistics.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) statistics.getHitCount() / lookups;
+    }
+
+    // Counts every rejected task as executor.rejected{name=...} before handing it to the delegate policy.
+    // Used by AsyncConfig; Boot's executor metrics only report pool and queue sizes
+    public static RejectedExecutionHandler countingRejections(MeterRegistry meterRegistry, String executorName,
+                                                              RejectedExecutionHandler delegate) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("Tasks rejected by the executor")
+                .tag("name", executorName)
+                .register(meterRegistry);
+
+        return (task, pool) -> {
+            rejected.increment();
+            delegate.rejectedExecution(task, pool);
+        };
+    }
+}
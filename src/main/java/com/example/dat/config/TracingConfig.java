@@ -0,0 +1,46 @@
+package com.example.dat.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import com.example.dat.monitoring.FileSpanExporter;
+
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Span export and trace propagation. app.tracing.exporter picks the exporter:
+ * otlp (default, an OpenTelemetry collector over HTTP) or file (JSON lines, for tests).
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "otlp", matchIfMissing = true)
+    public OtlpHttpSpanExporter otlpSpanExporter(
+            @Value("${app.tracing.otlp.endpoint:http://localhost:4318/v1/traces}") String endpoint) {
+        return OtlpHttpSpanExporter.builder()
+                .setEndpoint(endpoint)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "file")
+    public FileSpanExporter fileSpanExporter(
+            @Value("${app.tracing.file.path:target/traces/spans.jsonl}") String path,
+            ObjectMapper objectMapper) {
+        return new FileSpanExporter(Path.of(path), objectMapper);
+    }
+
+    // Applied by Boot's executor builders to the @Async executors (AsyncConfig): e-mail spans stay in the
+    // trace of the request that queued them
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.dat.consultation.controller;
 
+import com.example.dat.monitoring.FileTransferObservations;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.PathResource;
@@ -20,6 +21,8 @@ import java.nio.file.Paths;
 @RequestMapping("/consultation-documents")
 public class ConsultationDocumentController {
 
+    private final FileTransferObservations fileTransferObservations;
+
     @Value("${app.upload.dir:uploads/consultation-documents}")
     private String uploadDir;
 
@@ -27,16 +30,18 @@ public class ConsultationDocumentController {
     public ResponseEntity<Resource> serveDocument(@PathVariable String filename) {
         try {
             Path file = Paths.get(uploadDir).toAbsolutePath().resolve(filename);
-            Resource resource = new PathResource(file);
+            return fileTransferObservations.download("consultation-document", file, () -> {
+                Resource resource = new PathResource(file);
 
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
+                if (resource.exists() && resource.isReadable()) {
+                    return ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
+                            .body(resource);
+                } else {
+                    return ResponseEntity.notFound().<Resource>build();
+                }
+            });
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -3,6 +3,9 @@ package com.example.dat.consultation.repo;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.dat.consultation.entity.ConsultationDocument;
@@ -13,4 +16,10 @@ public interface ConsultationDocumentRepo extends JpaRepository<ConsultationDocu
     List<ConsultationDocument> findByConsultationId(Long consultationId);
     
     void deleteByConsultationId(Long consultationId);
+
+    // Archival: documents of the consultations of appointments being moved to the archive
+    @Modifying
+    @Query("DELETE FROM ConsultationDocument d WHERE d.consultation.id IN " +
+            "(SELECT c.id FROM Consultation c WHERE c.appointment.id IN :appointmentIds)")
+    int deleteByAppointmentIds(@Param("appointmentIds") List<Long> appointmentIds);
 }
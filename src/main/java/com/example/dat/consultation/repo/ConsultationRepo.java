@@ -2,6 +2,9 @@ package com.example.dat.consultation.repo;
 
 import com.example.dat.consultation.entity.Consultation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,4 +17,9 @@ public interface ConsultationRepo extends JpaRepository<Consultation, Long> {
     List<Consultation> findByAppointmentPatientIdOrderByConsultationDateDesc(Long patientId);
 
     List<Consultation> findByAppointmentDoctorIdOrderByConsultationDateDesc(Long doctorId);
+
+    // Archival: consultations of appointments being moved to the archive
+    @Modifying
+    @Query("DELETE FROM Consultation c WHERE c.appointment.id IN :appointmentIds")
+    int deleteByAppointmentIds(@Param("appointmentIds") List<Long> appointmentIds);
 }
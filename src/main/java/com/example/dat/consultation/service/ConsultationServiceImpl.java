@@ -6,17 +6,23 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.dat.appointment.entity.Appointment;
 import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.archive.entity.ArchivedConsultation;
+import com.example.dat.archive.repo.ArchivedConsultationRepo;
 import com.example.dat.consultation.dto.ConsultationDTO;
 import com.example.dat.consultation.dto.ConsultationDocumentDTO;
 import com.example.dat.consultation.entity.Consultation;
@@ -28,6 +34,7 @@ import com.example.dat.doctor.repo.DoctorRepo;
 import com.example.dat.enums.AppointmentStatus;
 import com.example.dat.exceptions.BadRequestException;
 import com.example.dat.exceptions.NotFoundException;
+import com.example.dat.monitoring.FileTransferObservations;
 import com.example.dat.patient.entity.Patient;
 import com.example.dat.patient.repo.PatientRepo;
 import com.example.dat.res.Response;
@@ -51,11 +58,15 @@ public class ConsultationServiceImpl implements ConsultationService{
     private final PatientRepo patientRepo;
     private final ConsultationDocumentRepo consultationDocumentRepo;
     private final DoctorRepo doctorRepo;
+    private final FileTransferObservations fileTransferObservations;
+    private final ArchivedConsultationRepo archivedConsultationRepo;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${app.upload.dir:uploads/consultation-documents}")
     private String uploadDir;
 
     @Override
+    @Transactional
     public Response<ConsultationDTO> createConsultation(ConsultationDTO consultationDTO) {
 
         User user = userService.getCurrentUser();
@@ -101,18 +112,23 @@ public class ConsultationServiceImpl implements ConsultationService{
     
     @Override
     public Response<?> uploadConsultationDocuments(Long consultationId, List<MultipartFile> files) {
-        
-        Consultation consultation = consultationRepo.findById(consultationId)
-            .orElseThrow(() -> new NotFoundException("Consulta no encontrada"));
-        
+
+        // No transaction around the copies: the check and the row inserts each take a short one
         User user = userService.getCurrentUser();
-        
+
+        Boolean isConsultationDoctor = transactionTemplate.execute(status -> {
+            Consultation consultation = consultationRepo.findById(consultationId)
+                .orElseThrow(() -> new NotFoundException("Consulta no encontrada"));
+            return consultation.getAppointment().getDoctor().getUser().getId().equals(user.getId());
+        });
+
         // Security: Only the doctor who created the consultation can upload documents
-        if (!consultation.getAppointment().getDoctor().getUser().getId().equals(user.getId())) {
+        if (!Boolean.TRUE.equals(isConsultationDoctor)) {
             throw new BadRequestException("No estás autorizado para subir documentos para esta consulta.");
         }
         
-        List<ConsultationDocumentDTO> uploadedDocs = new ArrayList<>();
+        List<ConsultationDocument> documents = new ArrayList<>();
+        List<Path> copied = new ArrayList<>();
         
         try {
             Path uploadPath = Paths.get(uploadDir).toAbsolutePath();
@@ -139,24 +155,30 @@ public class ConsultationServiceImpl implements ConsultationService{
                 
                 // Save file
                 Path filePath = uploadPath.resolve(uniqueFilename);
-                Files.copy(file.getInputStream(), filePath);
+                fileTransferObservations.upload("consultation-document", filePath,
+                        () -> Files.copy(file.getInputStream(), filePath));
+                copied.add(filePath);
                 
-                // Create document record
-                ConsultationDocument document = ConsultationDocument.builder()
+                // Document record, inserted with the others once every file is on disk
+                documents.add(ConsultationDocument.builder()
                         .fileName(originalFilename)
                         .filePath("/consultation-documents/" + uniqueFilename)
                         .fileType(file.getContentType())
                         .fileSize(file.getSize())
                         .uploadedAt(LocalDateTime.now())
-                        .consultation(consultation)
-                        .build();
-                
-                ConsultationDocument savedDoc = consultationDocumentRepo.save(document);
-                
-                uploadedDocs.add(modelMapper.map(savedDoc, ConsultationDocumentDTO.class));
-                
-                log.info("Documento subido: {} para consulta ID: {}", originalFilename, consultationId);
+                        .build());
             }
+
+            List<ConsultationDocumentDTO> uploadedDocs = transactionTemplate.execute(status -> {
+                Consultation consultation = consultationRepo.getReferenceById(consultationId);
+                documents.forEach(document -> document.setConsultation(consultation));
+                return consultationDocumentRepo.saveAll(documents).stream()
+                        .map(savedDoc -> modelMapper.map(savedDoc, ConsultationDocumentDTO.class))
+                        .toList();
+            });
+
+            documents.forEach(document ->
+                    log.info("Documento subido: {} para consulta ID: {}", document.getFileName(), consultationId));
             
                 return Response.builder()
                     .statusCode(200)
@@ -165,21 +187,38 @@ public class ConsultationServiceImpl implements ConsultationService{
                     .build();
                     
         } catch (IOException e) {
+            deleteQuietly(copied);
             log.error("Error al subir documentos: ", e);
             throw new BadRequestException("Error al subir documentos: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // Nothing was recorded: do not leave the files already copied behind
+            deleteQuietly(copied);
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("No se pudo borrar el archivo {}: {}", file, e.getMessage());
+            }
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<ConsultationDTO> getConsultationByAppointmentId(Long appointmentId) {
 
         User user = userService.getCurrentUser();
 
-        Consultation consultation = consultationRepo.findByAppointmentId(appointmentId)
+        // Notes of archived appointments are looked up in the archive
+        ConsultationDTO dto = consultationRepo.findByAppointmentId(appointmentId)
+            .map(this::convertConsultationToDTO)
+            .or(() -> archivedConsultationRepo.findByAppointmentId(appointmentId).map(this::convertConsultationToDTO))
             .orElseThrow(() -> new NotFoundException("No se encontraron notas de consulta para la cita con ID: " + appointmentId));
 
-        ConsultationDTO dto = convertConsultationToDTO(consultation);
-
         return Response.<ConsultationDTO>builder()
                 .statusCode(200)
                 .message("Notas de consulta obtenidas correctamente.")
@@ -189,6 +228,7 @@ public class ConsultationServiceImpl implements ConsultationService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<List<ConsultationDTO>> getConsultationHistoryForPatient(Long patientId) {
 
         User user = userService.getCurrentUser();
@@ -206,9 +246,11 @@ public class ConsultationServiceImpl implements ConsultationService{
 
 
         // Use the repository method to fetch all consultations linked via appointments
-        List<Consultation> history = consultationRepo.findByAppointmentPatientIdOrderByConsultationDateDesc(patientId);
+        List<ConsultationDTO> historyDTOs = mergeByDateDesc(
+                consultationRepo.findByAppointmentPatientIdOrderByConsultationDateDesc(patientId),
+                archivedConsultationRepo.findByAppointmentPatientIdOrderByConsultationDateDesc(patientId));
 
-        if (history.isEmpty()) {
+        if (historyDTOs.isEmpty()) {
             return Response.<List<ConsultationDTO>>builder()
                     .statusCode(200)
                     .message("No se encontraron consultas para este paciente.")
@@ -216,10 +258,6 @@ public class ConsultationServiceImpl implements ConsultationService{
                     .build();
         }
 
-        List<ConsultationDTO> historyDTOs = history.stream()
-                .map(this::convertConsultationToDTO)
-                .toList();
-
         return Response.<List<ConsultationDTO>>builder()
                 .statusCode(200)
                 .message("Historial de consultas obtenido correctamente.")
@@ -229,6 +267,7 @@ public class ConsultationServiceImpl implements ConsultationService{
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Response<List<ConsultationDTO>> getMyConsultations() {
         
         User user = userService.getCurrentUser();
@@ -238,9 +277,11 @@ public class ConsultationServiceImpl implements ConsultationService{
             .orElseThrow(() -> new BadRequestException("Perfil de doctor no encontrado para el usuario actual"));
         
         // Get all consultations for this doctor
-        List<Consultation> consultations = consultationRepo.findByAppointmentDoctorIdOrderByConsultationDateDesc(doctor.getId());
+        List<ConsultationDTO> consultationDTOs = mergeByDateDesc(
+                consultationRepo.findByAppointmentDoctorIdOrderByConsultationDateDesc(doctor.getId()),
+                archivedConsultationRepo.findByAppointmentDoctorIdOrderByConsultationDateDesc(doctor.getId()));
         
-        if (consultations.isEmpty()) {
+        if (consultationDTOs.isEmpty()) {
                 return Response.<List<ConsultationDTO>>builder()
                     .statusCode(200)
                     .message("No se encontraron consultas.")
@@ -248,10 +289,6 @@ public class ConsultationServiceImpl implements ConsultationService{
                     .build();
         }
         
-        List<ConsultationDTO> consultationDTOs = consultations.stream()
-                .map(this::convertConsultationToDTO)
-                .collect(Collectors.toList());
-        
         return Response.<List<ConsultationDTO>>builder()
                 .statusCode(200)
             .message("Consultas obtenidas correctamente.")
@@ -259,6 +296,29 @@ public class ConsultationServiceImpl implements ConsultationService{
                 .build();
     }
     
+    // Hot and archived consultations as one history, newest first
+    private List<ConsultationDTO> mergeByDateDesc(List<Consultation> consultations, List<ArchivedConsultation> archived) {
+        return Stream.concat(
+                        consultations.stream().map(this::convertConsultationToDTO),
+                        archived.stream().map(this::convertConsultationToDTO))
+                .sorted(Comparator.comparing(ConsultationDTO::getConsultationDate,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+    }
+
+    private ConsultationDTO convertConsultationToDTO(ArchivedConsultation consultation) {
+        ConsultationDTO dto = modelMapper.map(consultation, ConsultationDTO.class);
+        dto.setAppointmentId(consultation.getAppointment().getId());
+
+        if (consultation.getDocuments() != null && !consultation.getDocuments().isEmpty()) {
+            dto.setDocuments(consultation.getDocuments().stream()
+                    .map(doc -> modelMapper.map(doc, ConsultationDocumentDTO.class))
+                    .toList());
+        }
+
+        return dto;
+    }
+
     private ConsultationDTO convertConsultationToDTO(Consultation consultation) {
         ConsultationDTO dto = modelMapper.map(consultation, ConsultationDTO.class);
         
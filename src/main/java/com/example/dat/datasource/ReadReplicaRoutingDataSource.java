@@ -0,0 +1,80 @@
+package com.example.dat.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends read-only transactions to the replicas (round-robin) and everything else to the primary.
+ * Always used behind a LazyConnectionDataSourceProxy (see routing()): the transaction manager asks
+ * for a connection before it marks the transaction read-only, the lazy proxy defers the real
+ * lookup to the first statement, when the flag is set.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final BooleanSupplier stickToPrimary;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, BooleanSupplier stickToPrimary) {
+        this.stickToPrimary = stickToPrimary;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (DataSource replica : replicas) {
+            String key = "replica-" + replicaKeys.size();
+            targets.put(key, replica);
+            replicaKeys.add(key);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public static DataSource routing(DataSource primary, List<DataSource> replicas, BooleanSupplier stickToPrimary) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replicas, stickToPrimary));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaKeys.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || stickToPrimary.getAsBoolean()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // A replica that cannot hand out a connection is skipped: the read goes to the primary instead of failing
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = getResolvedDataSources().get(key);
+        if (PRIMARY.equals(key)) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            log.warn("Read replica {} unavailable, reading from the primary: {}", key, e.getMessage());
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+}
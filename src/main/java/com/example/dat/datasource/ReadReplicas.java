@@ -0,0 +1,66 @@
+package com.example.dat.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.dat.concurrency.ConcurrencyLimitedDataSource;
+import com.example.dat.concurrency.ConcurrencyLimiter;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * One Hikari pool per configured replica, opened read-only. Pools start without waiting for
+ * their database, so a replica that is down does not stop the application from starting.
+ * With virtual threads each pool gets its own JDBC concurrency limit, sized to that pool
+ * (the primary pool's is installed by ConcurrencyConfig).
+ */
+@Component
+public class ReadReplicas implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final List<DataSource> dataSources = new ArrayList<>();
+
+    public ReadReplicas(ReplicaProperties properties, MeterRegistry meterRegistry,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        for (ReplicaProperties.Replica replica : properties.getReplicas()) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + pools.size());
+            config.setJdbcUrl(replica.getUrl());
+            config.setUsername(replica.getUsername());
+            config.setPassword(replica.getPassword());
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            config.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            HikariDataSource pool = new HikariDataSource(config);
+            pools.add(pool);
+            dataSources.add(virtualThreads
+                    ? new ConcurrencyLimitedDataSource(pool, new ConcurrencyLimiter("jdbc-" + config.getPoolName(),
+                            replica.getMaximumPoolSize(), replica.getConnectionTimeout(), meterRegistry))
+                    : pool);
+        }
+    }
+
+    public List<DataSource> dataSources() {
+        return List.copyOf(dataSources);
+    }
+
+    public boolean isEmpty() {
+        return pools.isEmpty();
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
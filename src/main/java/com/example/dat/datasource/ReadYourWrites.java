@@ -0,0 +1,97 @@
+package com.example.dat.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps a user's reads on the primary for a short window after they wrote, so the list they
+ * open right after booking already shows the new appointment even if the replica lags.
+ * Tracked per node: a request served by another node may still read from a replica.
+ * <p>
+ * A single read-only transaction can also be kept on the primary (readCurrentTransactionFromPrimary),
+ * for reads whose result outlives the transaction, such as a cached calendar day.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public ReadYourWrites(ReplicaProperties properties) {
+        this(properties.getReadYourWritesWindow(), System::nanoTime);
+    }
+
+    // Package-visible so the window can be tested without sleeping
+    ReadYourWrites(Duration window, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    // Called by the service after a write whose result the same user is likely to read next
+    public void recordWrite() {
+        recordWrite(currentUser());
+    }
+
+    // For writes made on a user's behalf outside their own request (e.g. a waitlist auto-booking)
+    public void recordWrite(String username) {
+        if (username != null) {
+            primaryUntil.put(username, nanoClock.getAsLong() + windowNanos);
+        }
+    }
+
+    // Keeps the current transaction on the primary. Must be called before its first statement:
+    // the connection is routed then and kept until the transaction ends
+    public void readCurrentTransactionFromPrimary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWrites.this);
+            }
+        });
+    }
+
+    public boolean readsFromPrimary() {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return true;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = primaryUntil.get(user);
+        return until != null && until - nanoClock.getAsLong() > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-your-writes-sweep-ms:60000}")
+    public void evictExpired() {
+        long now = nanoClock.getAsLong();
+        primaryUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
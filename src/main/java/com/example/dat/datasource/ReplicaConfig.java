@@ -0,0 +1,45 @@
+package com.example.dat.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Puts read/write routing in front of the auto-configured DataSource when app.datasource.replicas
+ * is set. Ordered right after the JDBC concurrency limit on the primary pool (ConcurrencyConfig) and
+ * before the SQL-counting wrapper, which so keeps seeing replica reads too.
+ */
+@Configuration
+public class ReplicaConfig {
+
+    // Declared as OrderedBeanPostProcessor: the order is read from the bean type before the instance exists
+    @Bean
+    public static OrderedBeanPostProcessor readReplicaRouting(ObjectProvider<ReadReplicas> readReplicas,
+                                                       ObjectProvider<ReadYourWrites> readYourWrites) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource primary && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    ReadReplicas replicas = readReplicas.getObject();
+                    if (!replicas.isEmpty()) {
+                        return ReadReplicaRoutingDataSource.routing(primary, replicas.dataSources(),
+                                () -> readYourWrites.getObject().readsFromPrimary());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+        @Override
+        default int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE + 1;
+        }
+    }
+}
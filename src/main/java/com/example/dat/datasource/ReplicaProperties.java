@@ -0,0 +1,36 @@
+package com.example.dat.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * MySQL read replicas (app.datasource.*). With none configured every connection comes
+ * from spring.datasource, as before.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource")
+@Data
+public class ReplicaProperties {
+
+    // Targets of @Transactional(readOnly = true) work, used round-robin
+    private List<Replica> replicas = new ArrayList<>();
+
+    // How long a user's reads stay on the primary after they booked or cancelled, to cover replication lag
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        // Short, so a replica that is down falls back to the primary quickly
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.dat.dependent.controller;
 
+import com.example.dat.monitoring.FileTransferObservations;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.PathResource;
 import org.springframework.core.io.Resource;
@@ -17,9 +19,12 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @RestController
+@RequiredArgsConstructor
 @RequestMapping
 public class DependentPhotoController {
 
+    private final FileTransferObservations fileTransferObservations;
+
     @Value("${app.upload.dir:uploads}")
     private String baseUploadDir;
 
@@ -28,21 +33,23 @@ public class DependentPhotoController {
         try {
             Path uploadPath = Paths.get(baseUploadDir).toAbsolutePath();
             Path file = uploadPath.resolve("dependents").resolve(filename);
-            if (!Files.exists(file) || Files.isDirectory(file)) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-            }
-
-            Resource resource = new PathResource(file);
-
-            String contentType = Files.probeContentType(file);
-            if (contentType == null) {
-                contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-            }
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, contentType)
-                    .header(HttpHeaders.CACHE_CONTROL, "max-age=3600, must-revalidate")
-                    .body(resource);
+            return fileTransferObservations.download("dependent-photo", file, () -> {
+                if (!Files.exists(file) || Files.isDirectory(file)) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).<Resource>build();
+                }
+
+                Resource resource = new PathResource(file);
+
+                String contentType = Files.probeContentType(file);
+                if (contentType == null) {
+                    contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+                }
+
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_TYPE, contentType)
+                        .header(HttpHeaders.CACHE_CONTROL, "max-age=3600, must-revalidate")
+                        .body(resource);
+            });
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
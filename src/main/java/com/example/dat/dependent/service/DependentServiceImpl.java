@@ -19,6 +19,8 @@ import com.example.dat.dependent.entity.Dependent;
 import com.example.dat.dependent.repo.DependentRepo;
 import com.example.dat.exceptions.BadRequestException;
 import com.example.dat.exceptions.NotFoundException;
+import com.example.dat.files.StoredFileCleaner;
+import com.example.dat.monitoring.FileTransferObservations;
 import com.example.dat.notification.service.NotificationService;
 import com.example.dat.patient.entity.ExpedienteSequence;
 import com.example.dat.patient.entity.Patient;
@@ -42,6 +44,8 @@ public class DependentServiceImpl implements DependentService {
     private final NotificationService notificationService;
     private final UserService userService;
     private final ModelMapper modelMapper;
+    private final FileTransferObservations fileTransferObservations;
+    private final StoredFileCleaner storedFileCleaner;
 
     @Value("${app.upload.dir:uploads}")
     private String baseUploadDir;
@@ -92,6 +96,7 @@ public class DependentServiceImpl implements DependentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<List<DependentDTO>> getDependentsByPatient(Long patientId) {
         
         // Verify patient exists
@@ -117,6 +122,7 @@ public class DependentServiceImpl implements DependentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<DependentDTO> getDependentById(Long dependentId) {
         
         Dependent dependent = dependentRepo.findById(dependentId)
@@ -181,18 +187,14 @@ public class DependentServiceImpl implements DependentService {
 
             // Delete old photo if exists
             if (dependent.getProfilePhoto() != null) {
-                try {
-                    String oldPhotoPath = dependent.getProfilePhoto().replace("/dependents/", "");
-                    Path oldFile = uploadPath.resolve(oldPhotoPath);
-                    Files.deleteIfExists(oldFile);
-                } catch (IOException e) {
-                    log.warn("Could not delete old photo: {}", e.getMessage());
-                }
+                String oldPhotoPath = dependent.getProfilePhoto().replace("/dependents/", "");
+                storedFileCleaner.deleteReplaced(uploadPath.resolve(oldPhotoPath));
             }
 
             // Save new photo
             Path filePath = uploadPath.resolve(uniqueFilename);
-            Files.copy(photo.getInputStream(), filePath);
+            fileTransferObservations.upload("dependent-photo", filePath,
+                    () -> Files.copy(photo.getInputStream(), filePath));
 
             // Update dependent record
             dependent.setProfilePhoto("/dependents/" + uniqueFilename);
@@ -215,6 +217,7 @@ public class DependentServiceImpl implements DependentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<List<DependentDTO>> getMyDependents() {
         
         User currentUser = userService.getCurrentUser();
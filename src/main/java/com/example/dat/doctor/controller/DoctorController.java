@@ -38,8 +38,7 @@ public class DoctorController {
     @PutMapping("/me")
     @PreAuthorize("hasAuthority('DOCTOR')")
     public ResponseEntity<Response<?>> updateDoctorProfile(@RequestBody DoctorDTO doctorDTO) {
-        log.info("=== CONTROLLER: Request recibido ===");
-        log.info("Todos los campos del DTO: {}", doctorDTO);
+        log.debug("Doctor profile update received");
         return ResponseEntity.ok(doctorService.updateDoctorProfile(doctorDTO));
     }
 
@@ -2,6 +2,9 @@ package com.example.dat.doctor.entity;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.example.dat.appointment.entity.Appointment;
 import com.example.dat.enums.Specialization;
 import com.example.dat.users.entity.User;
@@ -30,6 +33,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "doctors")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dat.doctors")
 public class Doctor {
 
 
@@ -60,6 +64,8 @@ public class Doctor {
     @Column(name = "max_age")
     private Integer edadMaxima;
 
+    // Booking only accepts slots that end the day they start (AppointmentSlotRules.withinAnySchedule),
+    // so no appointment is longer than a day, however long this is; the conflict check relies on that
     @Column(name = "consultation_minutes")
     private Integer tiempoDeConsulta; // duración en minutos
 
@@ -71,5 +77,6 @@ public class Doctor {
     private List<Appointment> appointments;
 
     @OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dat.doctor-schedules")
     private List<Schedule> schedules;
 }
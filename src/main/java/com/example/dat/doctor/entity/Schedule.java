@@ -2,6 +2,9 @@ package com.example.dat.doctor.entity;
 
 import java.time.LocalTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -22,6 +25,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "schedules")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dat.schedules")
 public class Schedule {
 
     @Id
@@ -3,7 +3,10 @@ package com.example.dat.doctor.repo;
 import com.example.dat.doctor.entity.Doctor;
 import com.example.dat.enums.Specialization;
 import com.example.dat.users.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +15,8 @@ public interface DoctorRepo extends JpaRepository<Doctor, Long> {
 
     Optional<Doctor> findByUser(User user);
 
+    // Cached ids; any write to doctors invalidates the cached results
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Doctor> findBySpecialization(Specialization specialization);
 
 }
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import com.example.dat.appointment.service.DoctorOccupancyCalendar;
 import com.example.dat.doctor.dto.DoctorDTO;
 import com.example.dat.doctor.dto.ScheduleDTO;
 import com.example.dat.doctor.entity.Doctor;
@@ -39,9 +40,11 @@ public class DoctorServiceImpl implements DoctorService{
     private final UserService userService;
     private final ModelMapper modelMapper;
     private final ScheduleRepo scheduleRepo;
+    private final DoctorOccupancyCalendar occupancyCalendar;
 
 
     @Override
+    @Transactional(readOnly = true)
     public Response<DoctorDTO> getDoctorProfile() {
 
         User user = userService.getCurrentUser();
@@ -117,15 +120,9 @@ public class DoctorServiceImpl implements DoctorService{
         Doctor doctor = doctorRepo.findByUser(currentUser)
                 .orElseThrow(() -> new NotFoundException("No se encontró perfil del Doctor."));
 
-        // Debug logs
-        log.info("=== Actualizando perfil del Doctor ===");
-        log.info("DTO completo recibido: firstName={}, lastName={}, gender={}, phone={}", 
-            doctorDTO.getFirstName(), doctorDTO.getLastName(), doctorDTO.getGender(), doctorDTO.getPhone());
-        log.info("GenderRestriction recibido: '{}'", doctorDTO.getGenderRestriction());
-        log.info("MinAge recibida: {}", doctorDTO.getMinAge());
-        log.info("MaxAge recibida: {}", doctorDTO.getMaxAge());
-        log.info("ConsultationDuration recibido: {}", doctorDTO.getConsultationDuration());
-        log.info("AdditionalSpecializations: {}", doctorDTO.getAdditionalSpecializations());
+        log.debug("Actualizando perfil del Doctor {}: genderRestriction='{}', minAge={}, maxAge={}, consultationDuration={}, additionalSpecializations={}",
+            doctor.getId(), doctorDTO.getGenderRestriction(), doctorDTO.getMinAge(), doctorDTO.getMaxAge(),
+            doctorDTO.getConsultationDuration(), doctorDTO.getAdditionalSpecializations());
 
         // Basic fields (firstName, lastName)
         if (StringUtils.hasText(doctorDTO.getFirstName())) {
@@ -163,7 +160,7 @@ public class DoctorServiceImpl implements DoctorService{
 
         // Handle schedules - delete old ones and create new ones
         if (doctorDTO.getSchedules() != null) {
-            log.info("Actualizando horarios: {} horarios recibidos", doctorDTO.getSchedules().size());
+            log.debug("Actualizando horarios: {} horarios recibidos", doctorDTO.getSchedules().size());
             
             // Remove old schedules
             if (doctor.getSchedules() != null) {
@@ -183,11 +180,11 @@ public class DoctorServiceImpl implements DoctorService{
         }
 
         Doctor savedDoctor = doctorRepo.save(doctor);
-        log.info("=== Perfil del Doctor guardado ===");
-        log.info("Valores guardados en BD: restriccionGenero='{}', edadMinima={}, edadMaxima={}, tiempoDeConsulta={}", 
-            savedDoctor.getRestriccionGenero(), savedDoctor.getEdadMinima(), 
-            savedDoctor.getEdadMaxima(), savedDoctor.getTiempoDeConsulta());
-        log.info("Horarios guardados: {}", savedDoctor.getSchedules() != null ? savedDoctor.getSchedules().size() : 0);
+
+        // Schedules or consultation length may have changed the slot grid
+        occupancyCalendar.evictDoctor(savedDoctor.getId());
+        log.info("Perfil del Doctor {} guardado ({} horarios)", savedDoctor.getId(),
+            savedDoctor.getSchedules() != null ? savedDoctor.getSchedules().size() : 0);
 
         return Response.builder()
                 .statusCode(200)
@@ -197,6 +194,7 @@ public class DoctorServiceImpl implements DoctorService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<List<DoctorDTO>> getAllDoctors() {
 
         List<Doctor> doctors = doctorRepo.findAll();
@@ -214,6 +212,7 @@ public class DoctorServiceImpl implements DoctorService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<DoctorDTO> getDoctorById(Long doctorId) {
 
         Doctor doctor = doctorRepo.findById(doctorId)
@@ -227,6 +226,7 @@ public class DoctorServiceImpl implements DoctorService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<List<DoctorDTO>> searchDoctorsBySpecialization(Specialization specialization) {
 
         List<Doctor> doctors = doctorRepo.findBySpecialization(specialization);
@@ -0,0 +1,8 @@
+package com.example.dat.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    BOOKED,
+    CANCELLED,
+    EXPIRED
+}
@@ -5,6 +5,7 @@ import com.example.dat.res.Response;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import java.time.format.DateTimeParseException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -42,6 +43,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(UnauthorizedException.class)
+    public ResponseEntity<Response<?>> handleUnauthorizedException(UnauthorizedException ex){
+        Response<?> response = Response.builder()
+                .statusCode(HttpStatus.UNAUTHORIZED.value()) //401
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Response<?>> handleTooManyRequestsException(TooManyRequestsException ex){
+        Response<?> response = Response.builder()
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value()) //429
+                .message(ex.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     @ExceptionHandler({DateTimeParseException.class})
     public ResponseEntity<Response<?>> handleDateTimeParse(DateTimeParseException ex){
         Response<?> response = Response.builder()
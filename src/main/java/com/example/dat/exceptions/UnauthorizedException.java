@@ -0,0 +1,7 @@
+package com.example.dat.exceptions;
+
+public class UnauthorizedException extends RuntimeException{
+    public UnauthorizedException(String ex){
+        super(ex);
+    }
+}
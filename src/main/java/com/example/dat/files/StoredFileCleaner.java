@@ -0,0 +1,32 @@
+package com.example.dat.files;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.example.dat.config.AsyncConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes uploads that were replaced (profile pictures, dependent photos) on the
+ * file-processing executor, so the upload request does not wait for the disk.
+ */
+@Component
+@Slf4j
+public class StoredFileCleaner {
+
+    @Async(AsyncConfig.FILE_PROCESSING)
+    public void deleteReplaced(Path file) {
+        try {
+            if (Files.deleteIfExists(file)) {
+                log.debug("Deleted replaced file {}", file);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete replaced file {}: {}", file, e.getMessage());
+        }
+    }
+}
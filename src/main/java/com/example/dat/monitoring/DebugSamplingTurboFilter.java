@@ -0,0 +1,66 @@
+package com.example.dat.monitoring;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Rate-limits DEBUG and TRACE events per logger to eventsPerSecond (configured in logback-spring.xml).
+ * Enabling DEBUG on a hot category under load then shows a sample instead of flooding the
+ * async appender's queue. INFO and above are never sampled.
+ */
+public class DebugSamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private int eventsPerSecond = 50;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+
+        // isDebugEnabled() checks arrive without a format; only real events are counted
+        if (!isStarted() || format == null || level == null || level.isGreaterOrEqual(Level.INFO)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long second = System.currentTimeMillis() / 1000;
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        long previous = window.second.get();
+        if (previous != second && window.second.compareAndSet(previous, second)) {
+            window.count.set(0);
+        }
+
+        if (window.count.incrementAndGet() <= eventsPerSecond) {
+            return FilterReply.NEUTRAL;
+        }
+        dropped.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public void setEventsPerSecond(int eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public int getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+
+    private static final class Window {
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.dat.monitoring;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Spans for the local file storage: "file.upload" around writing an uploaded file and
+ * "file.download" around resolving a stored one. The bytes of a download are streamed
+ * after the controller returns, so that part shows up in the HTTP request span.
+ */
+@Component
+@RequiredArgsConstructor
+public class FileTransferObservations {
+
+    private final ObservationRegistry observationRegistry;
+
+    public <T> T upload(String category, Path target, FileAction<T> action) throws IOException {
+        return observe("file.upload", category, target, action);
+    }
+
+    public <T> T download(String category, Path file, FileAction<T> action) throws IOException {
+        return observe("file.download", category, file, action);
+    }
+
+    private <T> T observe(String name, String category, Path file, FileAction<T> action) throws IOException {
+
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .contextualName(name + " " + category)
+                .lowCardinalityKeyValue("category", category)
+                .highCardinalityKeyValue("file.name", String.valueOf(file.getFileName()))
+                .start();
+
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = action.run();
+            if (Files.isRegularFile(file)) {
+                observation.highCardinalityKeyValue("file.size", String.valueOf(Files.size(file)));
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    @FunctionalInterface
+    public interface FileAction<T> {
+        T run() throws IOException;
+    }
+}
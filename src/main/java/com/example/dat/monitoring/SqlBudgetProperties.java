@@ -0,0 +1,32 @@
+package com.example.dat.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Per-request SQL statement budgets. Endpoints are keyed by "METHOD:pattern" using the
+ * controller mapping, e.g. app.sql-budget.endpoints[GET:/api/appointments]=25.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.sql-budget")
+@Data
+public class SqlBudgetProperties {
+
+    private boolean enabled = true;
+
+    // Adds X-SQL-Count / X-SQL-Time-Ms to every API response; meant for tests and local profiling
+    private boolean exposeHeaders = false;
+
+    private int defaultBudget = 30;
+
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String method, String pattern) {
+        return endpoints.getOrDefault(method + ":" + pattern, defaultBudget);
+    }
+}
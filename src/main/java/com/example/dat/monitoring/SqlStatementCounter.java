@@ -0,0 +1,83 @@
+package com.example.dat.monitoring;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread count of JDBC statements and their execution time.
+ * A scope is opened per HTTP request by SqlStatementFilter; statements executed
+ * outside a scope (schedulers, @Async listeners, startup) are not counted.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static Stats start() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static Stats current() {
+        return CURRENT.get();
+    }
+
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    // Runs the action in its own scope (restoring any enclosing one) and returns what it executed
+    public static <T> Counted<T> count(Supplier<T> action) {
+        Stats enclosing = CURRENT.get();
+        Stats stats = start();
+        try {
+            T result = action.get();
+            return new Counted<>(result, stats);
+        } finally {
+            if (enclosing != null) {
+                enclosing.add(stats.statements, stats.nanos);
+                CURRENT.set(enclosing);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    static void record(long elapsedNanos) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.add(1, elapsedNanos);
+        }
+    }
+
+
+    public static final class Stats {
+
+        private long statements;
+        private long nanos;
+
+        private void add(long statements, long nanos) {
+            this.statements += statements;
+            this.nanos += nanos;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getMillis() {
+            return nanos / 1_000_000;
+        }
+    }
+
+    public record Counted<T>(T result, Stats stats) {
+    }
+}
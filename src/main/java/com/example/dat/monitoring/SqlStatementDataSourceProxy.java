@@ -0,0 +1,63 @@
+package com.example.dat.monitoring;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Wraps the application DataSource so every JDBC execution (query, update or batch)
+ * is reported to SqlStatementCounter. Hibernate's StatementInspector only sees SQL text,
+ * so the proxy sits at the JDBC layer where execution time is also available.
+ * Ordered last, so it wraps whatever the replica routing and concurrency-limit wrappers
+ * made of the DataSource and counts statements on every pool behind it.
+ */
+@Component
+public class SqlStatementDataSourceProxy implements BeanPostProcessor, Ordered {
+
+    private static final String STARTED_AT = SqlStatementDataSourceProxy.class.getName() + ".startedAt";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new CountingListener())
+                    .build();
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private static final class CountingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (SqlStatementCounter.current() != null) {
+                execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+            if (startedAt != null) {
+                // One round trip per execution; a JDBC batch counts once
+                SqlStatementCounter.record(System.nanoTime() - startedAt);
+            }
+        }
+    }
+}
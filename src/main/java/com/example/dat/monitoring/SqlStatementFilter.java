@@ -0,0 +1,90 @@
+package com.example.dat.monitoring;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opens a SqlStatementCounter scope around every API request (ahead of the security chain,
+ * so the user lookup is included), records the totals per endpoint and warns when the
+ * endpoint's statement budget is exceeded - usually an N+1 over a lazy relation.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final SqlBudgetProperties budgetProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !budgetProperties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.Stats stats = SqlStatementCounter.stop();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Stats stats) {
+
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Unmapped requests (404, rejected by security) are grouped to keep the tag set bounded
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("JDBC statements executed per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing JDBC statements per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        int budget = budgetProperties.budgetFor(method, uri);
+        if (stats.getStatements() > budget) {
+            Counter.builder("http.server.requests.sql.budget.exceeded")
+                    .description("Requests that executed more statements than their endpoint budget")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("SQL budget exceeded for {} {}: {} statements (budget {}), {} ms",
+                    method, uri, stats.getStatements(), budget, stats.getMillis());
+        }
+    }
+}
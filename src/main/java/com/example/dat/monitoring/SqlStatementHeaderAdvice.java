@@ -0,0 +1,43 @@
+package com.example.dat.monitoring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes the request's statement count and DB time as response headers. Done here rather than
+ * in SqlStatementFilter because the headers must be set before the body commits the response.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final SqlBudgetProperties budgetProperties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return budgetProperties.isExposeHeaders();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+
+        SqlStatementCounter.Stats stats = SqlStatementCounter.current();
+        if (stats != null) {
+            response.getHeaders().set(COUNT_HEADER, String.valueOf(stats.getStatements()));
+            response.getHeaders().set(TIME_HEADER, String.valueOf(stats.getMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.dat.notification.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.dat.notification.dto.NotificationPageDTO;
+import com.example.dat.notification.service.NotificationInboxService;
+import com.example.dat.res.Response;
+
+import lombok.RequiredArgsConstructor;
+
+// Inbox of the authenticated user, whatever the role
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    private final NotificationInboxService notificationInboxService;
+
+    @GetMapping
+    public ResponseEntity<Response<NotificationPageDTO>> getMyNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(notificationInboxService.getMyNotifications(cursor, size));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Response<Long>> getUnreadCount() {
+        return ResponseEntity.ok(notificationInboxService.getUnreadCount());
+    }
+
+    @PutMapping("/read")
+    public ResponseEntity<Response<Integer>> markAsRead(@RequestBody List<Long> notificationIds) {
+        return ResponseEntity.ok(notificationInboxService.markAsRead(notificationIds));
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<Response<Integer>> markAllAsRead() {
+        return ResponseEntity.ok(notificationInboxService.markAllAsRead());
+    }
+}
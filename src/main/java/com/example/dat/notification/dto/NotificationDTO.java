@@ -35,6 +35,9 @@ public class NotificationDTO {
 
     private LocalDateTime createdAt;
 
+    // Inbox only: when the user marked it as read
+    private LocalDateTime readAt;
+
     private String templateName;
     private Map<String , Object> templateVariables;
 }
@@ -0,0 +1,23 @@
+package com.example.dat.notification.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One inbox page; nextCursor is absent on the last page
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NotificationPageDTO {
+
+    private List<NotificationDTO> notifications;
+
+    private String nextCursor;
+}
@@ -10,9 +10,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime; //extra
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // archival sweep, see db/migration/V8__archive_tables.sql
+        @Index(name = "idx_notifications_created_at", columnList = "created_at"),
+        // inbox pages and unread counts per user, see db/migration/V9__notification_inbox.sql
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,7 +27,9 @@ public class Notification {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notification_id")
+    @TableGenerator(name = "notification_id", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "notifications", allocationSize = 50)
     private Long id;
 
     private String subject;
@@ -32,9 +40,20 @@ public class Notification {
     @Enumerated(EnumType.STRING)
     private NotificationType type; // EMAIL, SMS, PUSH
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    private final LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime createdAt;
+
+    // Null until the user marks it as read in the inbox
+    private LocalDateTime readAt;
+
+    // Microseconds like the DATETIME(6) column, so inbox cursors built from this value match the row
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        }
+    }
 }
@@ -0,0 +1,8 @@
+package com.example.dat.notification.event;
+
+import com.example.dat.notification.dto.NotificationDTO;
+import com.example.dat.users.entity.User;
+
+// Published inside a transaction for an e-mail that may only go out once that transaction has committed
+public record EmailRequestedEvent(NotificationDTO notification, User user) {
+}
@@ -1,7 +1,68 @@
 package com.example.dat.notification.repo;
 
 import com.example.dat.notification.entity.Notification;
+import com.example.dat.scheduling.dto.SweepKey;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface NotificationRepo extends JpaRepository<Notification, Long> {
+
+    // Inbox, first page: newest first over idx_notifications_user_created
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.user.id = :userId " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInbox(@Param("userId") Long userId, Limit limit);
+
+    // Inbox, next pages: strictly after the (createdAt, id) of the last row returned.
+    // The createdAt <= bound lets the index range scan start at the cursor
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.user.id = :userId " +
+            "AND n.createdAt <= :createdAt " +
+            "AND (n.createdAt < :createdAt OR n.id < :id) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxAfter(@Param("userId") Long userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    // Only on a counter cache miss (UnreadNotificationCounter)
+    long countByUser_IdAndReadAtIsNull(Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readAt = :readAt " +
+            "WHERE n.user.id = :userId AND n.readAt IS NULL AND n.id IN :ids")
+    int markRead(@Param("userId") Long userId, @Param("ids") List<Long> ids, @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readAt = :readAt WHERE n.user.id = :userId AND n.readAt IS NULL")
+    int markAllRead(@Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
+
+    // Archival sweep: notifications created before the cutoff, in (createdAt, id) order, which
+    // idx_notifications_created_at returns without sorting
+    @Query("SELECT new com.example.dat.scheduling.dto.SweepKey(n.id, n.createdAt) FROM Notification n " +
+            "WHERE n.createdAt < :cutoff " +
+            "ORDER BY n.createdAt, n.id")
+    List<SweepKey> findArchivable(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Next batch: strictly after the (createdAt, id) of the last row returned
+    @Query("SELECT new com.example.dat.scheduling.dto.SweepKey(n.id, n.createdAt) FROM Notification n " +
+            "WHERE n.createdAt < :cutoff " +
+            "AND n.createdAt >= :createdAt AND (n.createdAt > :createdAt OR n.id > :id) " +
+            "ORDER BY n.createdAt, n.id")
+    List<SweepKey> findArchivableAfter(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
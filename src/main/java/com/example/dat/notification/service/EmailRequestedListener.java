@@ -0,0 +1,26 @@
+package com.example.dat.notification.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.dat.notification.event.EmailRequestedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands e-mails requested with an EmailRequestedEvent to the e-mail executor once the publishing
+ * transaction has committed: a booking that rolls back sends nothing, and no SMTP work is queued
+ * while the transaction still holds its connection and row locks.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailRequestedListener {
+
+    private final NotificationService notificationService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmailRequested(EmailRequestedEvent event) {
+        notificationService.sendEmail(event.notification(), event.user());
+    }
+}
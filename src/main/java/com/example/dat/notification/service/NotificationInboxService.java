@@ -0,0 +1,18 @@
+package com.example.dat.notification.service;
+
+import java.util.List;
+
+import com.example.dat.notification.dto.NotificationPageDTO;
+import com.example.dat.res.Response;
+
+public interface NotificationInboxService {
+
+    // Newest first; pass the previous page's nextCursor to continue
+    Response<NotificationPageDTO> getMyNotifications(String cursor, Integer size);
+
+    Response<Long> getUnreadCount();
+
+    Response<Integer> markAsRead(List<Long> notificationIds);
+
+    Response<Integer> markAllAsRead();
+}
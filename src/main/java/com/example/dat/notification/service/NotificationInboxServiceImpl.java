@@ -0,0 +1,172 @@
+package com.example.dat.notification.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.datasource.ReadYourWrites;
+import com.example.dat.exceptions.BadRequestException;
+import com.example.dat.notification.dto.NotificationDTO;
+import com.example.dat.notification.dto.NotificationPageDTO;
+import com.example.dat.notification.entity.Notification;
+import com.example.dat.notification.repo.NotificationRepo;
+import com.example.dat.res.Response;
+import com.example.dat.users.service.UserService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-app inbox over the notifications table. Pages are keyset-paginated on (createdAt, id), so a page
+ * costs the same at any depth and rows arriving meanwhile do not shift it. Notifications moved to the
+ * archive (ArchivalService) no longer appear here.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationInboxServiceImpl implements NotificationInboxService {
+
+    private final NotificationRepo notificationRepo;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final UserService userService;
+    private final ReadYourWrites readYourWrites;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.notifications.inbox.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.notifications.inbox.max-page-size:100}")
+    private int maxPageSize;
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response<NotificationPageDTO> getMyNotifications(String cursor, Integer size) {
+
+        Long userId = userService.getCurrentUserId();
+        int pageSize = size == null ? defaultPageSize : Math.clamp(size, 1, maxPageSize);
+
+        // One row more than the page tells whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+        List<Notification> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepo.findInbox(userId, limit);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            rows = notificationRepo.findInboxAfter(userId, after.createdAt(), after.id(), limit);
+        }
+
+        List<Notification> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String nextCursor = rows.size() > pageSize ? Cursor.of(page.get(pageSize - 1)).encode() : null;
+
+        return Response.<NotificationPageDTO>builder()
+                .statusCode(200)
+                .message("Notificaciones obtenidas correctamente.")
+                .data(NotificationPageDTO.builder()
+                        .notifications(page.stream().map(this::toDTO).toList())
+                        .nextCursor(nextCursor)
+                        .build())
+                .build();
+    }
+
+    // No transaction: polled by every open client, and a cached count runs no SQL at all
+    @Override
+    public Response<Long> getUnreadCount() {
+
+        Long userId = userService.getCurrentUserId();
+
+        return Response.<Long>builder()
+                .statusCode(200)
+                .message("Notificaciones sin leer obtenidas correctamente.")
+                .data(unreadNotificationCounter.unread(userId))
+                .build();
+    }
+
+    @Override
+    public Response<Integer> markAsRead(List<Long> notificationIds) {
+
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            throw new BadRequestException("Se requiere al menos una notificación.");
+        }
+        if (notificationIds.size() > maxPageSize) {
+            throw new BadRequestException("No se pueden marcar más de " + maxPageSize + " notificaciones a la vez.");
+        }
+
+        Long userId = userService.getCurrentUserId();
+
+        // Only the user's own unread notifications are updated; the counter moves once committed
+        Integer marked = transactionTemplate.execute(status ->
+                notificationRepo.markRead(userId, notificationIds, LocalDateTime.now()));
+
+        return markedResponse(userId, marked);
+    }
+
+    @Override
+    public Response<Integer> markAllAsRead() {
+
+        Long userId = userService.getCurrentUserId();
+
+        Integer marked = transactionTemplate.execute(status ->
+                notificationRepo.markAllRead(userId, LocalDateTime.now()));
+
+        return markedResponse(userId, marked);
+    }
+
+    private Response<Integer> markedResponse(Long userId, Integer marked) {
+
+        int count = marked != null ? marked : 0;
+        unreadNotificationCounter.read(userId, count);
+        if (count > 0) {
+            // The inbox reloaded right after must not come from a replica that still shows them unread
+            readYourWrites.recordWrite();
+        }
+
+        return Response.<Integer>builder()
+                .statusCode(200)
+                .message("Notificaciones marcadas como leídas.")
+                .data(count)
+                .build();
+    }
+
+    private NotificationDTO toDTO(Notification notification) {
+        return NotificationDTO.builder()
+                .id(notification.getId())
+                .subject(notification.getSubject())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .createdAt(notification.getCreatedAt())
+                .readAt(notification.getReadAt())
+                .build();
+    }
+
+    // Position after a row, handed to clients as an opaque URL-safe token
+    private record Cursor(LocalDateTime createdAt, Long id) {
+
+        static Cursor of(Notification notification) {
+            return new Cursor(notification.getCreatedAt(), notification.getId());
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = value.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(value.substring(0, separator)),
+                        Long.valueOf(value.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Cursor de paginación inválido.");
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.dat.notification.service;
 
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -10,12 +11,18 @@ import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import com.example.dat.concurrency.ConcurrencyLimiter;
+import com.example.dat.config.AsyncConfig;
 import com.example.dat.enums.NotificationType;
 import com.example.dat.notification.dto.NotificationDTO;
 import com.example.dat.notification.entity.Notification;
 import com.example.dat.notification.repo.NotificationRepo;
 import com.example.dat.users.entity.User;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,15 +35,22 @@ public class NotificationServiceImpl implements NotificationService{
     private final NotificationRepo notificationRepo;
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final ConcurrencyLimiter smtpConcurrencyLimiter;
+    private final UnreadNotificationCounter unreadNotificationCounter;
 
     @Value("${spring.mail.username}")
     private String mailFrom;
 
 
     @Override
-    @Async
+    @Async(AsyncConfig.EMAIL)
     public void sendEmail(NotificationDTO notificationDTO, User user) {
 
+        long started = System.nanoTime();
+        String template = notificationDTO.getTemplateName() != null ? notificationDTO.getTemplateName() : "plain";
+
         try {
             MimeMessage mimeMessage = mailSender.createMimeMessage();
 
@@ -58,7 +72,7 @@ public class NotificationServiceImpl implements NotificationService{
 
                 Context context = new Context();
                 context.setVariables(notificationDTO.getTemplateVariables());
-                String htmlContent = templateEngine.process(notificationDTO.getTemplateName(), context);
+                String htmlContent = render(notificationDTO.getTemplateName(), context);
 
                 helper.setText(htmlContent, true);
 
@@ -67,7 +81,7 @@ public class NotificationServiceImpl implements NotificationService{
             }
 
 
-            mailSender.send(mimeMessage);
+            deliver(mimeMessage, template);
             log.info("Email sent out to {}", notificationDTO.getRecipient());
 
 
@@ -81,17 +95,25 @@ public class NotificationServiceImpl implements NotificationService{
                     .build();
 
             notificationRepo.save(notificationToSave);
+            if (user != null && user.getId() != null) {
+                unreadNotificationCounter.added(user.getId());
+            }
+
+            recordEmail(template, "sent", started);
 
         }catch (Exception e){
+            recordEmail(template, "failed", started);
             log.error("Failed to send email", e);
         }
 
     }
 
     @Override
-    @Async
+    @Async(AsyncConfig.EMAIL)
     public void sendExpedienteNotification(String userEmail, String userName, String expedienteNumber, String patientName) {
-        
+
+        long started = System.nanoTime();
+
         try {
             MimeMessage mimeMessage = mailSender.createMimeMessage();
             
@@ -113,14 +135,41 @@ public class NotificationServiceImpl implements NotificationService{
             context.setVariable("expedienteNumber", expedienteNumber);
             context.setVariable("patientName", patientName);
             
-            String htmlContent = templateEngine.process("expediente-notification", context);
+            String htmlContent = render("expediente-notification", context);
             helper.setText(htmlContent, true);
             
-            mailSender.send(mimeMessage);
+            deliver(mimeMessage, "expediente-notification");
             log.info("Expediente notification email sent to {}: Expediente #{}", userEmail, expedienteNumber);
-            
+
+            recordEmail("expediente-notification", "sent", started);
+
         } catch (Exception e) {
+            recordEmail("expediente-notification", "failed", started);
             log.error("Failed to send expediente notification email to {}", userEmail, e);
         }
     }
+
+    // Spans for the two slow steps of a send; they join the caller's trace through the @Async task decorator
+    private String render(String template, Context context) {
+        return Observation.createNotStarted("notifications.email.render", observationRegistry)
+                .lowCardinalityKeyValue("template", template)
+                .observe(() -> templateEngine.process(template, context));
+    }
+
+    // At most app.mail.max-concurrent-sends SMTP sessions, however many (virtual) threads are sending
+    private void deliver(MimeMessage mimeMessage, String template) {
+        smtpConcurrencyLimiter.run(() -> Observation.createNotStarted("notifications.email.smtp", observationRegistry)
+                .lowCardinalityKeyValue("template", template)
+                .observe(() -> mailSender.send(mimeMessage)));
+    }
+
+    // notifications.email.send{template, outcome}: count and duration of each send attempt
+    private void recordEmail(String template, String outcome, long startedNanos) {
+        Timer.builder("notifications.email.send")
+                .description("E-mail send attempts by template and outcome")
+                .tag("template", template)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
 }
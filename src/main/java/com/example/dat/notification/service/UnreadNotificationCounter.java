@@ -0,0 +1,84 @@
+package com.example.dat.notification.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.dat.notification.repo.NotificationRepo;
+
+/**
+ * Unread-notification count per user, so the inbox badge does not run a COUNT on every poll.
+ * A count is loaded once, then kept current by the writes made on this node (new notification,
+ * mark as read). Writes on other nodes and archived rows are picked up when the entry expires.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private final NotificationRepo notificationRepo;
+    private final Map<Long, Count> counts = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public UnreadNotificationCounter(NotificationRepo notificationRepo,
+                                     @Value("${app.notifications.unread-cache-ttl-ms:60000}") long ttlMs,
+                                     @Value("${app.notifications.unread-cache-max-entries:50000}") int maxEntries) {
+        this(notificationRepo, Duration.ofMillis(ttlMs), maxEntries, System::nanoTime);
+    }
+
+    // Package-visible so expiry can be tested without sleeping
+    UnreadNotificationCounter(NotificationRepo notificationRepo, Duration ttl, int maxEntries, LongSupplier nanoClock) {
+        this.notificationRepo = notificationRepo;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    private record Count(AtomicLong unread, long expiresAtNanos) {
+    }
+
+    public long unread(Long userId) {
+
+        Count cached = counts.get(userId);
+        if (cached != null && cached.expiresAtNanos() - nanoClock.getAsLong() > 0) {
+            return cached.unread().get();
+        }
+
+        long unread = notificationRepo.countByUser_IdAndReadAtIsNull(userId);
+        // When full, counts are served straight from the index until expired entries are evicted
+        if (counts.size() < maxEntries || cached != null) {
+            counts.put(userId, new Count(new AtomicLong(unread), nanoClock.getAsLong() + ttlNanos));
+        }
+        return unread;
+    }
+
+    // After a notification for the user has been saved
+    public void added(Long userId) {
+        Count cached = counts.get(userId);
+        if (cached != null) {
+            cached.unread().incrementAndGet();
+        }
+    }
+
+    // After the user marked this many notifications as read
+    public void read(Long userId, int marked) {
+        Count cached = counts.get(userId);
+        if (cached != null && marked > 0) {
+            cached.unread().updateAndGet(unread -> Math.max(0, unread - marked));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.unread-cache-sweep-ms:60000}")
+    public void evictExpired() {
+        long now = nanoClock.getAsLong();
+        counts.values().removeIf(count -> count.expiresAtNanos() - now <= 0);
+    }
+}
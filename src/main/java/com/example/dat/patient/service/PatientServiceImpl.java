@@ -38,6 +38,7 @@ public class PatientServiceImpl implements PatientService{
 
 
     @Override
+    @Transactional(readOnly = true)
     public Response<PatientDTO> getPatientProfile() {
 
         User user = userService.getCurrentUser();
@@ -53,6 +54,7 @@ public class PatientServiceImpl implements PatientService{
     }
 
     @Override
+    @Transactional
     public Response<?> updatePatientProfile(PatientDTO patientDTO) {
 
 
@@ -101,6 +103,7 @@ public class PatientServiceImpl implements PatientService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<PatientDTO> getPatientById(Long patientId) {
 
         Patient patient = patientRepo.findById(patientId)
@@ -185,6 +188,7 @@ public class PatientServiceImpl implements PatientService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<List<PatientDTO>> getMyPatients() {
 
         User currentUser = userService.getCurrentUser();
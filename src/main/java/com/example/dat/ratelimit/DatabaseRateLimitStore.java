@@ -0,0 +1,57 @@
+package com.example.dat.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dat.ratelimit.entity.RateLimitBucket;
+import com.example.dat.ratelimit.repo.RateLimitBucketRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buckets shared by every node through the rate_limit_buckets table, for deployments behind a load
+ * balancer where a per-node limit would multiply by the node count. Each attempt costs a locked
+ * read and an update, which is acceptable for login and password reset traffic.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseRateLimitStore implements RateLimitStore {
+
+    private final RateLimitBucketRepo rateLimitBucketRepo;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long tryConsume(String key, RateLimitProperties.Bandwidth bandwidth) {
+
+        long nowMs = System.currentTimeMillis();
+
+        RateLimitBucket bucket = rateLimitBucketRepo.findForUpdate(key).orElse(null);
+        if (bucket == null) {
+            rateLimitBucketRepo.insertIfAbsent(key, bandwidth.getCapacity(), nowMs);
+            bucket = rateLimitBucketRepo.findForUpdate(key).orElseThrow();
+        }
+
+        TokenBucket.Result result = TokenBucket.consume(bucket.getTokens(),
+                TimeUnit.MILLISECONDS.toNanos(bucket.getRefilledAt()),
+                TimeUnit.MILLISECONDS.toNanos(nowMs), bandwidth);
+
+        bucket.setTokens(result.tokens());
+        bucket.setRefilledAt(nowMs);
+        bucket.setFullAt(TimeUnit.NANOSECONDS.toMillis(result.fullAtNanos()));
+        rateLimitBucketRepo.save(bucket);
+
+        return result.allowed() ? 0 : result.retryAfterNanos();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void evictIdle() {
+        int deleted = rateLimitBucketRepo.deleteIdle(System.currentTimeMillis());
+        if (deleted > 0) {
+            log.debug("Evicted {} idle rate-limit buckets", deleted);
+        }
+    }
+}
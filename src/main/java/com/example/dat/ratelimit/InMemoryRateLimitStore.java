@@ -0,0 +1,58 @@
+package com.example.dat.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Buckets held in this node. ConcurrentHashMap stripes the keys and each bucket is an immutable
+ * state swapped with compare-and-set, so concurrent attempts on one account never block each other
+ * and never both take the last token.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private record BucketState(double tokens, long refilledAt, long fullAt) {
+    }
+
+    private final ConcurrentHashMap<String, AtomicReference<BucketState>> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public InMemoryRateLimitStore() {
+        this(System::nanoTime);
+    }
+
+    // Package-visible so refill can be tested without sleeping
+    InMemoryRateLimitStore(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public long tryConsume(String key, RateLimitProperties.Bandwidth bandwidth) {
+
+        AtomicReference<BucketState> bucket = buckets.computeIfAbsent(key, k -> {
+            long now = nanoClock.getAsLong();
+            return new AtomicReference<>(new BucketState(bandwidth.getCapacity(), now, now));
+        });
+
+        while (true) {
+            BucketState current = bucket.get();
+            long now = nanoClock.getAsLong();
+            TokenBucket.Result result = TokenBucket.consume(current.tokens(), current.refilledAt(), now, bandwidth);
+            BucketState next = new BucketState(result.tokens(), now, result.fullAtNanos());
+            if (bucket.compareAndSet(current, next)) {
+                return result.allowed() ? 0 : result.retryAfterNanos();
+            }
+        }
+    }
+
+    // A consume racing with the removal lands on the dropped bucket; at worst one attempt goes uncounted
+    @Override
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get().fullAt() - now <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.dat.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.dat.ratelimit.repo.RateLimitBucketRepo;
+
+/**
+ * Bucket storage: app.rate-limit.store=memory (default, single node) or database (shared by all nodes).
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+    public RateLimitStore inMemoryRateLimitStore() {
+        return new InMemoryRateLimitStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "database")
+    public RateLimitStore databaseRateLimitStore(RateLimitBucketRepo rateLimitBucketRepo) {
+        return new DatabaseRateLimitStore(rateLimitBucketRepo);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.dat.ratelimit;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.dat.exceptions.TooManyRequestsException;
+import com.example.dat.res.Response;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Per-IP buckets for the rate-limited /api/auth endpoints, checked before the request body is read
+ * or the security chain runs. Behind a proxy, set server.forward-headers-strategy so the remote
+ * address is the client's and not the proxy's.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Optional<String> endpoint = rateLimiter.endpointFor(request.getRequestURI());
+        if (endpoint.isPresent()) {
+            try {
+                rateLimiter.checkIp(endpoint.get(), request.getRemoteAddr());
+            } catch (TooManyRequestsException e) {
+                reject(response, e);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Same body as GlobalExceptionHandler writes for the per-account limit
+    private void reject(HttpServletResponse response, TooManyRequestsException e) throws IOException {
+
+        Response<?> errorResponse = Response.builder()
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message(e.getMessage())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.dat.ratelimit;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Token-bucket limits for the public auth endpoints (app.rate-limit.*). Each endpoint is keyed by a
+ * logical name (RateLimiter.LOGIN etc.) and has an optional per-IP and per-account bucket, e.g.
+ * app.rate-limit.endpoints.login.account.capacity=10 with ...account.refill-period=15m.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // memory: buckets live in this node; database: shared by every node through rate_limit_buckets
+    private Store store = Store.MEMORY;
+
+    // How often buckets that have refilled completely are dropped
+    private long evictionIntervalMs = 60000;
+
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Endpoint {
+        // Request path the per-IP bucket applies to (POST only)
+        private String path;
+        private Bandwidth ip;
+        private Bandwidth account;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bandwidth {
+        // Burst size; the bucket refills from empty to capacity, evenly, over refillPeriod
+        private int capacity;
+        private Duration refillPeriod;
+    }
+
+    public enum Store {
+        MEMORY,
+        DATABASE
+    }
+}
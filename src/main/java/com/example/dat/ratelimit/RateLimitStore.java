@@ -0,0 +1,14 @@
+package com.example.dat.ratelimit;
+
+/**
+ * Where bucket state lives: in this node (InMemoryRateLimitStore) or in the database shared by
+ * every node (DatabaseRateLimitStore), selected by app.rate-limit.store.
+ */
+public interface RateLimitStore {
+
+    // Takes one token from the bucket; returns 0 when allowed, otherwise the nanoseconds until a token is available
+    long tryConsume(String key, RateLimitProperties.Bandwidth bandwidth);
+
+    // Drops buckets that have refilled completely, they are equivalent to a new bucket
+    void evictIdle();
+}
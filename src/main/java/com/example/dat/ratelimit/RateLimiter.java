@@ -0,0 +1,89 @@
+package com.example.dat.ratelimit;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.dat.exceptions.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Brute-force protection for login and password reset: every attempt takes a token from the
+ * caller's IP bucket (RateLimitFilter) and from the target account's bucket (AuthServiceImpl).
+ * An empty bucket rejects the attempt with a TooManyRequestsException (429 + Retry-After).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimiter {
+
+    public static final String LOGIN = "login";
+    public static final String FORGOT_PASSWORD = "forgot-password";
+    public static final String RESET_PASSWORD = "reset-password";
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore rateLimitStore;
+    private final MeterRegistry meterRegistry;
+
+
+    public void checkIp(String endpoint, String ip) {
+        RateLimitProperties.Endpoint config = properties.getEndpoints().get(endpoint);
+        if (config != null) {
+            check(endpoint, "ip", ip, config.getIp());
+        }
+    }
+
+    // Accounts are keyed by normalised e-mail, so the limit holds whether or not the account exists
+    public void checkAccount(String endpoint, String email) {
+        RateLimitProperties.Endpoint config = properties.getEndpoints().get(endpoint);
+        if (config != null && email != null) {
+            check(endpoint, "account", email.trim().toLowerCase(Locale.ROOT), config.getAccount());
+        }
+    }
+
+    public Optional<String> endpointFor(String path) {
+        return properties.getEndpoints().entrySet().stream()
+                .filter(entry -> path.equals(entry.getValue().getPath()))
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        if (properties.isEnabled()) {
+            rateLimitStore.evictIdle();
+        }
+    }
+
+    private void check(String endpoint, String scope, String subject, RateLimitProperties.Bandwidth bandwidth) {
+
+        if (!properties.isEnabled() || bandwidth == null) {
+            return;
+        }
+
+        long waitNanos = rateLimitStore.tryConsume(endpoint + ":" + scope + ":" + subject, bandwidth);
+        if (waitNanos == 0) {
+            return;
+        }
+
+        Counter.builder("auth.rate.limit.rejected")
+                .description("Attempts rejected because the IP or account bucket was empty")
+                .tag("endpoint", endpoint)
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .increment();
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.warn("Rate limit hit on {} for {} {}, retry in {}s", endpoint, scope, subject, retryAfterSeconds);
+        throw new TooManyRequestsException(
+                "Demasiados intentos. Inténtalo nuevamente en " + retryAfterSeconds + " segundos.", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.dat.ratelimit;
+
+/**
+ * Token-bucket arithmetic shared by the stores. Times are in nanoseconds on whatever clock the store
+ * uses; the state itself (tokens, last refill) is kept by the store.
+ */
+final class TokenBucket {
+
+    private TokenBucket() {
+    }
+
+    record Result(boolean allowed, double tokens, long retryAfterNanos, long fullAtNanos) {
+    }
+
+    // A bucket seen for the first time starts full
+    static Result consume(double tokens, long refilledAtNanos, long nowNanos, RateLimitProperties.Bandwidth bandwidth) {
+
+        double capacity = bandwidth.getCapacity();
+        double nanosPerToken = (double) bandwidth.getRefillPeriod().toNanos() / capacity;
+
+        long elapsed = Math.max(0, nowNanos - refilledAtNanos);
+        double available = Math.min(capacity, tokens + elapsed / nanosPerToken);
+
+        if (available >= 1) {
+            double left = available - 1;
+            return new Result(true, left, 0, nowNanos + (long) ((capacity - left) * nanosPerToken));
+        }
+        long retryAfter = (long) Math.ceil((1 - available) * nanosPerToken);
+        return new Result(false, available, retryAfter, nowNanos + (long) ((capacity - available) * nanosPerToken));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.dat.ratelimit.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "rate_limit_buckets")
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", length = 191)
+    private String key; // endpoint:scope:ip-or-account
+
+    @Column(nullable = false)
+    private double tokens;
+
+    @Column(nullable = false)
+    private long refilledAt; // epoch millis of the last refill
+
+    @Column(nullable = false)
+    private long fullAt; // epoch millis when the bucket is full again; idle rows past it are deleted
+}
@@ -0,0 +1,33 @@
+package com.example.dat.ratelimit.repo;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.dat.ratelimit.entity.RateLimitBucket;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface RateLimitBucketRepo extends JpaRepository<RateLimitBucket, String> {
+
+    // Row lock held until the surrounding transaction commits, so nodes take tokens one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM RateLimitBucket b WHERE b.key = :key")
+    Optional<RateLimitBucket> findForUpdate(@Param("key") String key);
+
+    // New bucket starts full; a concurrent insert from another node is silently ignored
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO rate_limit_buckets (bucket_key, tokens, refilled_at, full_at) " +
+            "VALUES (:key, :tokens, :now, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key, @Param("tokens") double tokens, @Param("now") long now);
+
+    @Modifying
+    @Query("DELETE FROM RateLimitBucket b WHERE b.fullAt < :now")
+    int deleteIdle(@Param("now") long now);
+}
@@ -1,11 +1,16 @@
 package com.example.dat.role.repo;
 
 import com.example.dat.role.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface RoleRepo extends JpaRepository<Role, Long> {
 
+    // Looked up on every registration; results come from the query cache until roles change
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
 }
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.dat.exceptions.NotFoundException;
 import com.example.dat.res.Response;
@@ -20,6 +21,7 @@ public class RoleServiceImpl implements RoleService {
 
 
     @Override
+    @Transactional
     public Response<Role> createRole(Role roleRequest) {
 
         Role savedRole = roleRepo.save(roleRequest);
@@ -32,6 +34,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional
     public Response<Role> updateRole(Role roleRequest) {
 
         Role role = roleRepo.findById(roleRequest.getId())
@@ -48,6 +51,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<List<Role>> getAllRoles() {
 
         List<Role> roles = roleRepo.findAll();
@@ -60,6 +64,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional
     public Response<?> deleteRole(Long id) {
         if (!roleRepo.existsById(id)) {
             throw new NotFoundException("Rol no encontrado");
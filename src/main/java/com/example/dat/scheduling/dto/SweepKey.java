@@ -0,0 +1,7 @@
+package com.example.dat.scheduling.dto;
+
+import java.time.LocalDateTime;
+
+// Keyset cursor of a batched sweep: rows are walked in (time, id) order, the order of the index the sweep scans
+public record SweepKey(Long id, LocalDateTime time) {
+}
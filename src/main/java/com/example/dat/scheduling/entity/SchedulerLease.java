@@ -0,0 +1,31 @@
+package com.example.dat.scheduling.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 100)
+    private String name; // one row per scheduled job
+
+    @Column(nullable = false, length = 100)
+    private String owner; // node currently holding the lease
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+}
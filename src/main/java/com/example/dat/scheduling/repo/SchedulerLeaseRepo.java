@@ -0,0 +1,36 @@
+package com.example.dat.scheduling.repo;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.dat.scheduling.entity.SchedulerLease;
+
+@Repository
+public interface SchedulerLeaseRepo extends JpaRepository<SchedulerLease, String> {
+
+    // Take over an expired lease or extend our own one
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.lockedUntil = :until " +
+            "WHERE l.name = :name AND (l.lockedUntil < :now OR l.owner = :owner)")
+    int acquireOrExtend(@Param("name") String name,
+                        @Param("owner") String owner,
+                        @Param("now") LocalDateTime now,
+                        @Param("until") LocalDateTime until);
+
+    // First acquisition of a lease; a concurrent insert from another node is silently ignored
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduler_leases (name, owner, locked_until) VALUES (:name, :owner, :until)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name,
+                       @Param("owner") String owner,
+                       @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.lockedUntil = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
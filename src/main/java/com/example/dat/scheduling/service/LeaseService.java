@@ -0,0 +1,69 @@
+package com.example.dat.scheduling.service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dat.scheduling.repo.SchedulerLeaseRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Database-backed leases so a scheduled job runs on a single node at a time.
+ * A lease is held until it expires or is released; the holder extends it while it keeps working.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaseService {
+
+    private final SchedulerLeaseRepo schedulerLeaseRepo;
+
+    private final String nodeId = resolveNodeId();
+
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String leaseName, Duration duration) {
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(duration);
+
+        if (schedulerLeaseRepo.acquireOrExtend(leaseName, nodeId, now, until) == 1) {
+            return true;
+        }
+
+        boolean acquired = schedulerLeaseRepo.insertIfAbsent(leaseName, nodeId, until) == 1;
+        if (!acquired) {
+            log.debug("Lease {} is held by another node", leaseName);
+        }
+        return acquired;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String leaseName) {
+        schedulerLeaseRepo.release(leaseName, nodeId, LocalDateTime.now());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        if (host.length() > 80) {
+            host = host.substring(0, 80);
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -2,6 +2,8 @@ package com.example.dat.security;
 
 
 import com.example.dat.exceptions.CustomAuthenticationEntryPoint;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +11,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,6 +24,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Bearer-token authentication. With jwt.stateless-auth (default) the Authentication is built from the
+ * token's claims alone, so a request never queries the database to authenticate; role or account
+ * changes reach the token at the next refresh, and password changes through TokenRevocationList.
+ * With it off, or for a token without a uid claim, the user is loaded as before.
+ */
 @Component
 @Slf4j
 @RequiredArgsConstructor
@@ -29,6 +39,11 @@ public class AuthFilter  extends OncePerRequestFilter {
     private final JwtService tokenService;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationList tokenRevocationList;
+    private final ObservationRegistry observationRegistry;
+
+    @Value("${jwt.stateless-auth:true}")
+    private boolean statelessAuth;
 
 
     @Override
@@ -40,39 +55,78 @@ public class AuthFilter  extends OncePerRequestFilter {
 
         String token = getTokenFromRequest(request);
 
-        if(token != null){
-            String email;
+        if(token != null && !authenticate(token, request, response)){
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } catch (Exception e) {
+            log.error(e.getMessage());
+        }
+
+
+
+    }
+
+    // JWT parsing (and, if not stateless, user lookup) in their own span; false when the entry point already answered 401
+    private boolean authenticate(String token, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, ServletException {
+
+        Observation observation = Observation.createNotStarted("auth.jwt", observationRegistry).start();
+        try (Observation.Scope scope = observation.openScope()) {
+            JwtService.AccessToken accessToken;
             try {
-                email = tokenService.getUsernameFromToken(token);
+                accessToken = tokenService.parseToken(token);
             }catch (Exception e){
                 log.error("Exception occured while extracting username from token");
                 AuthenticationException authenticationException = new BadCredentialsException(e.getMessage());
+                observation.error(e);
                 customAuthenticationEntryPoint.commence(request, response, authenticationException);
-                return;
+                return false;
             }
 
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
-
-            if (StringUtils.hasText(email) && tokenService.isTokenValid(token, userDetails)) {
+            if (tokenRevocationList.isRevoked(accessToken)) {
+                customAuthenticationEntryPoint.commence(request, response,
+                        new BadCredentialsException("Sesión revocada. Inicia sesión nuevamente"));
+                return false;
+            }
 
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
+            UsernamePasswordAuthenticationToken authenticationToken = statelessAuth && accessToken.userId() != null
+                    ? fromClaims(accessToken)
+                    : fromUserDetails(accessToken);
 
+            if (authenticationToken != null) {
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
             }
+            return true;
+        } catch (IOException | ServletException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
         }
+    }
 
-        try {
-            filterChain.doFilter(request, response);
-        } catch (Exception e) {
-            log.error(e.getMessage());
-        }
-
-
+    private UsernamePasswordAuthenticationToken fromClaims(JwtService.AccessToken accessToken) {
+        TokenPrincipal principal = new TokenPrincipal(accessToken.userId(), accessToken.email(), accessToken.roles());
+        return UsernamePasswordAuthenticationToken.authenticated(
+                principal,
+                null,
+                accessToken.roles().stream().map(SimpleGrantedAuthority::new).toList());
+    }
 
+    private UsernamePasswordAuthenticationToken fromUserDetails(JwtService.AccessToken accessToken) {
+        String email = accessToken.email();
+        if (!StringUtils.hasText(email)) {
+            return null;
+        }
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+        return UsernamePasswordAuthenticationToken.authenticated(
+                userDetails,
+                null,
+                userDetails.getAuthorities());
     }
 
     private String getTokenFromRequest(HttpServletRequest request) {
@@ -0,0 +1,43 @@
+package com.example.dat.security;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the BCrypt cost for this machine: the highest cost whose hash still takes no longer than
+ * the target, within [minStrength, maxStrength]. Each step of the cost doubles the work, so one
+ * measurement at the minimum is enough.
+ */
+@Slf4j
+final class BcryptCalibration {
+
+    private static final int SAMPLES = 3;
+
+    private BcryptCalibration() {
+    }
+
+    static int calibrate(Duration target, int minStrength, int maxStrength) {
+
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long estimate = best;
+        while (strength < maxStrength && estimate * 2 <= target.toNanos()) {
+            strength++;
+            estimate *= 2;
+        }
+
+        log.info("BCrypt cost {} (~{} ms per hash, target {} ms, cost {} took {} ms)", strength,
+                Duration.ofNanos(estimate).toMillis(), target.toMillis(), minStrength, Duration.ofNanos(best).toMillis());
+        return strength;
+    }
+}
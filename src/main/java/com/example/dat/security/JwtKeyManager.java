@@ -0,0 +1,237 @@
+package com.example.dat.security;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.dat.scheduling.service.LeaseService;
+import com.example.dat.security.entity.JwtSigningKey;
+import com.example.dat.security.repo.JwtSigningKeyRepo;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asymmetric JWT keys. Each node generates its own key pair at startup and on every rotation, keeps
+ * the private key in memory only and publishes the public key in jwt_signing_keys under a fresh kid.
+ * Verification keys of all nodes are cached here by kid and reloaded periodically, or at once when a
+ * token arrives with a kid not seen yet; that on-demand reload only reads, expired keys are deleted by
+ * the periodic refresh. A public key stays published until the last token it can have signed has
+ * expired, so rotation and restarts never invalidate sessions.
+ */
+@Component
+@Slf4j
+public class JwtKeyManager {
+
+    public static final String RS256 = "RS256";
+    public static final String EDDSA = "EdDSA";
+
+    // Throttles reloads triggered by unknown kids (forged or from a node that just started)
+    private static final long MIN_RELOAD_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    record SigningKey(String kid, String algorithm, PrivateKey privateKey, PublicKey publicKey) {
+    }
+
+    private record VerificationKey(String algorithm, PublicKey publicKey) {
+    }
+
+    private final JwtSigningKeyRepo jwtSigningKeyRepo;
+    private final LeaseService leaseService;
+    private final String algorithm;
+    private final long rotationIntervalMs;
+    private final long accessTokenTtlMs;
+
+    private volatile SigningKey current;
+    private volatile Map<String, VerificationKey> verificationKeys = Map.of();
+    private volatile Map<String, Object> jwks = Map.of("keys", List.of());
+    private final AtomicLong lastReloadNanos = new AtomicLong(System.nanoTime() - MIN_RELOAD_INTERVAL_NANOS);
+
+    public JwtKeyManager(JwtSigningKeyRepo jwtSigningKeyRepo,
+                         LeaseService leaseService,
+                         @Value("${jwt.signing.algorithm:RS256}") String algorithm,
+                         @Value("${jwt.signing.rotation-interval-ms:86400000}") long rotationIntervalMs,
+                         @Value("${jwt.expiration.time}") long accessTokenTtlMs) {
+        this.jwtSigningKeyRepo = jwtSigningKeyRepo;
+        this.leaseService = leaseService;
+        this.algorithm = algorithm;
+        this.rotationIntervalMs = rotationIntervalMs;
+        this.accessTokenTtlMs = accessTokenTtlMs;
+    }
+
+    @PostConstruct
+    private void init() {
+        reload();
+        rotate();
+    }
+
+
+    @Scheduled(fixedRateString = "${jwt.signing.rotation-interval-ms:86400000}",
+            initialDelayString = "${jwt.signing.rotation-interval-ms:86400000}")
+    public void rotate() {
+
+        SigningKey key = generate(algorithm);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Signs for one rotation interval, then verifies for one more access-token lifetime
+        jwtSigningKeyRepo.save(JwtSigningKey.builder()
+                .kid(key.kid())
+                .algorithm(key.algorithm())
+                .publicKey(Base64.getEncoder().encodeToString(key.publicKey().getEncoded()))
+                .node(leaseService.getNodeId())
+                .createdAt(now)
+                .expiresAt(now.plus(Duration.ofMillis(rotationIntervalMs + accessTokenTtlMs)).plusMinutes(5))
+                .build());
+
+        activate(key);
+        log.info("JWT signing key rotated, kid {} ({})", key.kid(), key.algorithm());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.key-refresh-interval-ms:60000}")
+    public void refresh() {
+        jwtSigningKeyRepo.deleteExpired(LocalDateTime.now());
+        reload();
+    }
+
+    // Read-only: safe on a request thread, and the query runs outside the lock
+    void reload() {
+
+        lastReloadNanos.set(System.nanoTime());
+        Map<String, VerificationKey> keys = new HashMap<>();
+        for (JwtSigningKey row : jwtSigningKeyRepo.findByExpiresAtAfter(LocalDateTime.now())) {
+            try {
+                keys.put(row.getKid(), new VerificationKey(row.getAlgorithm(),
+                        decodePublicKey(row.getAlgorithm(), row.getPublicKey())));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping unreadable JWT signing key {}: {}", row.getKid(), e.getMessage());
+            }
+        }
+        publishLoaded(keys);
+    }
+
+    SigningKey currentKey() {
+        return current;
+    }
+
+    // Null when the kid is unknown even after a reload; the token is then rejected
+    Key verificationKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        VerificationKey key = verificationKeys.get(kid);
+        if (key == null && claimReload()) {
+            reload();
+            key = verificationKeys.get(kid);
+        }
+        return key == null ? null : key.publicKey();
+    }
+
+    public Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    // One request thread per interval reloads; the others reject their token without waiting for it
+    private boolean claimReload() {
+        long last = lastReloadNanos.get();
+        long now = System.nanoTime();
+        return now - last > MIN_RELOAD_INTERVAL_NANOS && lastReloadNanos.compareAndSet(last, now);
+    }
+
+    // The own key is added under the lock, so a reload never drops a key activated meanwhile
+    private synchronized void publishLoaded(Map<String, VerificationKey> keys) {
+        SigningKey own = current;
+        if (own != null) {
+            keys.put(own.kid(), new VerificationKey(own.algorithm(), own.publicKey()));
+        }
+        publish(keys);
+    }
+
+    synchronized void activate(SigningKey key) {
+        Map<String, VerificationKey> keys = new HashMap<>(verificationKeys);
+        keys.put(key.kid(), new VerificationKey(key.algorithm(), key.publicKey()));
+        current = key;
+        publish(keys);
+    }
+
+    static SigningKey generate(String algorithm) {
+        try {
+            KeyPairGenerator generator;
+            if (RS256.equals(algorithm)) {
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+            } else if (EDDSA.equals(algorithm)) {
+                generator = KeyPairGenerator.getInstance("Ed25519");
+            } else {
+                throw new IllegalArgumentException("Unsupported jwt.signing.algorithm " + algorithm);
+            }
+            KeyPair pair = generator.generateKeyPair();
+            return new SigningKey(UUID.randomUUID().toString(), algorithm, pair.getPrivate(), pair.getPublic());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate a " + algorithm + " key pair", e);
+        }
+    }
+
+    private void publish(Map<String, VerificationKey> keys) {
+        List<Map<String, Object>> published = new ArrayList<>();
+        keys.forEach((kid, key) -> published.add(toJwk(kid, key.algorithm(), key.publicKey())));
+        verificationKeys = Map.copyOf(keys);
+        jwks = Map.of("keys", List.copyOf(published));
+    }
+
+    private static PublicKey decodePublicKey(String algorithm, String encoded) throws GeneralSecurityException {
+        String keyAlgorithm = RS256.equals(algorithm) ? "RSA" : "Ed25519";
+        return KeyFactory.getInstance(keyAlgorithm)
+                .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+    }
+
+    // RFC 7517 (RSA) and RFC 8037 (OKP / Ed25519) public JWKs
+    private static Map<String, Object> toJwk(String kid, String algorithm, PublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm);
+        if (key instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus()));
+            jwk.put("e", base64Url(rsa.getPublicExponent()));
+        } else {
+            // The raw 32-byte key is the tail of the X.509 encoding
+            byte[] encoded = key.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length)));
+        }
+        return jwk;
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
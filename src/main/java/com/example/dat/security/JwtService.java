@@ -1,64 +1,99 @@
 package com.example.dat.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
+import com.example.dat.role.entity.Role;
+import com.example.dat.users.entity.User;
+
+import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.List;
+import java.util.UUID;
 
+/**
+ * Short-lived access tokens. Besides the e-mail (subject) they carry the user id (uid), the role
+ * names (roles) and a token id (jti) that logout can revoke (TokenRevocationList).
+ * Longer sessions are kept alive with refresh tokens (RefreshTokenService).
+ * Tokens are signed with this node's current asymmetric key and name it in the kid header;
+ * any node, or an edge service holding the JWKS, verifies them with the matching public key.
+ */
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${jwt.secret.string}")
-    private String JWT_SECRETE;
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+
+    private final JwtKeyManager keyManager;
 
     @Value("${jwt.expiration.time}")
     private long EXPIRATION_TIME;
 
-    private SecretKey key;
+    private JwtParser parser;
 
     @PostConstruct
     private void init() {
-        byte[] keyByte = JWT_SECRETE.getBytes(StandardCharsets.UTF_8);
-        this.key = new SecretKeySpec(keyByte, "HmacSHA256");
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        Key key = keyManager.verificationKey(header.getKeyId());
+                        if (key == null) {
+                            throw new UnsupportedJwtException("Unknown signing key " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
     }
 
 
-    public String generateToken(String email) {
+    public String generateToken(User user) {
+        long now = System.currentTimeMillis();
+        JwtKeyManager.SigningKey signingKey = keyManager.currentKey();
         return Jwts.builder()
-                .subject(email)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(key)
+                .header().keyId(signingKey.kid()).and()
+                .subject(user.getEmail())
+                .id(UUID.randomUUID().toString())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getRoles().stream().map(Role::getName).toList())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + EXPIRATION_TIME))
+                .signWith(signingKey.privateKey(), JwtKeyManager.EDDSA.equals(signingKey.algorithm())
+                        ? Jwts.SIG.EdDSA
+                        : Jwts.SIG.RS256)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return extractClaims(token, Claims::getSubject);
-    }
+    // Verifies signature and expiry in a single parse; throws a JwtException when either fails
+    public AccessToken parseToken(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
-    private <T> T extractClaims(String token, Function<Claims, T> claimsTFunction) {
-        return claimsTFunction.apply(Jwts.parser().verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload());
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return new AccessToken(
+                claims.get(USER_ID_CLAIM, Long.class),
+                claims.getSubject(),
+                roles == null ? List.of() : roles.stream().map(String::valueOf).toList(),
+                claims.getId(),
+                claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant());
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public long getExpirationMillis() {
+        return EXPIRATION_TIME;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token, Claims::getExpiration).before(new Date());
+    public record AccessToken(Long userId, String email, List<String> roles, String jti,
+                              Instant issuedAt, Instant expiresAt) {
     }
-
-
 }
@@ -1,7 +1,13 @@
 package com.example.dat.security;
 
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -11,13 +17,16 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.example.dat.config.AsyncConfig;
 import com.example.dat.exceptions.CustomAccessDenialHandler;
 import com.example.dat.exceptions.CustomAuthenticationEntryPoint;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -41,6 +50,8 @@ public class SecurityFilter {
                                 .authenticationEntryPoint(customAuthenticationEntryPoint))
                 .authorizeHttpRequests(req -> //Aqui falta"
                     req.requestMatchers("/api/auth/**", "/api/doctors/**", "/profile-picture/**", "/consultation-documents/**", "/dependents/**").permitAll()
+                        .requestMatchers("/actuator/health", "/.well-known/jwks.json").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(mag -> //Aqui falta
                         mag.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -49,9 +60,24 @@ public class SecurityFilter {
         return httpSecurity.build();
     }
 
+    // New hashes are "{bcrypt}" at the configured (or calibrated) cost; legacy hashes without a prefix
+    // still match and report upgradeEncoding, so login rehashes them (AuthServiceImpl)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.password.bcrypt.strength:0}") int strength,
+                                           @Value("${app.password.bcrypt.target-ms:250}") long targetMs,
+                                           @Value("${app.password.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${app.password.bcrypt.max-strength:14}") int maxStrength,
+                                           @Qualifier(AsyncConfig.PASSWORD_HASHING) AsyncTaskExecutor hashingExecutor,
+                                           MeterRegistry meterRegistry) {
+
+        int cost = strength > 0 ? strength
+                : BcryptCalibration.calibrate(Duration.ofMillis(targetMs), minStrength, maxStrength);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(cost)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        return new PooledPasswordEncoder(delegating, hashingExecutor, meterRegistry);
     }
 
     @Bean
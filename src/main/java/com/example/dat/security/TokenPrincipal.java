@@ -0,0 +1,18 @@
+package com.example.dat.security;
+
+import java.util.List;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal built from a verified access token's claims (AuthFilter), without loading the user.
+ * getName() is the e-mail, as with AuthUser, so authentication.getName() callers are unaffected;
+ * UserService.getCurrentUser() loads the User by id when a service needs the entity.
+ */
+public record TokenPrincipal(Long userId, String email, List<String> roles) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.dat.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dat.users.entity.RevokedToken;
+import com.example.dat.users.repo.RevokedTokenRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Access tokens revoked before they expire, checked by AuthFilter on every request without a query.
+ * Single tokens (logout) go through a Bloom filter, so the common case - a token that was never
+ * revoked - is answered from a few bits; a "maybe" is confirmed against the exact jti map.
+ * Whole users (password change, refresh-token reuse) are a cut-off second per user id (iat <= cut-off).
+ * Revocations are written to revoked_tokens and every node pulls new rows incrementally.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    // Rows committed slightly out of revokedAt order are still picked up by the next refresh
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepo revokedTokenRepo;
+    private final long accessTokenTtlMs;
+    private final int expectedEntries;
+
+    private final Map<String, Instant> revokedJtis = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> revokedUpTo = new ConcurrentHashMap<>();
+    private volatile BloomFilter jtiFilter;
+    private volatile LocalDateTime lastRefresh;
+
+    public TokenRevocationList(RevokedTokenRepo revokedTokenRepo,
+                               @Value("${jwt.expiration.time}") long accessTokenTtlMs,
+                               @Value("${jwt.revocation.expected-entries:10000}") int expectedEntries) {
+        this.revokedTokenRepo = revokedTokenRepo;
+        this.accessTokenTtlMs = accessTokenTtlMs;
+        this.expectedEntries = expectedEntries;
+        this.jtiFilter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+
+    public boolean isRevoked(JwtService.AccessToken token) {
+
+        String jti = token.jti();
+        if (jti != null && jtiFilter.mightContain(jti) && revokedJtis.containsKey(jti)) {
+            return true;
+        }
+
+        // iat has second precision, so a token issued in the cut-off's second is revoked too: it may predate
+        // the revocation. A login in that same second after it has to sign in again.
+        Instant cutoff = token.userId() == null ? null : revokedUpTo.get(token.userId());
+        return cutoff != null && !token.issuedAt().isAfter(cutoff);
+    }
+
+    @Transactional
+    public void revokeToken(String jti, Instant expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepo.save(RevokedToken.builder()
+                .jti(jti)
+                .revokedAt(now)
+                .expiresAt(toLocal(expiresAt))
+                .build());
+        addJti(jti, expiresAt);
+    }
+
+    // Every access token of the user issued so far; they all expire within one access-token lifetime
+    @Transactional
+    public void revokeUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepo.save(RevokedToken.builder()
+                .userId(userId)
+                .revokedAt(now)
+                .expiresAt(now.plus(Duration.ofMillis(accessTokenTtlMs)))
+                .build());
+        addUserCutoff(userId, toInstant(now));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime since = lastRefresh == null ? LocalDateTime.of(1970, 1, 1, 0, 0)
+                : lastRefresh.minus(REFRESH_OVERLAP);
+
+        List<RevokedToken> rows = revokedTokenRepo.findByRevokedAtAfterAndExpiresAtAfter(since, started);
+        for (RevokedToken row : rows) {
+            if (row.getJti() != null) {
+                addJti(row.getJti(), toInstant(row.getExpiresAt()));
+            } else if (row.getUserId() != null) {
+                addUserCutoff(row.getUserId(), toInstant(row.getRevokedAt()));
+            }
+        }
+        lastRefresh = started;
+    }
+
+    // Expired entries cover tokens that no longer parse anyway; the Bloom filter is rebuilt without them
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+
+        Instant now = Instant.now();
+        Instant userCutoffHorizon = now.minusMillis(accessTokenTtlMs);
+        revokedJtis.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        revokedUpTo.values().removeIf(cutoff -> cutoff.isBefore(userCutoffHorizon));
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revokedJtis.size() * 2), FALSE_POSITIVE_RATE);
+        revokedJtis.keySet().forEach(rebuilt::add);
+        jtiFilter = rebuilt;
+        // Catches jtis added to the old filter while the new one was being filled
+        revokedJtis.keySet().forEach(rebuilt::add);
+
+        int deleted = revokedTokenRepo.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    private void addJti(String jti, Instant expiresAt) {
+        revokedJtis.put(jti, expiresAt);
+        jtiFilter.add(jti);
+    }
+
+    // Truncated like iat: every token issued up to and including this second is revoked
+    private void addUserCutoff(Long userId, Instant revokedAt) {
+        Instant cutoff = revokedAt.truncatedTo(ChronoUnit.SECONDS);
+        revokedUpTo.merge(userId, cutoff, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
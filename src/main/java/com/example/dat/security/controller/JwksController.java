@@ -0,0 +1,32 @@
+package com.example.dat.security.controller;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.dat.security.JwtKeyManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Public keys of every active signing key, as a standard JWK Set, so other services can verify our
+ * access tokens without calling this backend. Served from memory; clients may cache it for a few
+ * minutes and should refetch when a token carries a kid they do not know.
+ */
+@RequiredArgsConstructor
+@RestController
+public class JwksController {
+
+    private final JwtKeyManager jwtKeyManager;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtKeyManager.jwks());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.dat.security.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Public half of a node's JWT signing key. The private key never leaves the node that generated it;
+ * the row lets every node (and the JWKS endpoint) verify tokens carrying this kid.
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "jwt_signing_keys")
+public class JwtSigningKey {
+
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm; // RS256 or EdDSA
+
+    @Column(nullable = false, length = 2048)
+    private String publicKey; // X.509 SubjectPublicKeyInfo, base64
+
+    @Column(nullable = false, length = 100)
+    private String node;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt; // after this no token signed with the key can still be valid
+}
@@ -4,14 +4,17 @@ package com.example.dat.users.controller;
 import com.example.dat.res.Response;
 import com.example.dat.users.dto.LoginRequest;
 import com.example.dat.users.dto.LoginResponse;
+import com.example.dat.users.dto.RefreshTokenRequest;
 import com.example.dat.users.dto.RegistrationRequest;
 import com.example.dat.users.dto.ResetPasswordRequest;
 import com.example.dat.users.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -32,6 +35,19 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(loginRequest));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<Response<LoginResponse>> refresh(@RequestBody @Valid RefreshTokenRequest refreshTokenRequest){
+        return ResponseEntity.ok(authService.refresh(refreshTokenRequest));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Response<?>> logout(@RequestBody(required = false) RefreshTokenRequest refreshTokenRequest,
+                                              @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization){
+        String refreshToken = refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null;
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        return ResponseEntity.ok(authService.logout(refreshToken, accessToken));
+    }
+
     @PostMapping("/forgot-password")
     public ResponseEntity<Response<?>> forgotPassword(@RequestBody ResetPasswordRequest resetPasswordRequest){
         return ResponseEntity.ok(authService.forgetPassword(resetPasswordRequest.getEmail()));
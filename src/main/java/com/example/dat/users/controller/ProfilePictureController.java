@@ -1,5 +1,7 @@
 package com.example.dat.users.controller;
 
+import com.example.dat.monitoring.FileTransferObservations;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.PathResource;
@@ -17,9 +19,12 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @RestController
+@RequiredArgsConstructor
 @RequestMapping
 public class ProfilePictureController {
 
+    private final FileTransferObservations fileTransferObservations;
+
     @Value("${app.upload.dir:uploads/profile-pictures}")
     private String uploadDir;
 
@@ -27,21 +32,23 @@ public class ProfilePictureController {
     public ResponseEntity<Resource> serveProfilePicture(@PathVariable String filename) {
         try {
             Path file = Paths.get(uploadDir).toAbsolutePath().resolve(filename);
-            if (!Files.exists(file) || Files.isDirectory(file)) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-            }
-
-            Resource resource = new PathResource(file);
-
-            String contentType = Files.probeContentType(file);
-            if (contentType == null) {
-                contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-            }
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, contentType)
-                    .header(HttpHeaders.CACHE_CONTROL, "max-age=3600, must-revalidate")
-                    .body(resource);
+            return fileTransferObservations.download("profile-picture", file, () -> {
+                if (!Files.exists(file) || Files.isDirectory(file)) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).<Resource>build();
+                }
+
+                Resource resource = new PathResource(file);
+
+                String contentType = Files.probeContentType(file);
+                if (contentType == null) {
+                    contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+                }
+
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_TYPE, contentType)
+                        .header(HttpHeaders.CACHE_CONTROL, "max-age=3600, must-revalidate")
+                        .body(resource);
+            });
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -0,0 +1,11 @@
+package com.example.dat.users.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token es requerido")
+    private String refreshToken;
+}
@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 @Entity
 @Data
 @Builder
-@Table(name = "password_reset_code")
+@Table(name = "password_reset_code", indexes = {
+        @Index(name = "idx_password_reset_code_expiry_date", columnList = "expiryDate")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class PasswordResetCode {
@@ -2,12 +2,29 @@ package com.example.dat.users.repo;
 
 import com.example.dat.users.entity.PasswordResetCode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface PasswordResetRepo extends JpaRepository<PasswordResetCode, Long> {
 
     Optional<PasswordResetCode> findByCode(String code);
-    void deleteByUserId(Long userId);
+    // Bulk delete runs immediately, so the replacement code's insert cannot hit uk_password_reset_code_user
+    @Modifying
+    @Query("DELETE FROM PasswordResetCode c WHERE c.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // 1 for the caller that claims the code, 0 if another request already used it
+    @Modifying
+    @Query("DELETE FROM PasswordResetCode c WHERE c.id = :id")
+    int deleteCodeById(@Param("id") Long id);
+
+    // Bounded batches over the expiry_date index, so the purge never holds long locks
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_code WHERE expiry_date < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
 
 }
@@ -3,6 +3,7 @@ package com.example.dat.users.service;
 import com.example.dat.res.Response;
 import com.example.dat.users.dto.LoginRequest;
 import com.example.dat.users.dto.LoginResponse;
+import com.example.dat.users.dto.RefreshTokenRequest;
 import com.example.dat.users.dto.RegistrationRequest;
 import com.example.dat.users.dto.ResetPasswordRequest;
 
@@ -12,6 +13,10 @@ public interface AuthService {
 
     Response<LoginResponse> login(LoginRequest loginRequest);
 
+    Response<LoginResponse> refresh(RefreshTokenRequest refreshTokenRequest);
+
+    Response<?> logout(String refreshToken, String accessToken);
+
     Response<?> forgetPassword(String email);
 
     Response<?> updatePasswordViaResetCode(ResetPasswordRequest resetPasswordRequest);
@@ -1,7 +1,6 @@
 package com.example.dat.users.service;
 
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -20,17 +19,18 @@ import com.example.dat.notification.dto.NotificationDTO;
 import com.example.dat.notification.service.NotificationService;
 import com.example.dat.patient.entity.Patient;
 import com.example.dat.patient.repo.PatientRepo;
+import com.example.dat.ratelimit.RateLimiter;
 import com.example.dat.res.Response;
 import com.example.dat.role.entity.Role;
 import com.example.dat.role.repo.RoleRepo;
 import com.example.dat.security.JwtService;
+import com.example.dat.security.TokenRevocationList;
 import com.example.dat.users.dto.LoginRequest;
 import com.example.dat.users.dto.LoginResponse;
+import com.example.dat.users.dto.RefreshTokenRequest;
 import com.example.dat.users.dto.RegistrationRequest;
 import com.example.dat.users.dto.ResetPasswordRequest;
-import com.example.dat.users.entity.PasswordResetCode;
 import com.example.dat.users.entity.User;
-import com.example.dat.users.repo.PasswordResetRepo;
 import com.example.dat.users.repo.UserRepo;
 
 import lombok.RequiredArgsConstructor;
@@ -51,8 +51,10 @@ public class AuthServiceImpl implements AuthService{
     private final PatientRepo patientRepo;
     private final DoctorRepo doctorRepo;
 
-    private final PasswordResetRepo passwordResetRepo;
-    private final CodeGenerator codeGenerator; //
+    private final PasswordResetCodeStore passwordResetCodeStore;
+    private final RateLimiter rateLimiter;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
 
 
 
@@ -65,6 +67,7 @@ public class AuthServiceImpl implements AuthService{
 
 
     @Override
+    @Transactional
     public Response<String> register(RegistrationRequest request) {
         /// 1. Check if user already exists
                 if (userRepo.findByEmail(request.getEmail()).isPresent()) {
@@ -146,12 +149,16 @@ public class AuthServiceImpl implements AuthService{
 
     }
 
+    // Deliberately not @Transactional: on the busiest write path a connection would sit idle during the
+    // BCrypt check. The rehash and the refresh token each commit in their own transaction
     @Override
     public Response<LoginResponse> login(LoginRequest loginRequest) {
 
         String email = loginRequest.getEmail();
         String password = loginRequest.getPassword();
 
+        // Password guessing against one account, whatever IPs it comes from
+        rateLimiter.checkAccount(RateLimiter.LOGIN, email);
 
                 // For security, do not reveal whether email or password was incorrect.
                 // Always return a generic "invalid credentials" error.
@@ -162,40 +169,66 @@ public class AuthServiceImpl implements AuthService{
                         throw new BadRequestException("Credenciales inválidas. Verifica tu email y contraseña");
                 }
 
-        String token = jwtService.generateToken(user.getEmail());
+        // Hashes from an older cost or the pre-prefix format are replaced while we have the raw password
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(password));
+            userRepo.save(user);
+            log.debug("Password hash of user {} upgraded", user.getId());
+        }
 
-        LoginResponse loginResponse = LoginResponse.builder()
-                .roles(user.getRoles().stream().map(Role::getName).toList())
-                .token(token)
+        return Response.<LoginResponse>builder()
+                .statusCode(200)
+                .message("Login Successful")
+                .data(tokensFor(user, refreshTokenService.issue(user)))
                 .build();
 
+    }
+
+    @Override
+    public Response<LoginResponse> refresh(RefreshTokenRequest refreshTokenRequest) {
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshTokenRequest.getRefreshToken());
+
         return Response.<LoginResponse>builder()
                 .statusCode(200)
-                .message("Login Successful")
-                .data(loginResponse)
+                .message("Sesión renovada")
+                .data(tokensFor(rotation.user(), rotation.refreshToken()))
                 .build();
+    }
+
+    @Override
+    public Response<?> logout(String refreshToken, String accessToken) {
+
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (accessToken != null) {
+            try {
+                JwtService.AccessToken parsed = jwtService.parseToken(accessToken);
+                tokenRevocationList.revokeToken(parsed.jti(), parsed.expiresAt());
+            } catch (RuntimeException e) {
+                // Already expired or not ours: nothing left to revoke
+                log.debug("Logout with an invalid access token: {}", e.getMessage());
+            }
+        }
 
+        return Response.builder()
+                .statusCode(200)
+                .message("Sesión cerrada")
+                .build();
     }
 
         @Override
         @Transactional
         public Response<?> forgetPassword(String email) {
 
+        // Caps reset e-mails sent to one mailbox
+        rateLimiter.checkAccount(RateLimiter.FORGOT_PASSWORD, email);
+
         User user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException("User Not Found"));
 
-        passwordResetRepo.deleteByUserId(user.getId());
-
-        String code = codeGenerator.generateUniqueCode();
-
-        PasswordResetCode resetCode = PasswordResetCode.builder()
-                .user(user)
-                .code(code)
-                .expiryDate(calculateExpiryDate())
-                .used(false)
-                .build();
-
-        passwordResetRepo.save(resetCode);
+        String code = passwordResetCodeStore.issue(user);
 
         //send email reset link out
         NotificationDTO passwordResetEmail = NotificationDTO.builder()
@@ -223,27 +256,26 @@ public class AuthServiceImpl implements AuthService{
         String code = resetPasswordRequest.getCode();
         String newPassword = resetPasswordRequest.getNewPassword();
 
-        log.info("CODE IS: " + code);
-        log.info("NEW PASSWORD IS: " + newPassword);
-
-
         // Find and validate code
-        PasswordResetCode resetCode = passwordResetRepo.findByCode(code)
-                .orElseThrow(() -> new BadRequestException("Código de restablecimiento inválido"));      
+        PasswordResetCodeStore.ResetCode resetCode = passwordResetCodeStore.find(code)
+                .orElseThrow(() -> new BadRequestException("Código de restablecimiento inválido"));
 
-        // Check expiration first
-        if (resetCode.getExpiryDate().isBefore(LocalDateTime.now())) {
-            passwordResetRepo.delete(resetCode); // Clean up expired code
+        // Check expiration first; expired codes are deleted by PasswordResetCodeStore.purgeExpired
+        if (resetCode.isExpired()) {
             throw new BadRequestException("El código de restablecimiento ha expirado");
         }
 
+        // Delete the code before using it: of two concurrent requests with the same code only one claims it
+        if (!passwordResetCodeStore.claim(code, resetCode)) {
+            throw new BadRequestException("Código de restablecimiento inválido");
+        }
+
         //update the password
-        User user = resetCode.getUser();
+        User user = userRepo.findById(resetCode.userId())
+                .orElseThrow(() -> new BadRequestException("Código de restablecimiento inválido"));
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepo.save(user);
-
-        // Delete the code immediately after successful use
-        passwordResetRepo.delete(resetCode);
+        refreshTokenService.revokeAllForUser(user.getId());
 
 
         // Send password confirmation email
@@ -306,8 +338,12 @@ public class AuthServiceImpl implements AuthService{
     }
 
 
-    private LocalDateTime calculateExpiryDate() {
-        return LocalDateTime.now().plusHours(5);
+    private LoginResponse tokensFor(User user, String refreshToken) {
+        return LoginResponse.builder()
+                .roles(user.getRoles().stream().map(Role::getName).toList())
+                .token(jwtService.generateToken(user))
+                .refreshToken(refreshToken)
+                .build();
     }
 
 }
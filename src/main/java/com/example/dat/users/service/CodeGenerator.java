@@ -1,43 +1,32 @@
 package com.example.dat.users.service;
 
 
-import com.example.dat.users.repo.PasswordResetRepo;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
 
+/**
+ * Password-reset codes: 12 characters from a 32-symbol alphabet (60 random bits, no 0/O or 1/I to
+ * misread), so codes are unique without checking the table first. The unique constraint on
+ * password_reset_code.code still guards the practically impossible collision.
+ */
 @Component
-@RequiredArgsConstructor
 public class CodeGenerator {
 
-    private final PasswordResetRepo passwordResetRepo;
+    // Thread-safe and seeded once; creating one per code paid the seeding cost every time
+    private static final SecureRandom RANDOM = new SecureRandom();
 
-    private static  final String ALPHA_NUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private static final int CODE_LENGTH = 5;
+    private static  final String ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    static final int CODE_LENGTH = 12;
 
 
 
-    public String generateUniqueCode() {
-        String code;
-        do {
-            code = generateRandomCode();
-
-        } while (passwordResetRepo.findByCode(code).isPresent());
-
-        return code;
-    }
-
-
-    private String generateRandomCode() {
-        StringBuilder sb = new StringBuilder(CODE_LENGTH);
-        SecureRandom random = new SecureRandom();
-
+    public String generateCode() {
+        char[] code = new char[CODE_LENGTH];
         for (int i = 0; i < CODE_LENGTH; i++) {
-            int index = random.nextInt(ALPHA_NUMERIC.length());
-            sb.append(ALPHA_NUMERIC.charAt(index));
+            code[i] = ALPHABET.charAt(RANDOM.nextInt(ALPHABET.length()));
         }
-        return sb.toString();
+        return new String(code);
     }
 
 }
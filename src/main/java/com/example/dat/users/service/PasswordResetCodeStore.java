@@ -0,0 +1,141 @@
+package com.example.dat.users.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.scheduling.service.LeaseService;
+import com.example.dat.users.entity.PasswordResetCode;
+import com.example.dat.users.entity.User;
+import com.example.dat.users.repo.PasswordResetRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Password-reset codes: issue, look up, claim once, and purge when abandoned.
+ * Lookups go through a short-TTL cache of ids (never entities, so no stale User is ever saved),
+ * which also absorbs repeated guesses of codes that do not exist. The cache is only a hint:
+ * claim() deletes the row and succeeds for exactly one request, on any node.
+ * Expired codes are deleted in batches by the node holding the purge lease.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordResetCodeStore {
+
+    private static final String LEASE_NAME = "password-reset-purge";
+
+    private final PasswordResetRepo passwordResetRepo;
+    private final CodeGenerator codeGenerator;
+    private final LeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.password-reset.code-ttl-minutes:300}")
+    private long codeTtlMinutes;
+
+    @Value("${app.password-reset.lookup-cache-ttl-ms:30000}")
+    private long lookupCacheTtlMs;
+
+    @Value("${app.password-reset.lookup-cache-max-entries:10000}")
+    private int lookupCacheMaxEntries;
+
+    @Value("${app.password-reset.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    private final Map<String, CachedLookup> lookupCache = new ConcurrentHashMap<>();
+
+
+    public record ResetCode(Long id, Long userId, LocalDateTime expiryDate) {
+
+        public boolean isExpired() {
+            return expiryDate.isBefore(LocalDateTime.now());
+        }
+    }
+
+    private record CachedLookup(Optional<ResetCode> resetCode, long cachedUntilNanos) {
+    }
+
+    // Replaces any earlier code of the user; runs in the caller's transaction
+    public String issue(User user) {
+
+        passwordResetRepo.deleteByUserId(user.getId());
+
+        PasswordResetCode saved = passwordResetRepo.save(PasswordResetCode.builder()
+                .user(user)
+                .code(codeGenerator.generateCode())
+                .expiryDate(LocalDateTime.now().plusMinutes(codeTtlMinutes))
+                .used(false)
+                .build());
+
+        cache(saved.getCode(), Optional.of(toResetCode(saved)));
+        return saved.getCode();
+    }
+
+    public Optional<ResetCode> find(String code) {
+
+        if (code == null || code.isBlank() || code.length() > 64) {
+            return Optional.empty();
+        }
+
+        CachedLookup cached = lookupCache.get(code);
+        if (cached != null && cached.cachedUntilNanos() - System.nanoTime() > 0) {
+            return cached.resetCode();
+        }
+
+        Optional<ResetCode> resetCode = passwordResetRepo.findByCode(code).map(this::toResetCode);
+        cache(code, resetCode);
+        return resetCode;
+    }
+
+    // Deletes the code; false when another request got there first. Runs in the caller's transaction
+    public boolean claim(String code, ResetCode resetCode) {
+        lookupCache.remove(code);
+        return passwordResetRepo.deleteCodeById(resetCode.id()) == 1;
+    }
+
+    @Scheduled(fixedDelayString = "${app.password-reset.purge-interval-ms:3600000}",
+            initialDelayString = "${app.password-reset.purge-initial-delay-ms:60000}")
+    public void purgeExpired() {
+
+        long now = System.nanoTime();
+        lookupCache.values().removeIf(cached -> cached.cachedUntilNanos() - now <= 0);
+
+        if (!leaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(5))) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            Integer batch = transactionTemplate.execute(status ->
+                    passwordResetRepo.deleteExpiredBatch(cutoff, purgeBatchSize));
+            deleted = batch == null ? 0 : batch;
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (total > 0) {
+            log.info("Purged {} expired password-reset codes", total);
+        }
+    }
+
+    private void cache(String code, Optional<ResetCode> resetCode) {
+        // Under a flood of made-up codes the cache stops growing; lookups then go to the index
+        if (lookupCache.size() < lookupCacheMaxEntries || resetCode.isPresent()) {
+            lookupCache.put(code, new CachedLookup(resetCode,
+                    System.nanoTime() + Duration.ofMillis(lookupCacheTtlMs).toNanos()));
+        }
+    }
+
+    private ResetCode toResetCode(PasswordResetCode entity) {
+        return new ResetCode(entity.getId(), entity.getUser().getId(), entity.getExpiryDate());
+    }
+}
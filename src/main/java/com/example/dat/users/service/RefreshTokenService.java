@@ -0,0 +1,129 @@
+package com.example.dat.users.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dat.exceptions.UnauthorizedException;
+import com.example.dat.security.TokenRevocationList;
+import com.example.dat.users.entity.RefreshToken;
+import com.example.dat.users.entity.User;
+import com.example.dat.users.repo.RefreshTokenRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opaque refresh tokens, stored only as their SHA-256. Each use rotates the token: the presented one
+ * is marked used and a new one of the same family (login) is returned. A used token presented again
+ * means it was copied, so the whole family and the user's access tokens are revoked.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepo refreshTokenRepo;
+    private final TokenRevocationList tokenRevocationList;
+
+    @Value("${jwt.refresh.expiration.time:1209600000}")
+    private long refreshExpirationMs;
+
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    // Reuse detection must commit even though the request is rejected
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String presentedToken) {
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepo.findForRotation(hash(presentedToken))
+                .orElseThrow(() -> new UnauthorizedException("Sesión inválida. Inicia sesión nuevamente"));
+
+        if (current.getUsedAt() != null && current.getRevokedAt() == null) {
+            log.warn("Refresh token reuse for user {} (family {}), revoking the session",
+                    current.getUser().getId(), current.getFamilyId());
+            refreshTokenRepo.revokeFamily(current.getFamilyId(), now);
+            tokenRevocationList.revokeUser(current.getUser().getId());
+            throw new UnauthorizedException("Sesión inválida. Inicia sesión nuevamente");
+        }
+        if (current.getRevokedAt() != null || current.getExpiresAt().isBefore(now)) {
+            throw new UnauthorizedException("Sesión expirada. Inicia sesión nuevamente");
+        }
+
+        current.setUsedAt(now);
+        refreshTokenRepo.save(current);
+
+        return new Rotation(current.getUser(), create(current.getUser(), current.getFamilyId()));
+    }
+
+    // Logout: ends this login on every device it was rotated to
+    @Transactional
+    public void revoke(String presentedToken) {
+        refreshTokenRepo.findByTokenHash(hash(presentedToken))
+                .ifPresent(token -> refreshTokenRepo.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    // Password change or reset: every session and every access token issued so far
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        int revoked = refreshTokenRepo.revokeAllForUser(userId, LocalDateTime.now());
+        tokenRevocationList.revokeUser(userId);
+        log.debug("Revoked {} refresh tokens of user {}", revoked, userId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepo.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String create(User user, String familyId) {
+
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepo.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .user(user)
+                .createdAt(now)
+                .expiresAt(now.plus(Duration.ofMillis(refreshExpirationMs)))
+                .build());
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -13,6 +13,9 @@ public interface UserService {
 
     User getCurrentUser();
 
+    // Id of the authenticated user; no query when it comes from a stateless token
+    Long getCurrentUserId();
+
     Response<UserDTO> getMyUserDetails();
 
     Response<UserDTO> getUserById(Long userId);
@@ -14,13 +14,18 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.dat.exceptions.BadRequestException;
 import com.example.dat.exceptions.NotFoundException;
+import com.example.dat.files.StoredFileCleaner;
+import com.example.dat.monitoring.FileTransferObservations;
 import com.example.dat.notification.dto.NotificationDTO;
 import com.example.dat.notification.service.NotificationService;
 import com.example.dat.res.Response;
+import com.example.dat.security.TokenPrincipal;
 import com.example.dat.users.dto.UpdatePasswordRequest;
 import com.example.dat.users.dto.UserDTO;
 import com.example.dat.users.entity.User;
@@ -38,6 +43,10 @@ public class UserServiceImpl implements UserService {
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
     private final NotificationService notificationService;
+    private final FileTransferObservations fileTransferObservations;
+    private final StoredFileCleaner storedFileCleaner;
+    private final RefreshTokenService refreshTokenService;
+    private final TransactionTemplate transactionTemplate;
 
     // Backend upload directory - configurable via application.properties
     // Default: uploads/profile-pictures (relative to project working dir)
@@ -46,6 +55,7 @@ public class UserServiceImpl implements UserService {
 
 
     @Override
+    @Transactional(readOnly = true)
     public User getCurrentUser() {
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -53,6 +63,12 @@ public class UserServiceImpl implements UserService {
         if (authentication == null) {
             throw new NotFoundException("Usuario no autenticado");
         }
+        // Stateless tokens carry the user id: primary-key lookup, only when a service needs the entity
+        if (authentication.getPrincipal() instanceof TokenPrincipal tokenPrincipal) {
+            return userRepo.findById(tokenPrincipal.userId())
+                    .orElseThrow(() -> new NotFoundException("User Not Found"));
+        }
+
         String email = authentication.getName();
 
         return userRepo.findByEmail(email).orElseThrow(() -> new NotFoundException("User Not Found"));
@@ -60,6 +76,18 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    public Long getCurrentUserId() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof TokenPrincipal tokenPrincipal) {
+            return tokenPrincipal.userId();
+        }
+        return getCurrentUser().getId();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Response<UserDTO> getMyUserDetails() {
 
         User user = getCurrentUser();
@@ -75,6 +103,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<UserDTO> getUserById(Long userId) {
 
         User user = userRepo.findById(userId)
@@ -90,6 +119,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<List<UserDTO>> getAllUsers() {
 
         List<UserDTO> userDTOS = userRepo.findAll().stream()
@@ -105,6 +135,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public Response<?> updatePassword(UpdatePasswordRequest updatePasswordRequest) {
 
         User user = getCurrentUser();
@@ -123,6 +154,8 @@ public class UserServiceImpl implements UserService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepo.save(user);
+        // Sessions opened with the old password end here, including this one's access token
+        refreshTokenService.revokeAllForUser(user.getId());
 
         // Send password change confirmation email.
         NotificationDTO notificationDTO = NotificationDTO.builder()
@@ -144,7 +177,8 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Response<?> uploadProfilePicture(MultipartFile file) {
-        User user = getCurrentUser();
+        // No transaction around the copy: only the row update below holds a connection
+        Long userId = getCurrentUser().getId();
 
         try {
             Path uploadPath = Paths.get(uploadDir).toAbsolutePath();
@@ -153,20 +187,6 @@ public class UserServiceImpl implements UserService {
                 Files.createDirectories(uploadPath);
             }
 
-            // If user already has an uploaded picture, remove the old file from the upload directory
-            if (user.getProfilePictureUrl() != null && !user.getProfilePictureUrl().isEmpty()) {
-                String existingUrl = user.getProfilePictureUrl();
-                // existingUrl expected like "/profile-picture/{filename}" or just filename
-                String existingFileName = existingUrl;
-                if (existingUrl.contains("/")) {
-                    existingFileName = existingUrl.substring(existingUrl.lastIndexOf('/') + 1);
-                }
-                Path oldFile = uploadPath.resolve(existingFileName);
-                if (Files.exists(oldFile)) {
-                    Files.delete(oldFile);
-                }
-            }
-
             // Generate a unique file name to avoid conflicts
             String originalFileName = file.getOriginalFilename();
             String fileExtension = "";
@@ -176,13 +196,36 @@ public class UserServiceImpl implements UserService {
 
             String newFileName = UUID.randomUUID() + fileExtension;
                 Path filePath = uploadPath.resolve(newFileName);
-                Files.copy(file.getInputStream(), filePath);
+                fileTransferObservations.upload("profile-picture", filePath,
+                        () -> Files.copy(file.getInputStream(), filePath));
 
                 // URL returned to client (path served by frontend). We store only the URL path.
                 String fileUrl = "/profile-picture/" + newFileName;
 
-                user.setProfilePictureUrl(fileUrl);
-                userRepo.save(user);
+                String existingUrl;
+                try {
+                    existingUrl = transactionTemplate.execute(status -> {
+                        User user = userRepo.findById(userId)
+                                .orElseThrow(() -> new NotFoundException("User Not Found"));
+                        String previousUrl = user.getProfilePictureUrl();
+                        user.setProfilePictureUrl(fileUrl);
+                        userRepo.save(user);
+                        return previousUrl;
+                    });
+                } catch (RuntimeException e) {
+                    Files.deleteIfExists(filePath);
+                    throw e;
+                }
+
+                // If user already had an uploaded picture, remove the old file now that nothing points to it
+                if (existingUrl != null && !existingUrl.isEmpty()) {
+                    // existingUrl expected like "/profile-picture/{filename}" or just filename
+                    String existingFileName = existingUrl;
+                    if (existingUrl.contains("/")) {
+                        existingFileName = existingUrl.substring(existingUrl.lastIndexOf('/') + 1);
+                    }
+                    storedFileCleaner.deleteReplaced(uploadPath.resolve(existingFileName));
+                }
 
                 return Response.builder()
                     .statusCode(HttpStatus.OK.value())
@@ -197,6 +240,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public Response<?> uploadProfilePictureToS3(MultipartFile file) {
         return null;
     }
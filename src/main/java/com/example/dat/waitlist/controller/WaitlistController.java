@@ -0,0 +1,55 @@
+package com.example.dat.waitlist.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.dat.res.Response;
+import com.example.dat.waitlist.dto.WaitlistEntryDTO;
+import com.example.dat.waitlist.service.WaitlistService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('PATIENT')")
+    public ResponseEntity<Response<WaitlistEntryDTO>> joinWaitlist(@RequestBody @Valid WaitlistEntryDTO entryDTO) {
+        return ResponseEntity.ok(waitlistService.joinWaitlist(entryDTO));
+    }
+
+    @GetMapping("/me")
+    @PreAuthorize("hasAuthority('PATIENT')")
+    public ResponseEntity<Response<List<WaitlistEntryDTO>>> getMyEntries() {
+        return ResponseEntity.ok(waitlistService.getMyEntries());
+    }
+
+    @DeleteMapping("/{entryId}")
+    @PreAuthorize("hasAuthority('PATIENT')")
+    public ResponseEntity<Response<?>> leaveWaitlist(@PathVariable Long entryId) {
+        return ResponseEntity.ok(waitlistService.leaveWaitlist(entryId));
+    }
+
+    @PutMapping("/{entryId}/priority")
+    @PreAuthorize("hasAnyAuthority('DOCTOR', 'ADMIN')")
+    public ResponseEntity<Response<WaitlistEntryDTO>> updatePriority(@PathVariable Long entryId,
+                                                                    @RequestParam int priority) {
+        return ResponseEntity.ok(waitlistService.updatePriority(entryId, priority));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.dat.waitlist.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.dat.enums.WaitlistStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WaitlistEntryDTO {
+
+    private Long id;
+
+    @NotNull(message = "Doctor ID is required.")
+    private Long doctorId;
+
+    private String doctorName;
+
+    // Optional: wait on behalf of a dependent
+    private Long dependentId;
+
+    @NotNull(message = "The start of the date range is required.")
+    private LocalDate fromDate;
+
+    @NotNull(message = "The end of the date range is required.")
+    private LocalDate toDate;
+
+    private String purposeOfConsultation;
+
+    // Book a freed slot automatically instead of only being notified (default false)
+    private Boolean autoBook;
+
+    private Integer priority;
+
+    private WaitlistStatus status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastOfferedAt;
+
+    private Long appointmentId;
+}
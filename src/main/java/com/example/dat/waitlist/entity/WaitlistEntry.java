@@ -0,0 +1,85 @@
+package com.example.dat.waitlist.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.dat.dependent.entity.Dependent;
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.enums.WaitlistStatus;
+import com.example.dat.patient.entity.Patient;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "waitlist_entries", indexes = {
+        // per-doctor queue rebuild reads only the WAITING rows of one doctor
+        @Index(name = "idx_waitlist_doctor_status", columnList = "doctor_id, status"),
+        @Index(name = "idx_waitlist_patient_status", columnList = "patient_id, status")
+})
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient;
+
+    // Optional: waiting on behalf of a dependent
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "dependent_id")
+    private Dependent dependent;
+
+    // Inclusive range of days the patient can attend
+    @Column(nullable = false)
+    private LocalDate fromDate;
+
+    @Column(nullable = false)
+    private LocalDate toDate;
+
+    private String purposeOfConsultation;
+
+    // true: book a freed slot directly; false: only e-mail the offer
+    @Column(nullable = false)
+    private Boolean autoBook;
+
+    // Higher goes first; ties are served in registration order
+    @Column(nullable = false)
+    private Integer priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WaitlistStatus status;
+
+    @Column(nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime createdAt;
+
+    @Column(columnDefinition = "DATETIME")
+    private LocalDateTime lastOfferedAt;
+
+    private Long appointmentId; // set when the entry was fulfilled by an automatic booking
+}
@@ -0,0 +1,59 @@
+package com.example.dat.waitlist.repo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.dat.enums.WaitlistStatus;
+import com.example.dat.waitlist.entity.WaitlistEntry;
+
+@Repository
+public interface WaitlistEntryRepo extends JpaRepository<WaitlistEntry, Long> {
+
+    // Rows backing a doctor's in-memory queue
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.doctor.id = :doctorId AND w.status = :status AND w.toDate >= :today")
+    List<WaitlistEntry> findActiveForDoctor(@Param("doctorId") Long doctorId,
+                                            @Param("status") WaitlistStatus status,
+                                            @Param("today") LocalDate today);
+
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.patient p JOIN FETCH p.user JOIN FETCH w.doctor d JOIN FETCH d.user " +
+            "WHERE w.id IN :ids")
+    List<WaitlistEntry> findWithContactsByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<WaitlistEntry> findByPatientIdOrderByCreatedAtDesc(Long patientId);
+
+    boolean existsByDoctorIdAndPatientIdAndDependentIdAndStatus(Long doctorId, Long patientId, Long dependentId,
+                                                                WaitlistStatus status);
+
+    boolean existsByDoctorIdAndPatientIdAndDependentIsNullAndStatus(Long doctorId, Long patientId,
+                                                                    WaitlistStatus status);
+
+    // Conditional transition: only one node/thread can move an entry out of a given status
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = :newStatus WHERE w.id = :id AND w.status = :currentStatus")
+    int transition(@Param("id") Long id,
+                   @Param("currentStatus") WaitlistStatus currentStatus,
+                   @Param("newStatus") WaitlistStatus newStatus);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.appointmentId = :appointmentId WHERE w.id = :id")
+    int setAppointment(@Param("id") Long id, @Param("appointmentId") Long appointmentId);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.lastOfferedAt = :offeredAt WHERE w.id IN :ids")
+    int markOffered(@Param("ids") Collection<Long> ids, @Param("offeredAt") LocalDateTime offeredAt);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = :expired WHERE w.doctor.id = :doctorId AND w.status = :waiting AND w.toDate < :today")
+    int expireEnded(@Param("doctorId") Long doctorId,
+                    @Param("waiting") WaitlistStatus waiting,
+                    @Param("expired") WaitlistStatus expired,
+                    @Param("today") LocalDate today);
+}
@@ -0,0 +1,20 @@
+package com.example.dat.waitlist.service;
+
+import java.util.List;
+
+import com.example.dat.appointment.event.AppointmentCancelledEvent;
+import com.example.dat.res.Response;
+import com.example.dat.waitlist.dto.WaitlistEntryDTO;
+
+public interface WaitlistService {
+
+    Response<WaitlistEntryDTO> joinWaitlist(WaitlistEntryDTO entryDTO);
+
+    Response<List<WaitlistEntryDTO>> getMyEntries();
+
+    Response<?> leaveWaitlist(Long entryId);
+
+    Response<WaitlistEntryDTO> updatePriority(Long entryId, int priority);
+
+    void onAppointmentCancelled(AppointmentCancelledEvent event);
+}
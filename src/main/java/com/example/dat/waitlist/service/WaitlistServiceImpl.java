@@ -0,0 +1,471 @@
+package com.example.dat.waitlist.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.appointment.dto.AppointmentDTO;
+import com.example.dat.appointment.event.AppointmentCancelledEvent;
+import com.example.dat.appointment.service.AppointmentService;
+import com.example.dat.config.AsyncConfig;
+import com.example.dat.dependent.entity.Dependent;
+import com.example.dat.dependent.repo.DependentRepo;
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.doctor.repo.DoctorRepo;
+import com.example.dat.enums.WaitlistStatus;
+import com.example.dat.exceptions.BadRequestException;
+import com.example.dat.exceptions.NotFoundException;
+import com.example.dat.notification.dto.NotificationDTO;
+import com.example.dat.notification.event.EmailRequestedEvent;
+import com.example.dat.patient.entity.Patient;
+import com.example.dat.patient.repo.PatientRepo;
+import com.example.dat.res.Response;
+import com.example.dat.users.entity.User;
+import com.example.dat.users.service.UserService;
+import com.example.dat.waitlist.dto.WaitlistEntryDTO;
+import com.example.dat.waitlist.entity.WaitlistEntry;
+import com.example.dat.waitlist.repo.WaitlistEntryRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-doctor waitlist. WAITING rows are the durable copy; each doctor also gets an in-memory
+ * priority queue (priority desc, then registration order) built lazily from those rows and
+ * rebuilt when it gets old, so a restart or another node's registrations are picked up.
+ * A cancellation walks the queue in order: auto-book waiters get the slot booked for them,
+ * and the first offer-only waiter stops the walk and is e-mailed together with the next few.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMM dd, yyyy 'at' hh:mm a");
+
+    private static final Comparator<QueuedEntry> QUEUE_ORDER = Comparator
+            .comparingInt(QueuedEntry::priority).reversed()
+            .thenComparing(QueuedEntry::createdAt)
+            .thenComparing(QueuedEntry::id);
+
+    private final WaitlistEntryRepo waitlistEntryRepo;
+    private final PatientRepo patientRepo;
+    private final DoctorRepo doctorRepo;
+    private final DependentRepo dependentRepo;
+    private final UserService userService;
+    private final AppointmentService appointmentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, DoctorQueue> queues = new ConcurrentHashMap<>();
+
+    @Value("${app.waitlist.max-range-days:60}")
+    private long maxRangeDays;
+
+    @Value("${app.waitlist.offer-fan-out:3}")
+    private int offerFanOut;
+
+    @Value("${app.waitlist.queue-refresh-seconds:300}")
+    private long queueRefreshSeconds;
+
+
+    @Override
+    @Transactional
+    public Response<WaitlistEntryDTO> joinWaitlist(WaitlistEntryDTO entryDTO) {
+
+        User currentUser = userService.getCurrentUser();
+
+        Patient patient = patientRepo.findByUser(currentUser)
+                .orElseThrow(() -> new NotFoundException("Perfil de paciente requerido para unirse a la lista de espera."));
+
+        Doctor doctor = doctorRepo.findById(entryDTO.getDoctorId())
+                .orElseThrow(() -> new NotFoundException("Doctor no encontrado."));
+
+        LocalDate today = LocalDate.now();
+        if (entryDTO.getToDate().isBefore(entryDTO.getFromDate())) {
+            throw new BadRequestException("La fecha final debe ser posterior a la fecha inicial.");
+        }
+        if (entryDTO.getToDate().isBefore(today)) {
+            throw new BadRequestException("El rango de fechas ya ha pasado.");
+        }
+        if (entryDTO.getFromDate().plusDays(maxRangeDays).isBefore(entryDTO.getToDate())) {
+            throw new BadRequestException("El rango de fechas no puede superar " + maxRangeDays + " días.");
+        }
+
+        Dependent dependent = null;
+        if (entryDTO.getDependentId() != null) {
+            dependent = dependentRepo.findById(entryDTO.getDependentId())
+                    .orElseThrow(() -> new NotFoundException("Dependiente no encontrado."));
+            if (!dependent.getPatient().getId().equals(patient.getId())) {
+                throw new BadRequestException("No tienes permiso para registrar a este dependiente.");
+            }
+        }
+
+        boolean alreadyWaiting = dependent != null
+                ? waitlistEntryRepo.existsByDoctorIdAndPatientIdAndDependentIdAndStatus(
+                        doctor.getId(), patient.getId(), dependent.getId(), WaitlistStatus.WAITING)
+                : waitlistEntryRepo.existsByDoctorIdAndPatientIdAndDependentIsNullAndStatus(
+                        doctor.getId(), patient.getId(), WaitlistStatus.WAITING);
+        if (alreadyWaiting) {
+            throw new BadRequestException("Ya estás en la lista de espera de este doctor.");
+        }
+
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .doctor(doctor)
+                .patient(patient)
+                .dependent(dependent)
+                .fromDate(entryDTO.getFromDate().isBefore(today) ? today : entryDTO.getFromDate())
+                .toDate(entryDTO.getToDate())
+                .purposeOfConsultation(entryDTO.getPurposeOfConsultation())
+                .autoBook(Boolean.TRUE.equals(entryDTO.getAutoBook()))
+                .priority(0)
+                .status(WaitlistStatus.WAITING)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        WaitlistEntry saved = waitlistEntryRepo.save(entry);
+
+        DoctorQueue queue = queues.get(doctor.getId());
+        if (queue != null) {
+            queue.add(QueuedEntry.of(saved));
+        }
+
+        log.info("Patient {} joined the waitlist of doctor {} for {} - {}",
+                patient.getId(), doctor.getId(), saved.getFromDate(), saved.getToDate());
+
+        return Response.<WaitlistEntryDTO>builder()
+                .statusCode(200)
+                .message("Te has unido a la lista de espera.")
+                .data(toDTO(saved, doctor))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response<List<WaitlistEntryDTO>> getMyEntries() {
+
+        User currentUser = userService.getCurrentUser();
+
+        Patient patient = patientRepo.findByUser(currentUser)
+                .orElseThrow(() -> new NotFoundException("Perfil de paciente no encontrado."));
+
+        List<WaitlistEntryDTO> entries = waitlistEntryRepo.findByPatientIdOrderByCreatedAtDesc(patient.getId())
+                .stream()
+                .map(entry -> toDTO(entry, entry.getDoctor()))
+                .toList();
+
+        return Response.<List<WaitlistEntryDTO>>builder()
+                .statusCode(200)
+                .message("Waitlist entries retrieved successfully.")
+                .data(entries)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public Response<?> leaveWaitlist(Long entryId) {
+
+        User currentUser = userService.getCurrentUser();
+
+        WaitlistEntry entry = waitlistEntryRepo.findById(entryId)
+                .orElseThrow(() -> new NotFoundException("Entrada de lista de espera no encontrada."));
+
+        if (!entry.getPatient().getUser().getId().equals(currentUser.getId())) {
+            throw new BadRequestException("No tienes permiso para cancelar esta entrada.");
+        }
+
+        int updated = waitlistEntryRepo.transition(entryId, WaitlistStatus.WAITING, WaitlistStatus.CANCELLED);
+        if (updated == 0) {
+            throw new BadRequestException("La entrada ya no está en espera.");
+        }
+
+        removeFromQueue(entry.getDoctor().getId(), entryId);
+
+        return Response.builder()
+                .statusCode(200)
+                .message("Has salido de la lista de espera.")
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public Response<WaitlistEntryDTO> updatePriority(Long entryId, int priority) {
+
+        User currentUser = userService.getCurrentUser();
+
+        WaitlistEntry entry = waitlistEntryRepo.findById(entryId)
+                .orElseThrow(() -> new NotFoundException("Entrada de lista de espera no encontrada."));
+
+        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ADMIN".equals(role.getName()));
+        if (!isAdmin && !entry.getDoctor().getUser().getId().equals(currentUser.getId())) {
+            throw new BadRequestException("Solo el doctor de la lista de espera puede cambiar la prioridad.");
+        }
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new BadRequestException("La entrada ya no está en espera.");
+        }
+
+        entry.setPriority(priority);
+        WaitlistEntry saved = waitlistEntryRepo.save(entry);
+
+        // Re-insert so the heap reorders it
+        DoctorQueue queue = queues.get(saved.getDoctor().getId());
+        if (queue != null) {
+            queue.remove(entryId);
+            queue.add(QueuedEntry.of(saved));
+        }
+
+        return Response.<WaitlistEntryDTO>builder()
+                .statusCode(200)
+                .message("Prioridad actualizada.")
+                .data(toDTO(saved, saved.getDoctor()))
+                .build();
+    }
+
+    @Override
+    @Async(AsyncConfig.MAINTENANCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentCancelled(AppointmentCancelledEvent event) {
+
+        // Same rule as a regular booking: nothing can be placed less than an hour ahead
+        if (event.startTime().isBefore(LocalDateTime.now().plusHours(1))) {
+            return;
+        }
+
+        LocalDate slotDate = event.startTime().toLocalDate();
+        List<QueuedEntry> candidates = queueFor(event.doctorId()).candidatesFor(slotDate);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<Long> offerIds = new ArrayList<>();
+        for (QueuedEntry candidate : candidates) {
+            if (offerIds.isEmpty() && candidate.autoBook()) {
+                if (tryAutoBook(candidate, event)) {
+                    return;
+                }
+                continue;
+            }
+            offerIds.add(candidate.id());
+            if (offerIds.size() >= offerFanOut) {
+                break;
+            }
+        }
+
+        if (!offerIds.isEmpty()) {
+            sendOffers(offerIds, event);
+        }
+    }
+
+
+    // Claim, booking and link commit together: a failure or crash part-way leaves the entry WAITING
+    private boolean tryAutoBook(QueuedEntry candidate, AppointmentCancelledEvent event) {
+
+        AppointmentDTO booked;
+        try {
+            booked = transactionTemplate.execute(status -> {
+                // Claiming the row first means a second node handling the same event cannot book it twice
+                int claimed = waitlistEntryRepo.transition(candidate.id(), WaitlistStatus.WAITING, WaitlistStatus.BOOKED);
+                if (claimed == 0) {
+                    return null;
+                }
+
+                AppointmentDTO appointment = appointmentService.bookOnBehalf(
+                        candidate.patientId(),
+                        candidate.dependentId(),
+                        event.doctorId(),
+                        event.startTime(),
+                        candidate.purposeOfConsultation());
+
+                waitlistEntryRepo.setAppointment(candidate.id(), appointment.getId());
+                return appointment;
+            });
+        } catch (RuntimeException e) {
+            // Slot already retaken, or the doctor's restrictions do not allow this patient: the claim rolled back
+            log.debug("Waitlist entry {} could not be auto-booked: {}", candidate.id(), e.getMessage());
+            return false;
+        }
+
+        removeFromQueue(event.doctorId(), candidate.id());
+        if (booked == null) {
+            // Already claimed, cancelled or expired elsewhere
+            return false;
+        }
+
+        log.info("Waitlist entry {} auto-booked into appointment {}", candidate.id(), booked.getId());
+        return true;
+    }
+
+    private void sendOffers(List<Long> entryIds, AppointmentCancelledEvent event) {
+
+        // Offers are requested in the transaction that marks them, and sent once it commits (EmailRequestedListener)
+        Integer offered = transactionTemplate.execute(status -> {
+            List<WaitlistEntry> found = waitlistEntryRepo.findWithContactsByIdIn(entryIds);
+            waitlistEntryRepo.markOffered(entryIds, LocalDateTime.now());
+
+            int requested = 0;
+            for (WaitlistEntry entry : found) {
+                if (entry.getStatus() == WaitlistStatus.WAITING) {
+                    requestOffer(entry, event);
+                    requested++;
+                }
+            }
+            return requested;
+        });
+
+        log.info("Freed slot {} of doctor {} offered to {} waitlisted patients",
+                event.startTime(), event.doctorId(), offered != null ? offered : 0);
+    }
+
+    private void requestOffer(WaitlistEntry entry, AppointmentCancelledEvent event) {
+
+        User patientUser = entry.getPatient().getUser();
+
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("patientName", patientUser.getName());
+        vars.put("doctorName", entry.getDoctor().getUser().getName());
+        vars.put("doctorId", entry.getDoctor().getId());
+        vars.put("appointmentTime", event.startTime().format(FORMATTER));
+
+        NotificationDTO offer = NotificationDTO.builder()
+                .recipient(patientUser.getEmail())
+                .subject("DAT Health: A slot is available")
+                .templateName("waitlist-slot-available")
+                .templateVariables(vars)
+                .build();
+
+        eventPublisher.publishEvent(new EmailRequestedEvent(offer, patientUser));
+    }
+
+    private DoctorQueue queueFor(Long doctorId) {
+        DoctorQueue queue = queues.get(doctorId);
+        if (queue == null || queue.isOlderThan(Duration.ofSeconds(queueRefreshSeconds))) {
+            queue = loadQueue(doctorId);
+            queues.put(doctorId, queue);
+        }
+        return queue;
+    }
+
+    private DoctorQueue loadQueue(Long doctorId) {
+
+        LocalDate today = LocalDate.now();
+
+        List<WaitlistEntry> rows = transactionTemplate.execute(status -> {
+            int expired = waitlistEntryRepo.expireEnded(doctorId, WaitlistStatus.WAITING, WaitlistStatus.EXPIRED, today);
+            if (expired > 0) {
+                log.debug("Expired {} waitlist entries of doctor {}", expired, doctorId);
+            }
+            return waitlistEntryRepo.findActiveForDoctor(doctorId, WaitlistStatus.WAITING, today);
+        });
+
+        DoctorQueue queue = new DoctorQueue();
+        if (rows != null) {
+            rows.forEach(row -> queue.add(QueuedEntry.of(row)));
+        }
+        return queue;
+    }
+
+    private void removeFromQueue(Long doctorId, Long entryId) {
+        DoctorQueue queue = queues.get(doctorId);
+        if (queue != null) {
+            queue.remove(entryId);
+        }
+    }
+
+    private WaitlistEntryDTO toDTO(WaitlistEntry entry, Doctor doctor) {
+        return WaitlistEntryDTO.builder()
+                .id(entry.getId())
+                .doctorId(doctor.getId())
+                .doctorName(doctor.getFirstName() + " " + doctor.getLastName())
+                .dependentId(entry.getDependent() != null ? entry.getDependent().getId() : null)
+                .fromDate(entry.getFromDate())
+                .toDate(entry.getToDate())
+                .purposeOfConsultation(entry.getPurposeOfConsultation())
+                .autoBook(entry.getAutoBook())
+                .priority(entry.getPriority())
+                .status(entry.getStatus())
+                .createdAt(entry.getCreatedAt())
+                .lastOfferedAt(entry.getLastOfferedAt())
+                .appointmentId(entry.getAppointmentId())
+                .build();
+    }
+
+
+    // Detached copy of a WAITING row, enough to match and book without touching the database
+    private record QueuedEntry(Long id,
+                               Long patientId,
+                               Long dependentId,
+                               LocalDate fromDate,
+                               LocalDate toDate,
+                               int priority,
+                               LocalDateTime createdAt,
+                               boolean autoBook,
+                               String purposeOfConsultation) {
+
+        static QueuedEntry of(WaitlistEntry entry) {
+            return new QueuedEntry(
+                    entry.getId(),
+                    entry.getPatient().getId(),
+                    entry.getDependent() != null ? entry.getDependent().getId() : null,
+                    entry.getFromDate(),
+                    entry.getToDate(),
+                    entry.getPriority(),
+                    entry.getCreatedAt(),
+                    Boolean.TRUE.equals(entry.getAutoBook()),
+                    entry.getPurposeOfConsultation());
+        }
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(fromDate) && !date.isAfter(toDate);
+        }
+    }
+
+    private static final class DoctorQueue {
+
+        private final PriorityQueue<QueuedEntry> heap = new PriorityQueue<>(QUEUE_ORDER);
+        private final long loadedAtNanos = System.nanoTime();
+
+        synchronized void add(QueuedEntry entry) {
+            heap.add(entry);
+        }
+
+        synchronized void remove(Long entryId) {
+            heap.removeIf(entry -> entry.id().equals(entryId));
+        }
+
+        // Waiters whose range covers the date, in queue order; ended ranges are dropped on the way
+        synchronized List<QueuedEntry> candidatesFor(LocalDate date) {
+            LocalDate today = LocalDate.now();
+            heap.removeIf(entry -> entry.toDate().isBefore(today));
+
+            PriorityQueue<QueuedEntry> copy = new PriorityQueue<>(heap);
+            List<QueuedEntry> matches = new ArrayList<>();
+            while (!copy.isEmpty()) {
+                QueuedEntry entry = copy.poll();
+                if (entry.covers(date)) {
+                    matches.add(entry);
+                }
+            }
+            return matches;
+        }
+
+        boolean isOlderThan(Duration age) {
+            return System.nanoTime() - loadedAtNanos > age.toNanos();
+        }
+    }
+}
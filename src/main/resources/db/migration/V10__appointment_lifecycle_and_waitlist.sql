@@ -0,0 +1,40 @@
+-- Objects of the appointment lifecycle sweep (AppointmentLifecycleService) and the waitlist
+-- (WaitlistService). They are not part of the V1 baseline, so databases baselined from
+-- ddl-auto=update get them here as well.
+
+-- Set once the reminder e-mail has been dispatched; the sweeps find their rows by status and time
+ALTER TABLE appointments ADD COLUMN reminder_sent_at DATETIME;
+
+CREATE INDEX idx_appointments_status_start ON appointments (status, start_time);
+
+CREATE INDEX idx_appointments_status_end ON appointments (status, end_time);
+
+-- One row per scheduled job; only the node holding an unexpired lease runs the job (LeaseService)
+CREATE TABLE scheduler_leases (
+    name         VARCHAR(100) NOT NULL,
+    owner        VARCHAR(100) NOT NULL,
+    locked_until DATETIME(6)  NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE waitlist_entries (
+    id                      BIGINT   NOT NULL AUTO_INCREMENT,
+    doctor_id               BIGINT   NOT NULL,
+    patient_id              BIGINT   NOT NULL,
+    dependent_id            BIGINT,
+    from_date               DATE     NOT NULL,
+    to_date                 DATE     NOT NULL,
+    purpose_of_consultation VARCHAR(255),
+    auto_book               BIT      NOT NULL,
+    priority                INT      NOT NULL,
+    status                  ENUM('WAITING','BOOKED','CANCELLED','EXPIRED') NOT NULL,
+    created_at              DATETIME NOT NULL,
+    last_offered_at         DATETIME,
+    appointment_id          BIGINT,
+    PRIMARY KEY (id),
+    INDEX idx_waitlist_doctor_status (doctor_id, status),
+    INDEX idx_waitlist_patient_status (patient_id, status),
+    CONSTRAINT fk_waitlist_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id),
+    CONSTRAINT fk_waitlist_patient FOREIGN KEY (patient_id) REFERENCES patients (id),
+    CONSTRAINT fk_waitlist_dependent FOREIGN KEY (dependent_id) REFERENCES dependents (id)
+) ENGINE = InnoDB;
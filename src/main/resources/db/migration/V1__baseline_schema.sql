@@ -0,0 +1,191 @@
+-- Baseline: the schema as previously generated by hibernate.ddl-auto=update (Hibernate's own
+-- constraint names and column types), before any of the later migrations.
+-- Databases created that way are baselined at version 1 (spring.flyway.baseline-on-migrate)
+-- and only receive the migrations after this one, so nothing added since may be written here.
+
+CREATE TABLE roles (
+    id   BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT UKofx66keruapi6vyqpv6f2or37 UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    id                  BIGINT       NOT NULL AUTO_INCREMENT,
+    name                VARCHAR(255),
+    email               VARCHAR(255),
+    password            VARCHAR(255) NOT NULL,
+    profile_picture_url VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT FKh8ciramu9cc9q3qcqiv4ue8a6 FOREIGN KEY (role_id) REFERENCES roles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE password_reset_code (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    code        VARCHAR(255),
+    user_id     BIGINT NOT NULL,
+    expiry_date DATETIME(6),
+    used        BIT    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKjiab2a9lleha81lwdnyrl9rq0 UNIQUE (code),
+    CONSTRAINT UKeax6e4u1vxuh6n275i4jlr2j UNIQUE (user_id),
+    CONSTRAINT FK4f0djmiqo9oc1d9pd5s0e7ciy FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE patients (
+    id                BIGINT     NOT NULL AUTO_INCREMENT,
+    expediente_number VARCHAR(5) NOT NULL,
+    first_name        VARCHAR(255),
+    last_name         VARCHAR(255),
+    date_of_birth     DATE,
+    phone             VARCHAR(255),
+    gender            VARCHAR(20),
+    known_allergies   LONGTEXT,
+    blood_group       ENUM('A_POSITIVE','A_NEGATIVE','B_POSITIVE','B_NEGATIVE','AB_POSITIVE','AB_NEGATIVE','O_POSITIVE','O_NEGATIVE'),
+    genotype          ENUM('AA','AS','SS','AC'),
+    user_id           BIGINT     NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK4tmb2jaqjk24yoirw629cnx02 UNIQUE (expediente_number),
+    CONSTRAINT FKuwca24wcd1tg6pjex8lmc0y7 FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE expediente_sequence (
+    id          BIGINT NOT NULL,
+    last_number INT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE dependents (
+    id                BIGINT     NOT NULL AUTO_INCREMENT,
+    expediente_number VARCHAR(5) NOT NULL,
+    first_name        VARCHAR(255),
+    last_name         VARCHAR(255),
+    date_of_birth     DATE,
+    gender            VARCHAR(50),
+    relationship      VARCHAR(50),
+    profile_photo     VARCHAR(500),
+    known_allergies   LONGTEXT,
+    blood_group       ENUM('A_POSITIVE','A_NEGATIVE','B_POSITIVE','B_NEGATIVE','AB_POSITIVE','AB_NEGATIVE','O_POSITIVE','O_NEGATIVE'),
+    genotype          ENUM('AA','AS','SS','AC'),
+    patient_id        BIGINT     NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKrb1995nxb615r926tiqyv3lav UNIQUE (expediente_number),
+    CONSTRAINT FK6ms2engm8s0lxthg5mgpur6s4 FOREIGN KEY (patient_id) REFERENCES patients (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE doctors (
+    id                         BIGINT NOT NULL AUTO_INCREMENT,
+    first_name                 VARCHAR(255),
+    last_name                  VARCHAR(255),
+    gender                     VARCHAR(255),
+    phone                      VARCHAR(255),
+    specialization             ENUM('MEDICINA_INTERNA','CARDIOLOGIA','NEUMOLOGIA','GASTROENTEROLOGIA','NEFROLOGIA',
+        'ENDOCRINOLOGIA','REUMATOLOGIA','INFECTOLOGIA','HEMATOLOGIA','ONCOLOGIA_MEDICA',
+        'GERIATRIA','MEDICINA_FAMILIAR','INMUNOLOGIA','PEDIATRIA','NEUROLOGIA',
+        'DERMATOLOGIA','PSIQUIATRIA','OFTALMOLOGIA','OTORRINOLARINGOLOGIA',
+        'MEDICINA_FISICA_Y_REHABILITACION','MEDICINA_DE_DEPORTE','CIRUGIA_GENERAL',
+        'NEUROCIRUGIA','CIRUGIA_PLASTICA_RECONSTRUCTIVA','CIRUGIA_CARDIOVASCULAR',
+        'CIRUGIA_TORACICA','TRAUMATOLOGIA_Y_ORTOPEDIA','UROLOGIA',
+        'GINECOLOGIA_Y_OBSTETRICIA','CIRUGIA_PEDIATRICA','ANGIOLOGIA_Y_CIRUGIA_VASCULAR',
+        'CIRUGIA_MAXILOFACIAL','ANESTESIOLOGIA_Y_REANIMACION','RADIOLOGIA_O_IMAGENOLOGIA',
+        'ANATOMIA_PATOLOGICA','MEDICINA_DE_LABORATORIO','MEDICINA_NUCLEAR',
+        'MEDICINA_INTENSIVA','MEDICINA_DE_EMERGENCIAS','MEDICINA_PREVENTIVA',
+        'GENETICA_MEDICA','ODONTOLOGIA_GENERAL','ORTODONCIA','PERIODONCIA','ENDODONCIA'),
+    additional_specializations VARCHAR(500),
+    license_number             VARCHAR(255),
+    gender_restriction         VARCHAR(20),
+    min_age                    INT,
+    max_age                    INT,
+    consultation_minutes       INT,
+    user_id                    BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKt1f6cueqyjwx5ghew9ar1exe3 UNIQUE (user_id),
+    CONSTRAINT FKe9pf5qtxxkdyrwibaevo9frtk FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE schedules (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    day_of_week VARCHAR(255) NOT NULL,
+    is_active   BIT          NOT NULL,
+    start_time  TIME         NOT NULL,
+    end_time    TIME         NOT NULL,
+    lunch_start TIME,
+    lunch_end   TIME,
+    doctor_id   BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKfpyatautb52nts46e1y1y4nvg FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE doctor_schedules (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    day_of_week INT,
+    start_time  TIME,
+    end_time    TIME,
+    lunch_start TIME,
+    lunch_end   TIME,
+    doctor_id   BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKqptts4sun4tpv6elafrnrfeup FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+) ENGINE = InnoDB;
+
+-- start_time and end_time are mapped with columnDefinition = "DATETIME" (whole seconds)
+CREATE TABLE appointments (
+    id                      BIGINT   NOT NULL AUTO_INCREMENT,
+    start_time              DATETIME NOT NULL,
+    end_time                DATETIME,
+    meeting_link            VARCHAR(255),
+    purpose_of_consultation VARCHAR(255),
+    initial_symptoms        VARCHAR(255),
+    status                  ENUM('SCHEDULED','COMPLETED','CANCELLED','NO_SHOW'),
+    doctor_id               BIGINT   NOT NULL,
+    patient_id              BIGINT,
+    dependent_id            BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT FKmujeo4tymoo98cmf7uj3vsv76 FOREIGN KEY (doctor_id) REFERENCES doctors (id),
+    CONSTRAINT FK8exap5wmg8kmb1g1rx3by21yt FOREIGN KEY (patient_id) REFERENCES patients (id),
+    CONSTRAINT FK8hwvpxhwa3c3xufrjhuxpny4g FOREIGN KEY (dependent_id) REFERENCES dependents (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE consultations (
+    id                 BIGINT NOT NULL AUTO_INCREMENT,
+    consultation_date  DATETIME(6),
+    subjective_notes   LONGTEXT,
+    objective_findings LONGTEXT,
+    assessment         LONGTEXT,
+    plan               LONGTEXT,
+    appointment_id     BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKp0pg0r434dp34iesx6lj69b8m UNIQUE (appointment_id),
+    CONSTRAINT FKp77tpwkqp4e3fxdi9d7eo44cx FOREIGN KEY (appointment_id) REFERENCES appointments (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE consultation_documents (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    file_name       VARCHAR(255) NOT NULL,
+    file_path       VARCHAR(255) NOT NULL,
+    file_type       VARCHAR(255) NOT NULL,
+    file_size       BIGINT       NOT NULL,
+    uploaded_at     DATETIME(6)  NOT NULL,
+    consultation_id BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKdrog1w9lhu1jbn96pm5uhggx5 FOREIGN KEY (consultation_id) REFERENCES consultations (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE notifications (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    subject    VARCHAR(255),
+    recipient  VARCHAR(255),
+    message    VARCHAR(255),
+    type       ENUM('EMAIL','SMS','IN_APP'),
+    user_id    BIGINT,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FK9y21adhxn0ayjhfocscqox7bh FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,6 @@
+-- Covering index for the booking conflict check:
+--   doctor_id = ? AND status = ? AND start_time < ? AND end_time > ?
+-- The range on start_time is resolved in the index, end_time is filtered from the index entry,
+-- and the selected id is part of every InnoDB secondary index, so no row lookups are needed.
+CREATE INDEX idx_appointments_doctor_status_time
+    ON appointments (doctor_id, status, start_time, end_time);
@@ -0,0 +1,10 @@
+-- Shared token buckets for app.rate-limit.store=database (see DatabaseRateLimitStore).
+-- Times are epoch millis; rows whose bucket has refilled (full_at in the past) are deleted periodically.
+CREATE TABLE rate_limit_buckets (
+    bucket_key  VARCHAR(191) NOT NULL,
+    tokens      DOUBLE       NOT NULL,
+    refilled_at BIGINT       NOT NULL,
+    full_at     BIGINT       NOT NULL,
+    PRIMARY KEY (bucket_key),
+    INDEX idx_rate_limit_buckets_full_at (full_at)
+) ENGINE = InnoDB;
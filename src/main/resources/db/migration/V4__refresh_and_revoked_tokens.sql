@@ -0,0 +1,28 @@
+-- Rotating refresh tokens (stored as SHA-256) and revoked access tokens (see RefreshTokenService,
+-- TokenRevocationList). Both tables only hold rows until the tokens they describe expire.
+CREATE TABLE refresh_tokens (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    token_hash  VARCHAR(64) NOT NULL,
+    family_id   VARCHAR(36) NOT NULL,
+    user_id     BIGINT      NOT NULL,
+    created_at  DATETIME(6) NOT NULL,
+    expires_at  DATETIME(6) NOT NULL,
+    used_at     DATETIME(6) NULL,
+    revoked_at  DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    INDEX idx_refresh_tokens_family (family_id),
+    INDEX idx_refresh_tokens_expires_at (expires_at),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE revoked_tokens (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    jti         VARCHAR(36) NULL,
+    user_id     BIGINT      NULL,
+    revoked_at  DATETIME(6) NOT NULL,
+    expires_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_revoked_tokens_revoked_at (revoked_at),
+    INDEX idx_revoked_tokens_expires_at (expires_at)
+) ENGINE = InnoDB;
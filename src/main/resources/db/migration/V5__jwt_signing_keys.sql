@@ -0,0 +1,12 @@
+-- Public halves of the nodes' JWT signing keys, looked up by the kid header (see JwtKeyManager).
+-- Rows are deleted once no token signed with the key can still be valid.
+CREATE TABLE jwt_signing_keys (
+    kid         VARCHAR(64)   NOT NULL,
+    algorithm   VARCHAR(16)   NOT NULL,
+    public_key  VARCHAR(2048) NOT NULL,
+    node        VARCHAR(100)  NOT NULL,
+    created_at  DATETIME(6)   NOT NULL,
+    expires_at  DATETIME(6)   NOT NULL,
+    PRIMARY KEY (kid),
+    INDEX idx_jwt_signing_keys_expires_at (expires_at)
+) ENGINE = InnoDB;
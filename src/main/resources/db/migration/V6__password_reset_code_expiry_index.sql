@@ -0,0 +1,3 @@
+-- Lets the purge job (PasswordResetCodeStore.purgeExpired) find abandoned codes without a full scan.
+CREATE INDEX idx_password_reset_code_expiry_date
+    ON password_reset_code (expiry_date);
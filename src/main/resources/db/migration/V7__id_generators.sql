@@ -0,0 +1,19 @@
+-- Pooled id blocks for entities that are inserted in bulk (appointments, consultation documents,
+-- notifications): Hibernate reserves 50 ids per round trip, so inserts can be JDBC-batched, which
+-- IDENTITY columns prevent. Each row starts a full block above the current maximum id.
+-- The AUTO_INCREMENT attribute stays on the id columns; rows inserted outside Hibernate must bump
+-- next_val past their ids (see src/test/resources/db/bench/seed-appointments.sql).
+CREATE TABLE id_generators (
+    name     VARCHAR(64) NOT NULL,
+    next_val BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'appointments', COALESCE(MAX(id), 0) + 100 FROM appointments;
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'consultation_documents', COALESCE(MAX(id), 0) + 100 FROM consultation_documents;
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'notifications', COALESCE(MAX(id), 0) + 100 FROM notifications;
@@ -0,0 +1,66 @@
+-- Archive tier (ArchivalService): closed appointments past the horizon move here together with their
+-- consultations and documents, and old notifications likewise, so the hot tables only hold recent rows.
+-- Same columns and ids as the hot tables plus archived_at. Rows are written once and read rarely,
+-- so they are stored compressed (needs innodb_file_per_table, the default).
+CREATE TABLE appointments_archive (
+    id                      BIGINT      NOT NULL,
+    start_time              DATETIME    NOT NULL,
+    end_time                DATETIME,
+    meeting_link            VARCHAR(255),
+    purpose_of_consultation VARCHAR(255),
+    initial_symptoms        VARCHAR(255),
+    status                  ENUM('SCHEDULED','COMPLETED','CANCELLED','NO_SHOW'),
+    reminder_sent_at        DATETIME,
+    doctor_id               BIGINT      NOT NULL,
+    patient_id              BIGINT,
+    dependent_id            BIGINT,
+    archived_at             DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointments_archive_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id),
+    CONSTRAINT fk_appointments_archive_patient FOREIGN KEY (patient_id) REFERENCES patients (id),
+    CONSTRAINT fk_appointments_archive_dependent FOREIGN KEY (dependent_id) REFERENCES dependents (id)
+) ENGINE = InnoDB ROW_FORMAT = COMPRESSED KEY_BLOCK_SIZE = 8;
+
+CREATE TABLE consultations_archive (
+    id                 BIGINT      NOT NULL,
+    consultation_date  DATETIME(6),
+    subjective_notes   LONGTEXT,
+    objective_findings LONGTEXT,
+    assessment         LONGTEXT,
+    plan               LONGTEXT,
+    appointment_id     BIGINT      NOT NULL,
+    archived_at        DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_consultations_archive_appointment UNIQUE (appointment_id),
+    CONSTRAINT fk_consultations_archive_appointment FOREIGN KEY (appointment_id) REFERENCES appointments_archive (id)
+) ENGINE = InnoDB ROW_FORMAT = COMPRESSED KEY_BLOCK_SIZE = 8;
+
+CREATE TABLE consultation_documents_archive (
+    id              BIGINT       NOT NULL,
+    file_name       VARCHAR(255) NOT NULL,
+    file_path       VARCHAR(255) NOT NULL,
+    file_type       VARCHAR(255) NOT NULL,
+    file_size       BIGINT       NOT NULL,
+    uploaded_at     DATETIME(6)  NOT NULL,
+    consultation_id BIGINT       NOT NULL,
+    archived_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_consultation_documents_archive_consultation FOREIGN KEY (consultation_id)
+        REFERENCES consultations_archive (id)
+) ENGINE = InnoDB ROW_FORMAT = COMPRESSED KEY_BLOCK_SIZE = 8;
+
+CREATE TABLE notifications_archive (
+    id          BIGINT      NOT NULL,
+    subject     VARCHAR(255),
+    recipient   VARCHAR(255),
+    message     VARCHAR(255),
+    type        ENUM('EMAIL','SMS','IN_APP'),
+    user_id     BIGINT,
+    created_at  DATETIME(6),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_notifications_archive_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB ROW_FORMAT = COMPRESSED KEY_BLOCK_SIZE = 8;
+
+-- The archival sweep selects notifications by age
+CREATE INDEX idx_notifications_created_at ON notifications (created_at);
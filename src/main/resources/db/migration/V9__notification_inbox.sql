@@ -0,0 +1,8 @@
+-- In-app notification inbox: read state per notification, and an index for the per-user listing
+-- (user_id, created_at DESC, id DESC keyset pages) and unread counts. It also serves the
+-- user_id foreign key, so MySQL drops the index it created for fk_notifications_user.
+ALTER TABLE notifications ADD COLUMN read_at DATETIME(6);
+
+CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at);
+
+ALTER TABLE notifications_archive ADD COLUMN read_at DATETIME(6);
@@ -0,0 +1,180 @@
+package com.example.dat.appointment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.appointment.dto.AppointmentSeriesDTO;
+import com.example.dat.appointment.dto.AppointmentSeriesResultDTO;
+import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.appointment.service.AppointmentService;
+import com.example.dat.doctor.repo.DoctorRepo;
+import com.example.dat.exceptions.BadRequestException;
+import com.example.dat.notification.event.EmailRequestedEvent;
+import com.example.dat.support.ClinicDataSeeder;
+import com.example.dat.users.repo.UserRepo;
+
+import jakarta.validation.Validator;
+
+/**
+ * Series booking for one seeded patient and doctor: at most 52 occurrences and no null start
+ * times, occurrences that overlap each other are caught before anything is saved, and the whole series sends one
+ * summary e-mail to each party.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RecordApplicationEvents
+class AppointmentSeriesBookingTest {
+
+    @Autowired private AppointmentService appointmentService;
+    @Autowired private AppointmentRepo appointmentRepo;
+    @Autowired private UserRepo userRepo;
+    @Autowired private DoctorRepo doctorRepo;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ClinicDataSeeder seeder;
+    @Autowired private ApplicationEvents events;
+    @Autowired private Validator validator;
+
+    private String patientEmail;
+    private String doctorEmail;
+    private Long patientUserId;
+    private Long doctorId;
+    private LocalDate monday;
+
+    @BeforeAll
+    void seed() {
+        ClinicDataSeeder.Dataset dataset = seeder.seed(ClinicDataSeeder.Scale.of(1, 1));
+        patientEmail = dataset.patientEmails().get(0);
+        patientUserId = userRepo.findByEmail(patientEmail).orElseThrow().getId();
+        doctorId = dataset.doctorIds().get(0);
+        doctorEmail = transactionTemplate.execute(status ->
+                doctorRepo.findById(doctorId).orElseThrow().getUser().getEmail());
+        monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @BeforeEach
+    void signIn() {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(patientEmail, null, List.of()));
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void seriesAreCappedAtFiftyTwoOccurrences() {
+
+        int before = booked();
+
+        assertThatThrownBy(() -> appointmentService.bookAppointmentSeries(AppointmentSeriesDTO.builder()
+                .doctorId(doctorId)
+                .startTime(monday.plusWeeks(1).atTime(8, 0))
+                .occurrences(53)
+                .intervalDays(1)
+                .build()))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("52");
+
+        assertThat(booked()).isEqualTo(before);
+        assertThat(events.stream(EmailRequestedEvent.class)).isEmpty();
+    }
+
+    @Test
+    void explicitStartTimesAreCheckedBeforeBooking() {
+
+        LocalDateTime eight = monday.plusWeeks(3).atTime(8, 0);
+        List<LocalDateTime> tooMany = eight.toLocalDate().datesUntil(eight.toLocalDate().plusDays(53))
+                .map(date -> date.atTime(8, 0))
+                .toList();
+        List<LocalDateTime> withNull = new ArrayList<>(List.of(eight));
+        withNull.add(null);
+        int before = booked();
+
+        AppointmentSeriesDTO oversized = AppointmentSeriesDTO.builder().doctorId(doctorId).startTimes(tooMany).build();
+        AppointmentSeriesDTO withGap = AppointmentSeriesDTO.builder().doctorId(doctorId).startTimes(withNull).build();
+
+        // Rejected by @Valid on the endpoint, and by the service for callers that skip validation
+        assertThat(validator.validate(oversized)).isNotEmpty();
+        assertThat(validator.validate(withGap)).isNotEmpty();
+        assertThatThrownBy(() -> appointmentService.bookAppointmentSeries(oversized))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("52");
+        assertThatThrownBy(() -> appointmentService.bookAppointmentSeries(withGap))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(booked()).isEqualTo(before);
+    }
+
+    @Test
+    void occurrencesOverlappingEachOtherAreRejected() {
+
+        LocalDateTime nine = monday.plusWeeks(2).atTime(9, 0);
+        int before = booked();
+
+        // All or nothing (the default): the clash inside the series books nothing
+        assertThatThrownBy(() -> appointmentService.bookAppointmentSeries(AppointmentSeriesDTO.builder()
+                .doctorId(doctorId)
+                .startTimes(List.of(nine, nine.plusMinutes(15)))
+                .build()))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(booked()).isEqualTo(before);
+
+        AppointmentSeriesResultDTO result = appointmentService.bookAppointmentSeries(AppointmentSeriesDTO.builder()
+                .doctorId(doctorId)
+                .startTimes(List.of(nine, nine.plusMinutes(15), nine.plusHours(1)))
+                .allOrNothing(false)
+                .build()).getData();
+
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getBooked()).isEqualTo(2);
+        assertThat(result.getOccurrences())
+                .extracting(AppointmentSeriesResultDTO.Occurrence::isBooked)
+                .containsExactly(true, false, true);
+        assertThat(result.getOccurrences().get(1).getReason()).isNotBlank();
+        assertThat(booked()).isEqualTo(before + 2);
+    }
+
+    @Test
+    void seriesSendsOneSummaryEmailPerParty() {
+
+        AppointmentSeriesResultDTO result = appointmentService.bookAppointmentSeries(AppointmentSeriesDTO.builder()
+                .doctorId(doctorId)
+                .startTime(monday.plusWeeks(3).atTime(10, 0))
+                .occurrences(4)
+                .purposeOfConsultation("Fisioterapia")
+                .build()).getData();
+
+        assertThat(result.getBooked()).isEqualTo(4);
+        assertThat(events.stream(EmailRequestedEvent.class))
+                .hasSize(2)
+                .allSatisfy(event -> assertThat(event.notification().getTemplateName()).isEqualTo("appointment-series"))
+                .extracting(event -> event.notification().getRecipient())
+                .containsExactlyInAnyOrder(patientEmail, doctorEmail);
+    }
+
+    private int booked() {
+        return appointmentRepo.findByPatient_User_IdOrderByIdDesc(patientUserId).size();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.dat.appointment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.appointment.dto.AppointmentDTO;
+import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.appointment.service.AppointmentService;
+import com.example.dat.doctor.repo.DoctorRepo;
+import com.example.dat.support.ClinicDataSeeder;
+import com.example.dat.users.repo.UserRepo;
+import com.example.dat.users.service.UserService;
+
+/**
+ * Transaction boundaries without open-session-in-view: lazy associations only load inside a
+ * service transaction, read-only transactions never flush, the read paths still return
+ * fully built DTOs, and uploads copy their file before a transaction is opened.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionBoundaryTest {
+
+    @Autowired private ApplicationContext context;
+    @Autowired private AppointmentService appointmentService;
+    @Autowired private UserService userService;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Autowired private UserRepo userRepo;
+    @Autowired private DoctorRepo doctorRepo;
+    @Autowired private AppointmentRepo appointmentRepo;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ClinicDataSeeder seeder;
+
+    private String patientEmail;
+    private Long doctorId;
+    private Long appointmentId;
+
+    @BeforeAll
+    void seed() {
+        ClinicDataSeeder.Dataset dataset = seeder.seed(ClinicDataSeeder.Scale.builder()
+                .doctors(1)
+                .patients(1)
+                .dependentsPerPatient(0)
+                .historyPerPatient(2)
+                .build());
+
+        patientEmail = dataset.patientEmails().get(0);
+        doctorId = dataset.doctorIds().get(0);
+        Long patientUserId = userRepo.findByEmail(patientEmail).orElseThrow().getId();
+        appointmentId = appointmentRepo.findByPatient_User_IdOrderByIdDesc(patientUserId).get(0).getId();
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void openInViewIsDisabled() {
+        assertThat(context.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    void lazyAssociationOutsideATransactionFailsFast() {
+
+        Appointment appointment = appointmentRepo.findById(appointmentId).orElseThrow();
+
+        assertThatThrownBy(() -> appointment.getDoctor().getFirstName())
+                .isInstanceOf(LazyInitializationException.class);
+        assertThatThrownBy(() -> appointment.getPatient().getUser().getEmail())
+                .isInstanceOf(LazyInitializationException.class);
+    }
+
+    @Test
+    void readOnlyTransactionDoesNotFlushChanges() {
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String before = transactionTemplate.execute(status -> doctorRepo.findById(doctorId).orElseThrow().getFirstName());
+        readOnly.executeWithoutResult(status -> doctorRepo.findById(doctorId).orElseThrow().setFirstName("Changed"));
+
+        assertThat(transactionTemplate.execute(status -> doctorRepo.findById(doctorId).orElseThrow().getFirstName()))
+                .isEqualTo(before);
+    }
+
+    @Test
+    void serviceReadPathBuildsItsDtosInsideTheTransaction() {
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(patientEmail, null, List.of()));
+
+        List<AppointmentDTO> appointments = appointmentService.getMyAppointments().getData();
+
+        assertThat(appointments).hasSize(2);
+        assertThat(appointments).allSatisfy(dto -> assertThat(dto.getStartTime()).isNotNull());
+    }
+
+    @Test
+    void profilePictureIsCopiedOutsideATransaction() {
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(patientEmail, null, List.of()));
+        AtomicBoolean copiedInTransaction = new AtomicBoolean(true);
+        MockMultipartFile picture = new MockMultipartFile("file", "me.png", "image/png", new byte[] {1, 2, 3}) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                copiedInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+                return super.getInputStream();
+            }
+        };
+
+        Object url = userService.uploadProfilePicture(picture).getData();
+
+        assertThat(copiedInTransaction).isFalse();
+        assertThat(userRepo.findByEmail(patientEmail).orElseThrow().getProfilePictureUrl()).isEqualTo(url);
+    }
+}
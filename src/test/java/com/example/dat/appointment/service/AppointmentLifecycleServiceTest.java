@@ -0,0 +1,163 @@
+package com.example.dat.appointment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.consultation.entity.Consultation;
+import com.example.dat.consultation.repo.ConsultationRepo;
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.doctor.repo.DoctorRepo;
+import com.example.dat.enums.AppointmentStatus;
+import com.example.dat.notification.event.EmailRequestedEvent;
+import com.example.dat.patient.entity.Patient;
+import com.example.dat.patient.repo.PatientRepo;
+import com.example.dat.scheduling.service.LeaseService;
+import com.example.dat.support.ClinicDataSeeder;
+import com.example.dat.users.repo.UserRepo;
+
+/**
+ * Lifecycle sweep over a fresh patient per test: nothing happens without the lease, a reminder
+ * is requested once however often the sweep runs, inside the transaction that marks it sent, and overdue appointments close as COMPLETED when
+ * they have consultation notes and as NO_SHOW otherwise, once the grace period has passed.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AppointmentLifecycleServiceTest {
+
+    @Autowired private AppointmentRepo appointmentRepo;
+    @Autowired private ConsultationRepo consultationRepo;
+    @Autowired private DoctorRepo doctorRepo;
+    @Autowired private PatientRepo patientRepo;
+    @Autowired private UserRepo userRepo;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ClinicDataSeeder seeder;
+
+    private Long doctorId;
+    private String patientEmail;
+    // Reminder e-mails requested by the sweep, and whether each was requested inside a transaction
+    private final List<EmailRequestedEvent> reminders = new ArrayList<>();
+    private final List<Boolean> requestedInTransaction = new ArrayList<>();
+    private LeaseService leaseService;
+    private AppointmentLifecycleService lifecycleService;
+
+    @BeforeAll
+    void seedDoctor() {
+        doctorId = seeder.seed(ClinicDataSeeder.Scale.of(1, 0)).doctorIds().get(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        patientEmail = seeder.seed(ClinicDataSeeder.Scale.of(0, 1)).patientEmails().get(0);
+
+        reminders.clear();
+        requestedInTransaction.clear();
+        ApplicationEventPublisher eventPublisher = event -> {
+            if (event instanceof EmailRequestedEvent email && patientEmail.equals(email.notification().getRecipient())) {
+                reminders.add(email);
+                requestedInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            }
+        };
+        leaseService = mock(LeaseService.class);
+        lifecycleService = new AppointmentLifecycleService(appointmentRepo, eventPublisher, leaseService,
+                transactionTemplate);
+        ReflectionTestUtils.setField(lifecycleService, "enabled", true);
+        ReflectionTestUtils.setField(lifecycleService, "reminderHoursAhead", 24L);
+        ReflectionTestUtils.setField(lifecycleService, "noShowGraceMinutes", 30L);
+        ReflectionTestUtils.setField(lifecycleService, "batchSize", 500);
+        ReflectionTestUtils.setField(lifecycleService, "leaseSeconds", 300L);
+    }
+
+    @Test
+    void reminderIsSentOnceAndOnlyUnderTheLease() {
+
+        Long tomorrow = appointment(LocalDateTime.now().plusHours(20), false);
+
+        when(leaseService.tryAcquire(eq("appointment-lifecycle"), any())).thenReturn(false);
+        lifecycleService.sweep();
+        assertThat(reminders).isEmpty();
+        assertThat(reload(tomorrow).getReminderSentAt()).isNull();
+
+        when(leaseService.tryAcquire(eq("appointment-lifecycle"), any())).thenReturn(true);
+        lifecycleService.sweep();
+        lifecycleService.sweep();
+
+        assertThat(reminders).singleElement()
+                .satisfies(email -> assertThat(email.notification().getTemplateName()).isEqualTo("appointment-reminder"));
+        assertThat(requestedInTransaction).containsExactly(true);
+        assertThat(reload(tomorrow).getReminderSentAt()).isNotNull();
+        assertThat(reload(tomorrow).getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+    }
+
+    @Test
+    void overdueAppointmentsCloseAsCompletedOrNoShow() {
+
+        LocalDateTime now = LocalDateTime.now();
+        Long attended = appointment(now.minusHours(3), true);
+        Long missed = appointment(now.minusHours(2), false);
+        // Ended ten minutes ago: still inside the 30-minute grace period
+        Long endedJustNow = appointment(now.minusMinutes(40), false);
+
+        when(leaseService.tryAcquire(eq("appointment-lifecycle"), any())).thenReturn(true);
+        lifecycleService.sweep();
+
+        assertThat(reload(attended).getStatus()).isEqualTo(AppointmentStatus.COMPLETED);
+        assertThat(reload(missed).getStatus()).isEqualTo(AppointmentStatus.NO_SHOW);
+        assertThat(reload(endedJustNow).getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+        // Past appointments are not reminded
+        assertThat(reminders).isEmpty();
+    }
+
+    // A SCHEDULED 30-minute appointment of the test's patient, optionally with consultation notes
+    private Long appointment(LocalDateTime start, boolean withConsultation) {
+        LocalDateTime startTime = start.truncatedTo(ChronoUnit.MINUTES);
+        return transactionTemplate.execute(status -> {
+            Doctor doctor = doctorRepo.findById(doctorId).orElseThrow();
+            Patient patient = patientRepo.findByUser(userRepo.findByEmail(patientEmail).orElseThrow()).orElseThrow();
+            Appointment appointment = appointmentRepo.save(Appointment.builder()
+                    .startTime(startTime)
+                    .endTime(startTime.plusMinutes(30))
+                    .meetingLink("https://meet.jit.si/lifecycle-" + UUID.randomUUID())
+                    .purposeOfConsultation("Control")
+                    .status(AppointmentStatus.SCHEDULED)
+                    .doctor(doctor)
+                    .patient(patient)
+                    .build());
+            if (withConsultation) {
+                consultationRepo.save(Consultation.builder()
+                        .consultationDate(startTime)
+                        .subjectiveNotes("Paciente refiere molestias leves.")
+                        .appointment(appointment)
+                        .build());
+            }
+            return appointment.getId();
+        });
+    }
+
+    private Appointment reload(Long appointmentId) {
+        return appointmentRepo.findById(appointmentId).orElseThrow();
+    }
+}
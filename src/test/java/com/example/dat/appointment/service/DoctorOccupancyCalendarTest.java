@@ -0,0 +1,181 @@
+package com.example.dat.appointment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.appointment.dto.CalendarDayDTO;
+import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.doctor.repo.DoctorRepo;
+import com.example.dat.doctor.repo.ScheduleRepo;
+import com.example.dat.enums.AppointmentStatus;
+import com.example.dat.patient.entity.Patient;
+import com.example.dat.patient.repo.PatientRepo;
+import com.example.dat.support.ClinicDataSeeder;
+import com.example.dat.users.repo.UserRepo;
+
+/**
+ * Occupancy calendar of a seeded doctor (30-minute slots, 08:00-17:00, lunch 12:00-13:00) on a clock
+ * the test moves: days are built from the schedule, changes made in a transaction show only once it
+ * commits, a completed appointment reloads as it was marked, and days are reloaded after their TTL and
+ * not cached beyond max-entries.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DoctorOccupancyCalendarTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final int MAX_ENTRIES = 3;
+
+    // 08:00-11:00 and 13:30-16:30 bookable; 11:30 and 13:00 touch lunch
+    private static final String FREE_DAY = "FFFFFFF----FFFFFFF";
+
+    @Autowired private AppointmentRepo appointmentRepo;
+    @Autowired private ScheduleRepo scheduleRepo;
+    @Autowired private DoctorRepo doctorRepo;
+    @Autowired private PatientRepo patientRepo;
+    @Autowired private UserRepo userRepo;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ClinicDataSeeder seeder;
+
+    private final AtomicLong clock = new AtomicLong();
+    private DoctorOccupancyCalendar calendar;
+    private Doctor doctor;
+    private Patient patient;
+    private LocalDate monday;
+
+    @BeforeAll
+    void seed() {
+        ClinicDataSeeder.Dataset dataset = seeder.seed(ClinicDataSeeder.Scale.of(1, 1));
+        doctor = doctorRepo.findById(dataset.doctorIds().get(0)).orElseThrow();
+        patient = patientRepo.findByUser(userRepo.findByEmail(dataset.patientEmails().get(0)).orElseThrow())
+                .orElseThrow();
+        monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).plusWeeks(4);
+    }
+
+    @BeforeEach
+    void newCalendar() {
+        calendar = new DoctorOccupancyCalendar(appointmentRepo, scheduleRepo, TTL, MAX_ENTRIES, clock::get);
+    }
+
+    @Test
+    void dayIsBuiltFromTheSchedule() {
+
+        List<CalendarDayDTO> week = calendar.getDays(doctor, monday, 7);
+
+        assertThat(week).hasSize(7);
+        assertThat(week.get(0).getOccupancy()).isEqualTo(FREE_DAY);
+        assertThat(week.get(0).getFreeSlots()).isEqualTo(14);
+        assertThat(week.get(0).getBookedSlots()).isZero();
+        // No schedule on Sunday
+        assertThat(week.get(6).getOccupancy()).isEmpty();
+    }
+
+    @Test
+    void changesShowOnlyAfterTheirTransactionCommits() {
+
+        calendar.getDays(doctor, monday, 1);
+        LocalDateTime nine = monday.atTime(9, 0);
+        LocalDateTime ten = monday.atTime(10, 0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            calendar.markBooked(doctor.getId(), nine, nine.plusMinutes(30));
+            assertThat(occupancy()).isEqualTo(FREE_DAY);
+        });
+        assertThat(occupancy()).isEqualTo("FFBFFFF----FFFFFFF");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            calendar.markBooked(doctor.getId(), ten, ten.plusMinutes(30));
+            status.setRollbackOnly();
+        });
+        assertThat(occupancy()).isEqualTo("FFBFFFF----FFFFFFF");
+
+        calendar.markCompleted(doctor.getId(), nine, nine.plusMinutes(30));
+        assertThat(occupancy()).isEqualTo("FFCFFFF----FFFFFFF");
+
+        calendar.markFree(doctor.getId(), nine, nine.plusMinutes(30));
+        assertThat(occupancy()).isEqualTo(FREE_DAY);
+    }
+
+    @Test
+    void completedAppointmentReloadsAsMarked() {
+
+        LocalDate tuesday = monday.plusDays(1);
+        LocalDateTime nine = tuesday.atTime(9, 0);
+        Appointment appointment = appointmentRepo.save(Appointment.builder()
+                .startTime(nine)
+                .endTime(nine.plusMinutes(30))
+                .status(AppointmentStatus.COMPLETED)
+                .doctor(doctor)
+                .patient(patient)
+                .build());
+
+        calendar.getDays(doctor, tuesday, 1);
+        calendar.markCompleted(doctor.getId(), nine, DoctorOccupancyCalendar.occupiedUntil(appointment));
+        String marked = occupancy(tuesday);
+        assertThat(marked).isEqualTo("FFCFFFF----FFFFFFF");
+
+        // Rebuilt from the row once expired: same slots as the mark
+        clock.addAndGet(TTL.toNanos());
+        assertThat(occupancy(tuesday)).isEqualTo(marked);
+    }
+
+    @Test
+    void expiredDaysAreReloaded() {
+
+        calendar.getDays(doctor, monday, 1);
+        // Only in the cached bitmap: the database has no such appointment
+        calendar.markBooked(doctor.getId(), monday.atTime(8, 0), monday.atTime(8, 30));
+        assertThat(occupancy()).startsWith("B");
+
+        clock.addAndGet(TTL.toNanos() - 1);
+        assertThat(occupancy()).startsWith("B");
+
+        clock.addAndGet(1);
+        assertThat(occupancy()).isEqualTo(FREE_DAY);
+    }
+
+    @Test
+    void daysBeyondMaxEntriesAreNotCached() {
+
+        List<LocalDate> dates = monday.datesUntil(monday.plusDays(MAX_ENTRIES + 1)).toList();
+        calendar.getDays(doctor, monday, dates.size());
+        dates.forEach(date -> calendar.markBooked(doctor.getId(), date.atTime(8, 0), date.atTime(8, 30)));
+
+        // Marks only reach cached days; the day left out of the full cache is read from the database again
+        assertThat(dates).filteredOn(date -> occupancy(date).startsWith("B")).hasSize(MAX_ENTRIES);
+
+        // Once evicted, expired days make room again
+        clock.addAndGet(TTL.toNanos());
+        calendar.evictExpired();
+        calendar.getDays(doctor, monday, dates.size());
+        dates.forEach(date -> calendar.markBooked(doctor.getId(), date.atTime(8, 0), date.atTime(8, 30)));
+        assertThat(dates).filteredOn(date -> occupancy(date).startsWith("B")).hasSize(MAX_ENTRIES);
+    }
+
+    private String occupancy() {
+        return occupancy(monday);
+    }
+
+    private String occupancy(LocalDate date) {
+        return calendar.getDays(doctor, date, 1).get(0).getOccupancy();
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.dat.archive.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.appointment.dto.AppointmentDTO;
+import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.appointment.service.AppointmentService;
+import com.example.dat.archive.repo.ArchivedAppointmentRepo;
+import com.example.dat.archive.repo.ArchivedNotificationRepo;
+import com.example.dat.consultation.dto.ConsultationDTO;
+import com.example.dat.consultation.entity.ConsultationDocument;
+import com.example.dat.consultation.repo.ConsultationDocumentRepo;
+import com.example.dat.consultation.repo.ConsultationRepo;
+import com.example.dat.consultation.service.ConsultationService;
+import com.example.dat.enums.NotificationType;
+import com.example.dat.notification.entity.Notification;
+import com.example.dat.notification.repo.NotificationRepo;
+import com.example.dat.patient.repo.PatientRepo;
+import com.example.dat.support.ClinicDataSeeder;
+import com.example.dat.users.entity.User;
+import com.example.dat.users.repo.UserRepo;
+
+/**
+ * Archival of closed history: the rows leave the hot tables in one move, and the history
+ * endpoints return the same appointments and consultation notes as before.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArchivalServiceTest {
+
+    @Autowired private ArchivalService archivalService;
+    @Autowired private AppointmentService appointmentService;
+    @Autowired private ConsultationService consultationService;
+    @Autowired private ArchivedAppointmentRepo archivedAppointmentRepo;
+    @Autowired private ArchivedNotificationRepo archivedNotificationRepo;
+    @Autowired private NotificationRepo notificationRepo;
+    @Autowired private ConsultationDocumentRepo consultationDocumentRepo;
+
+    @Autowired private UserRepo userRepo;
+    @Autowired private PatientRepo patientRepo;
+    @Autowired private AppointmentRepo appointmentRepo;
+    @Autowired private ConsultationRepo consultationRepo;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ClinicDataSeeder seeder;
+
+    private String patientEmail;
+    private Long patientUserId;
+
+    @BeforeAll
+    void seed() {
+        ClinicDataSeeder.Dataset dataset = seeder.seed(ClinicDataSeeder.Scale.builder()
+                .doctors(1)
+                .patients(1)
+                .dependentsPerPatient(0)
+                .historyPerPatient(6)
+                .build());
+
+        patientEmail = dataset.patientEmails().get(0);
+        patientUserId = userRepo.findByEmail(patientEmail).orElseThrow().getId();
+
+        // One consultation with a document, so the archive has to carry it along
+        transactionTemplate.executeWithoutResult(status -> {
+            Long patientId = patientRepo.findByUser(userRepo.findById(patientUserId).orElseThrow()).orElseThrow().getId();
+            consultationRepo.findByAppointmentPatientIdOrderByConsultationDateDesc(patientId).stream()
+                    .findFirst()
+                    .ifPresent(consultation -> consultationDocumentRepo.save(ConsultationDocument.builder()
+                            .fileName("laboratorio.pdf")
+                            .filePath("/consultation-documents/laboratorio.pdf")
+                            .fileType("application/pdf")
+                            .fileSize(1024L)
+                            .uploadedAt(consultation.getConsultationDate())
+                            .consultation(consultation)
+                            .build()));
+        });
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void closedHistoryIsArchivedAndStillReadable() {
+
+        signIn(patientEmail);
+        List<AppointmentDTO> appointmentsBefore = appointmentService.getMyAppointments().getData();
+        List<ConsultationDTO> historyBefore = consultationService.getConsultationHistoryForPatient(null).getData();
+        assertThat(appointmentsBefore).hasSize(6);
+        assertThat(historyBefore).isNotEmpty();
+
+        int archived = archivalService.archiveAppointments(LocalDateTime.now());
+
+        assertThat(archived).isGreaterThanOrEqualTo(6);
+        assertThat(appointmentRepo.findByPatient_User_IdOrderByIdDesc(patientUserId)).isEmpty();
+        assertThat(archivedAppointmentRepo.findByPatient_User_IdOrderByIdDesc(patientUserId)).hasSize(6);
+        assertThat(consultationDocumentRepo.findAll())
+                .noneMatch(document -> document.getFileName().equals("laboratorio.pdf"));
+
+        List<AppointmentDTO> appointmentsAfter = appointmentService.getMyAppointments().getData();
+        assertThat(appointmentsAfter)
+                .extracting(AppointmentDTO::getId, AppointmentDTO::getStatus, AppointmentDTO::getStartTime)
+                .containsExactlyElementsOf(appointmentsBefore.stream()
+                        .map(dto -> tuple(dto.getId(), dto.getStatus(), dto.getStartTime()))
+                        .toList());
+        assertThat(consultationService.getConsultationHistoryForPatient(null).getData())
+                .containsExactlyElementsOf(historyBefore);
+
+        ConsultationDTO notes = historyBefore.get(0);
+        assertThat(consultationService.getConsultationByAppointmentId(notes.getAppointmentId()).getData())
+                .isEqualTo(notes);
+    }
+
+    @Test
+    void oldNotificationsAreArchived() {
+
+        User user = userRepo.findById(patientUserId).orElseThrow();
+        Long notificationId = notificationRepo.save(Notification.builder()
+                .subject("Recordatorio de cita")
+                .recipient(patientEmail)
+                .message("Su cita es mañana.")
+                .type(NotificationType.EMAIL)
+                .user(user)
+                .build()).getId();
+
+        assertThat(archivalService.archiveNotifications(LocalDateTime.now().minusDays(1))).isZero();
+        assertThat(archivalService.archiveNotifications(LocalDateTime.now().plusMinutes(1))).isPositive();
+
+        assertThat(notificationRepo.findById(notificationId)).isEmpty();
+        assertThat(archivedNotificationRepo.findById(notificationId))
+                .hasValueSatisfying(archived -> assertThat(archived.getSubject()).isEqualTo("Recordatorio de cita"));
+    }
+
+    @Test
+    void notificationsSharingATimestampAreArchivedAcrossBatches() {
+
+        User user = userRepo.findById(patientUserId).orElseThrow();
+        LocalDateTime createdAt = LocalDateTime.of(2020, 3, 2, 9, 0);
+        List<Long> ids = notificationRepo.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> Notification.builder()
+                        .subject("Aviso " + i)
+                        .recipient(patientEmail)
+                        .message("Aviso antiguo.")
+                        .type(NotificationType.EMAIL)
+                        .user(user)
+                        .createdAt(createdAt)
+                        .build())
+                .toList()).stream().map(Notification::getId).toList();
+
+        // Batches of two end in the middle of the tie, so the (createdAt, id) cursor has to resume inside it
+        Object batchSize = ReflectionTestUtils.getField(archivalService, "batchSize");
+        ReflectionTestUtils.setField(archivalService, "batchSize", 2);
+        try {
+            assertThat(archivalService.archiveNotifications(createdAt.plusSeconds(1))).isGreaterThanOrEqualTo(5);
+        } finally {
+            ReflectionTestUtils.setField(archivalService, "batchSize", batchSize);
+        }
+
+        assertThat(notificationRepo.findAllById(ids)).isEmpty();
+        assertThat(archivedNotificationRepo.findAllById(ids)).hasSize(5);
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+    }
+}
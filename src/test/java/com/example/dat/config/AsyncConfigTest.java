@@ -0,0 +1,168 @@
+package com.example.dat.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.thymeleaf.TemplateEngine;
+
+import com.example.dat.concurrency.ConcurrencyLimiter;
+import com.example.dat.notification.dto.NotificationDTO;
+import com.example.dat.notification.repo.NotificationRepo;
+import com.example.dat.notification.service.NotificationServiceImpl;
+import com.example.dat.notification.service.UnreadNotificationCounter;
+import com.example.dat.support.SinkMailSender;
+import com.example.dat.users.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * The e-mail executor against an SMTP server that takes 20 ms per message: a burst of sends
+ * far larger than the queue must never grow the queue past its capacity. Against a server that
+ * stops answering, BLOCK gives up after its timeout instead of hanging the submitter.
+ */
+class AsyncConfigTest {
+
+    private static final int SENDS = 200;
+    private static final int QUEUE_CAPACITY = 20;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SinkMailSender slowSmtp;
+    private NotificationServiceImpl notificationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        slowSmtp = new SinkMailSender(20);
+        notificationService = new NotificationServiceImpl(mock(NotificationRepo.class), slowSmtp, new TemplateEngine(),
+                meterRegistry, ObservationRegistry.NOOP,
+                new ConcurrencyLimiter("smtp", 8, Duration.ofSeconds(30), meterRegistry),
+                mock(UnreadNotificationCounter.class));
+    }
+
+    @Test
+    void callerRunsKeepsQueueBoundedAndLosesNothing() throws Exception {
+
+        ThreadPoolTaskExecutor executor = emailExecutor(AsyncProperties.RejectionPolicy.CALLER_RUNS);
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+
+        int maxQueued = burst(executor, () -> {
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+        });
+        awaitDrained(executor);
+
+        assertThat(maxQueued).isLessThanOrEqualTo(QUEUE_CAPACITY);
+        assertThat(ranOnCaller.get()).as("sends run by the producer once the queue is full").isPositive();
+        assertThat(slowSmtp.getDelivered()).isEqualTo(SENDS);
+        assertThat(rejected()).isEqualTo(ranOnCaller.get());
+    }
+
+    @Test
+    void blockKeepsQueueBoundedAndSendsNothingOnTheCaller() throws Exception {
+
+        ThreadPoolTaskExecutor executor = emailExecutor(AsyncProperties.RejectionPolicy.BLOCK);
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+
+        int maxQueued = burst(executor, () -> {
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+        });
+        awaitDrained(executor);
+
+        assertThat(maxQueued).isLessThanOrEqualTo(QUEUE_CAPACITY);
+        assertThat(ranOnCaller.get()).isZero();
+        assertThat(rejected()).as("times the producer had to wait").isPositive();
+        assertThat(slowSmtp.getDelivered()).isEqualTo(SENDS);
+    }
+
+    @Test
+    void blockGivesUpOnAStalledPool() throws Exception {
+
+        ThreadPoolTaskExecutor executor = AsyncConfig.boundedExecutor(AsyncConfig.EMAIL, "email-",
+                new AsyncProperties.Pool(1, 1, 1, AsyncProperties.RejectionPolicy.BLOCK, Duration.ofMillis(50)),
+                new ThreadPoolTaskExecutorBuilder(), meterRegistry);
+        executor.initialize();
+        CountDownLatch smtpAnswers = new CountDownLatch(1);
+        AtomicInteger sent = new AtomicInteger();
+
+        // One send holds the only thread, one waits in the queue, the third finds no room
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> {
+                try {
+                    smtpAnswers.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sent.incrementAndGet();
+            });
+        }
+        smtpAnswers.countDown();
+        awaitDrained(executor);
+
+        assertThat(rejected()).isEqualTo(1);
+        assertThat(sent.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shedDropsOverflowAndCountsIt() throws Exception {
+
+        ThreadPoolTaskExecutor executor = emailExecutor(AsyncProperties.RejectionPolicy.SHED);
+
+        int maxQueued = burst(executor, () -> { });
+        awaitDrained(executor);
+
+        assertThat(maxQueued).isLessThanOrEqualTo(QUEUE_CAPACITY);
+        assertThat(rejected()).isPositive();
+        assertThat(slowSmtp.getDelivered() + rejected()).isEqualTo(SENDS);
+    }
+
+    private ThreadPoolTaskExecutor emailExecutor(AsyncProperties.RejectionPolicy policy) {
+        ThreadPoolTaskExecutor executor = AsyncConfig.boundedExecutor(AsyncConfig.EMAIL, "email-",
+                new AsyncProperties.Pool(2, 2, QUEUE_CAPACITY, policy), new ThreadPoolTaskExecutorBuilder(), meterRegistry);
+        executor.initialize();
+        return executor;
+    }
+
+    // Submits SENDS e-mails as fast as possible and returns the largest queue length observed
+    private int burst(ThreadPoolTaskExecutor executor, Runnable onSend) {
+        int maxQueued = 0;
+        for (int i = 0; i < SENDS; i++) {
+            NotificationDTO email = NotificationDTO.builder()
+                    .recipient("patient" + i + "@test.local")
+                    .subject("Confirmación de cita")
+                    .message("<p>Su cita ha sido confirmada.</p>")
+                    .build();
+            executor.execute(() -> {
+                onSend.run();
+                notificationService.sendEmail(email, new User());
+            });
+            maxQueued = Math.max(maxQueued, executor.getQueueSize());
+        }
+        return maxQueued;
+    }
+
+    private void awaitDrained(ThreadPoolTaskExecutor executor) throws InterruptedException {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private long rejected() {
+        return (long) meterRegistry.get("executor.rejected").tag("name", AsyncConfig.EMAIL).counter().count();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.dat.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The whole Flyway chain (db/migration) on an empty H2 database in MySQL mode, followed by
+ * Hibernate's schema validation against every entity: the context only starts if the migrations
+ * produce the tables, columns and types the mappings expect.
+ */
+@SpringBootTest(properties = {
+        // Own database, so the schema is not the one the other h2 contexts generate from the entities
+        "spring.datasource.url=jdbc:h2:mem:dat_flyway;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("h2")
+class FlywayMigrationTest {
+
+    @Autowired private Flyway flyway;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyMigrationIsAppliedAndTheEntitiesValidate() {
+
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied())
+                .isNotEmpty()
+                .allMatch(info -> info.getState().isApplied() && !info.getState().isFailed());
+
+        // Added after the baseline, so databases stamped at version 1 get them from a later migration
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns "
+                        + "WHERE table_name = 'appointments' AND column_name = 'reminder_sent_at'",
+                Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables "
+                        + "WHERE table_name IN ('scheduler_leases', 'waitlist_entries')",
+                Integer.class)).isEqualTo(2);
+    }
+}
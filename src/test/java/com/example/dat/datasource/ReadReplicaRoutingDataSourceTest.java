@@ -0,0 +1,136 @@
+package com.example.dat.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routing between two embedded H2 databases standing in for the MySQL primary and a replica.
+ * Each one answers "SELECT name FROM node" with its own name.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), clock::get);
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("primary");
+        replica = node("replica");
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+
+        DataSource routing = ReadReplicaRoutingDataSource.routing(primary, List.of(replica),
+                readYourWrites::readsFromPrimary);
+
+        assertThat(readNode(routing, true)).isEqualTo("replica");
+        assertThat(readNode(routing, false)).isEqualTo("primary");
+        // Outside a transaction (e.g. Flyway, schedulers) it is the primary
+        assertThat(new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    void readsStayOnThePrimaryForTheWindowAfterAWrite() {
+
+        DataSource routing = ReadReplicaRoutingDataSource.routing(primary, List.of(replica),
+                readYourWrites::readsFromPrimary);
+
+        signIn("patient@test.local");
+        readYourWrites.recordWrite();
+        assertThat(readNode(routing, true)).isEqualTo("primary");
+
+        // Other users are not affected
+        signIn("other@test.local");
+        assertThat(readNode(routing, true)).isEqualTo("replica");
+
+        signIn("patient@test.local");
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(readNode(routing, true)).isEqualTo("replica");
+
+        readYourWrites.evictExpired();
+        assertThat(readYourWrites.readsFromPrimary()).isFalse();
+    }
+
+    @Test
+    void aTransactionCanBeKeptOnThePrimary() {
+
+        DataSource routing = ReadReplicaRoutingDataSource.routing(primary, List.of(replica),
+                readYourWrites::readsFromPrimary);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        tx.setReadOnly(true);
+
+        // One connection, taken from the primary at the first statement
+        String node = tx.execute(status -> {
+            readYourWrites.readCurrentTransactionFromPrimary();
+            return new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class);
+        });
+        assertThat(node).isEqualTo("primary");
+
+        // Only that transaction: the next read-only one goes to the replica again
+        assertThat(readNode(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToThePrimary() {
+
+        DataSource down = new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("Connection refused");
+            }
+        };
+        DataSource routing = ReadReplicaRoutingDataSource.routing(primary, List.of(down),
+                readYourWrites::readsFromPrimary);
+
+        assertThat(readNode(routing, true)).isEqualTo("primary");
+    }
+
+    private static String readNode(DataSource routing, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+    }
+}
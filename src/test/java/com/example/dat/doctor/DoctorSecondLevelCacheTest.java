@@ -0,0 +1,122 @@
+package com.example.dat.doctor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.doctor.entity.Schedule;
+import com.example.dat.doctor.repo.DoctorRepo;
+import com.example.dat.enums.Specialization;
+import com.example.dat.role.repo.RoleRepo;
+import com.example.dat.support.ClinicDataSeeder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Second-level cache of doctors, their schedules and roles: repeated reads are served from
+ * the cache, and writes through JPA evict what they change so no stale schedule is served.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DoctorSecondLevelCacheTest {
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Autowired private RoleRepo roleRepo;
+    @Autowired private DoctorRepo doctorRepo;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ClinicDataSeeder seeder;
+
+    private Statistics statistics;
+    private Long doctorId;
+    private Specialization specialization;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        ClinicDataSeeder.Dataset dataset = seedDoctor();
+        doctorId = dataset.doctorIds().get(0);
+        specialization = dataset.specializations().get(0);
+    }
+
+    @Test
+    void repeatedDoctorReadsHitTheCache() {
+
+        loadSchedules();
+        long doctorHits = region("dat.doctors").getHitCount();
+        long scheduleHits = region("dat.doctor-schedules").getHitCount();
+        long doctorMisses = region("dat.doctors").getMissCount();
+
+        loadSchedules();
+
+        assertThat(region("dat.doctors").getHitCount()).isGreaterThan(doctorHits);
+        assertThat(region("dat.doctor-schedules").getHitCount()).isGreaterThan(scheduleHits);
+        assertThat(region("dat.doctors").getMissCount()).isEqualTo(doctorMisses);
+        assertThat(meterRegistry.get("hibernate.cache.hit.ratio").tag("region", "dat.doctors").gauge().value())
+                .isPositive();
+    }
+
+    @Test
+    void scheduleChangeEvictsTheCachedCollection() {
+
+        List<Long> before = loadSchedules();
+        assertThat(before).isNotEmpty();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Doctor doctor = doctorRepo.findById(doctorId).orElseThrow();
+            doctor.getSchedules().removeIf(schedule -> schedule.getId().equals(before.get(0)));
+        });
+
+        assertThat(loadSchedules()).hasSize(before.size() - 1).doesNotContain(before.get(0));
+    }
+
+    @Test
+    void cachedQueriesAreInvalidatedByWrites() {
+
+        int doctors = transactionTemplate.execute(status -> doctorRepo.findBySpecialization(specialization).size());
+        long queryHits = statistics.getQueryCacheHitCount();
+
+        transactionTemplate.execute(status -> doctorRepo.findBySpecialization(specialization));
+        transactionTemplate.execute(status -> roleRepo.findByName("PATIENT"));
+        transactionTemplate.execute(status -> roleRepo.findByName("PATIENT"));
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThanOrEqualTo(queryHits + 2);
+
+        // A doctor moved to this specialization must show up despite the cached result
+        Long otherDoctorId = seedDoctor().doctorIds().get(0);
+        transactionTemplate.executeWithoutResult(status ->
+                doctorRepo.findById(otherDoctorId).orElseThrow().setSpecialization(specialization));
+        assertThat(transactionTemplate.execute(status -> doctorRepo.findBySpecialization(specialization)))
+                .hasSize(doctors + 1);
+    }
+
+    private ClinicDataSeeder.Dataset seedDoctor() {
+        return seeder.seed(ClinicDataSeeder.Scale.of(1, 0));
+    }
+
+    private List<Long> loadSchedules() {
+        return transactionTemplate.execute(status -> doctorRepo.findById(doctorId).orElseThrow()
+                .getSchedules().stream()
+                .map(Schedule::getId)
+                .toList());
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return statistics.getCacheRegionStatistics(name);
+    }
+}
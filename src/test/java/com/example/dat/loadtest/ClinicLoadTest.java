@@ -0,0 +1,152 @@
+package com.example.dat.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.dat.support.ClinicDataSeeder;
+import com.example.dat.support.SinkMailSender;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * End-to-end load test: boots the application on a random port against H2 and the mail sink,
+ * seeds a synthetic clinic and drives the HTTP API with concurrent virtual users.
+ * Excluded from the default build; run with {@code ./mvnw -Ploadtest test}, and again with
+ * {@code -DVIRTUAL_THREADS=true} to compare platform and virtual threads (report-platform.json
+ * vs report-virtual.json under target/loadtest).
+ */
+@Tag("loadtest")
+@ActiveProfiles({"h2", "loadtest"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(LoadTestMailConfig.class)
+@Slf4j
+class ClinicLoadTest {
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Value("${loadtest.seed.doctors}")
+    private int doctors;
+
+    @Value("${loadtest.seed.patients}")
+    private int patients;
+
+    @Value("${loadtest.seed.dependents-per-patient}")
+    private int dependentsPerPatient;
+
+    @Value("${loadtest.seed.history-per-patient}")
+    private int historyPerPatient;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${loadtest.driver.virtual-users}")
+    private int virtualUsers;
+
+    @Value("${loadtest.driver.duration-seconds}")
+    private int durationSeconds;
+
+    @Value("${loadtest.driver.booking-horizon-days}")
+    private int bookingHorizonDays;
+
+    @Value("${loadtest.driver.max-error-rate}")
+    private double maxErrorRate;
+
+    @Value("${loadtest.mix.login}")
+    private int loginWeight;
+
+    @Value("${loadtest.mix.search}")
+    private int searchWeight;
+
+    @Value("${loadtest.mix.book}")
+    private int bookWeight;
+
+    @Value("${loadtest.mix.list}")
+    private int listWeight;
+
+    @Value("${loadtest.mix.cancel}")
+    private int cancelWeight;
+
+    @Autowired private ClinicDataSeeder seeder;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private SinkMailSender mailSender;
+
+    @Test
+    void clinicWorkload() throws Exception {
+
+        ClinicDataSeeder.Dataset dataset = seeder.seed(ClinicDataSeeder.Scale.builder()
+                .doctors(doctors)
+                .patients(patients)
+                .dependentsPerPatient(dependentsPerPatient)
+                .historyPerPatient(historyPerPatient)
+                .build());
+
+        Map<LoadDriver.Operation, Integer> mix = new EnumMap<>(LoadDriver.Operation.class);
+        mix.put(LoadDriver.Operation.LOGIN, loginWeight);
+        mix.put(LoadDriver.Operation.SEARCH, searchWeight);
+        mix.put(LoadDriver.Operation.BOOK, bookWeight);
+        mix.put(LoadDriver.Operation.LIST, listWeight);
+        mix.put(LoadDriver.Operation.CANCEL, cancelWeight);
+
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, objectMapper, dataset,
+                LoadDriver.Settings.builder()
+                        .virtualUsers(virtualUsers)
+                        .durationSeconds(durationSeconds)
+                        .bookingHorizonDays(bookingHorizonDays)
+                        .mix(mix)
+                        .build());
+
+        String threadMode = virtualThreads ? "virtual" : "platform";
+        LoadDriver.Report report;
+        ResourceSampler.Summary resources;
+        try (ResourceSampler sampler = new ResourceSampler(250)) {
+            report = driver.run();
+            resources = sampler.summary();
+        }
+
+        logReport(report);
+        log.info("Threads: {} | heap avg {} MB, peak {} MB | peak platform threads {} | GC {} collections, {} ms",
+                threadMode, resources.avgHeapUsedMb(), resources.peakHeapUsedMb(), resources.peakPlatformThreads(),
+                resources.gcCount(), resources.gcTimeMs());
+
+        Path reportFile = Path.of("target", "loadtest", "report-" + threadMode + ".json");
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValueAsString(new RunResult(threadMode, report, resources)));
+        log.info("Report written to {}", reportFile.toAbsolutePath());
+
+        assertThat(report.totalRequests()).isPositive();
+        assertThat(report.errorRate()).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    record RunResult(String threadMode, LoadDriver.Report report, ResourceSampler.Summary resources) {
+    }
+
+    private void logReport(LoadDriver.Report report) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%n%-34s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "rejected", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (LatencyStats.Summary s : report.endpoints()) {
+            table.append(String.format("%-34s %9d %7d %9d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.endpoint(), s.requests(), s.errors(), s.rejected(), s.throughputPerSecond(),
+                    s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs()));
+        }
+        table.append(String.format("%d requests in %.1f s (%.1f req/s), error rate %.4f, %d e-mails delivered to the sink",
+                report.totalRequests(), report.elapsedSeconds(), report.totalRequests() / report.elapsedSeconds(),
+                report.errorRate(), mailSender.getDelivered()));
+        log.info("Load test results:{}", table);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.dat.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples of one endpoint. Samples are kept in full so percentiles are exact;
+ * a run produces at most a few million of them.
+ */
+class LatencyStats {
+
+    private long[] samplesMicros = new long[1024];
+    private int count;
+    private long errors;
+    private long rejected;
+
+    synchronized void record(long micros, Outcome outcome) {
+        if (count == samplesMicros.length) {
+            samplesMicros = Arrays.copyOf(samplesMicros, count * 2);
+        }
+        samplesMicros[count++] = micros;
+        if (outcome == Outcome.ERROR) {
+            errors++;
+        } else if (outcome == Outcome.REJECTED) {
+            rejected++;
+        }
+    }
+
+    synchronized Summary summarize(String endpoint, double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samplesMicros, count);
+        Arrays.sort(sorted);
+        return new Summary(
+                endpoint,
+                count,
+                errors,
+                rejected,
+                elapsedSeconds > 0 ? count / elapsedSeconds : 0,
+                percentileMillis(sorted, 50),
+                percentileMillis(sorted, 95),
+                percentileMillis(sorted, 99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+    }
+
+    // Nearest-rank percentile
+    private static double percentileMillis(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1000.0;
+    }
+
+    enum Outcome {
+        OK,
+        // 4xx the application returns on purpose, e.g. a slot taken by another virtual user
+        REJECTED,
+        ERROR
+    }
+
+    record Summary(String endpoint,
+                   long requests,
+                   long errors,
+                   long rejected,
+                   double throughputPerSecond,
+                   double p50Ms,
+                   double p95Ms,
+                   double p99Ms,
+                   double maxMs) {
+    }
+}
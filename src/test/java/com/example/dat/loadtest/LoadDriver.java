@@ -0,0 +1,290 @@
+package com.example.dat.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.example.dat.appointment.service.AppointmentSlotRules;
+import com.example.dat.doctor.entity.Schedule;
+import com.example.dat.support.ClinicDataSeeder;
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Closed-loop driver: each virtual user logs in as one seeded patient and then runs a weighted
+ * mix of login, doctor search, booking, listing and cancellation against the running server
+ * until the deadline, recording the latency of every call per endpoint.
+ */
+@Slf4j
+class LoadDriver {
+
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    // Slot starts the booking rules accept on a seeded doctor's day: 08:00-11:00 and 13:30-16:30
+    private static final List<LocalTime> BOOKABLE_STARTS = bookableStarts();
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final ClinicDataSeeder.Dataset dataset;
+    private final Settings settings;
+
+    private final ExecutorService httpExecutor;
+    private final HttpClient http;
+    private final Map<String, LatencyStats> stats = new ConcurrentHashMap<>();
+
+    LoadDriver(String baseUrl, ObjectMapper objectMapper, ClinicDataSeeder.Dataset dataset, Settings settings) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.dataset = dataset;
+        this.settings = settings;
+        this.httpExecutor = Executors.newFixedThreadPool(Math.max(4, settings.virtualUsers() / 4));
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(httpExecutor)
+                .build();
+    }
+
+    Report run() throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+        long started = System.nanoTime();
+
+        ExecutorService users = Executors.newFixedThreadPool(settings.virtualUsers());
+        try {
+            for (int i = 0; i < settings.virtualUsers(); i++) {
+                String email = dataset.patientEmails().get(i % dataset.patientEmails().size());
+                users.submit(() -> virtualUser(email, deadline));
+            }
+            users.shutdown();
+            users.awaitTermination(settings.durationSeconds() + 60L, TimeUnit.SECONDS);
+        } finally {
+            // The client does not own the executor it was given, so its threads outlive run() otherwise
+            users.shutdownNow();
+            httpExecutor.shutdownNow();
+        }
+
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        Map<String, LatencyStats.Summary> summaries = new TreeMap<>();
+        stats.forEach((endpoint, s) -> summaries.put(endpoint, s.summarize(endpoint, elapsedSeconds)));
+        return new Report(elapsedSeconds, List.copyOf(summaries.values()));
+    }
+
+    private void virtualUser(String email, long deadline) {
+
+        Session session = new Session(email);
+        try {
+            login(session);
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                switch (pickOperation()) {
+                    case LOGIN -> login(session);
+                    case SEARCH -> searchDoctors(session);
+                    case BOOK -> book(session);
+                    case LIST -> list(session);
+                    case CANCEL -> cancel(session);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Virtual user {} stopped: {}", email, e.toString());
+        }
+    }
+
+    private void login(Session session) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("email", session.email, "password", ClinicDataSeeder.PASSWORD));
+        HttpResponse<String> response = call("POST /api/auth/login", post("/api/auth/login", body, null), false);
+        if (response.statusCode() == 200) {
+            session.token = objectMapper.readTree(response.body()).path("data").path("token").asString();
+        }
+    }
+
+    private void searchDoctors(Session session) throws IOException, InterruptedException {
+        if (ThreadLocalRandom.current().nextBoolean()) {
+            call("GET /api/doctors", get("/api/doctors", session.token), false);
+        } else {
+            List<?> specializations = dataset.specializations();
+            Object specialization = specializations.get(ThreadLocalRandom.current().nextInt(specializations.size()));
+            call("GET /api/doctors/filter", get("/api/doctors/filter?specialization=" + specialization, session.token), false);
+        }
+    }
+
+    private void book(Session session) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long doctorId = dataset.doctorIds().get(random.nextInt(dataset.doctorIds().size()));
+
+        // A bookable slot on a working day
+        LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(settings.bookingHorizonDays()));
+        if (!ClinicDataSeeder.WORKING_DAYS.contains(date.getDayOfWeek())) {
+            date = date.plusDays(1);
+        }
+        LocalDateTime start = date.atTime(BOOKABLE_STARTS.get(random.nextInt(BOOKABLE_STARTS.size())));
+
+        String body = objectMapper.writeValueAsString(Map.of(
+                "doctorId", doctorId,
+                "startTime", start.format(ISO),
+                "purposeOfConsultation", "Load test"));
+        call("POST /api/appointments", post("/api/appointments", body, session.token), true);
+    }
+
+    private void list(Session session) throws IOException, InterruptedException {
+        HttpResponse<String> response = call("GET /api/appointments", get("/api/appointments", session.token), false);
+        if (response.statusCode() == 200) {
+            session.cancellable.clear();
+            for (JsonNode appointment : objectMapper.readTree(response.body()).path("data")) {
+                if ("SCHEDULED".equals(appointment.path("status").asString())) {
+                    session.cancellable.add(appointment.path("id").asLong());
+                }
+            }
+        }
+    }
+
+    private void cancel(Session session) throws IOException, InterruptedException {
+        if (session.cancellable.isEmpty()) {
+            list(session);
+        }
+        Long appointmentId = session.cancellable.pollFirst();
+        if (appointmentId != null) {
+            call("PUT /api/appointments/cancel/{id}",
+                    put("/api/appointments/cancel/" + appointmentId, session.token), true);
+        }
+    }
+
+    private HttpResponse<String> call(String endpoint, HttpRequest request, boolean badRequestIsRejection)
+            throws IOException, InterruptedException {
+
+        long started = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            record(endpoint, started, LatencyStats.Outcome.ERROR);
+            throw e;
+        }
+
+        int status = response.statusCode();
+        LatencyStats.Outcome outcome = status < 300 ? LatencyStats.Outcome.OK
+                : (badRequestIsRejection && status == 400) ? LatencyStats.Outcome.REJECTED
+                : LatencyStats.Outcome.ERROR;
+        record(endpoint, started, outcome);
+        return response;
+    }
+
+    private void record(String endpoint, long startedNanos, LatencyStats.Outcome outcome) {
+        long micros = (System.nanoTime() - startedNanos) / 1_000;
+        stats.computeIfAbsent(endpoint, e -> new LatencyStats()).record(micros, outcome);
+    }
+
+    private Operation pickOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(settings.totalWeight());
+        for (Map.Entry<Operation, Integer> entry : settings.mix().entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.LIST;
+    }
+
+    // Every consultation-length step of the seeded day that AppointmentSlotRules accepts
+    private static List<LocalTime> bookableStarts() {
+        Schedule day = Schedule.builder()
+                .isActive(true)
+                .startTime(ClinicDataSeeder.DAY_START)
+                .endTime(ClinicDataSeeder.DAY_END)
+                .lunchStart(ClinicDataSeeder.LUNCH_START)
+                .lunchEnd(ClinicDataSeeder.LUNCH_END)
+                .build();
+        List<LocalTime> starts = new ArrayList<>();
+        for (LocalTime start = ClinicDataSeeder.DAY_START; start.isBefore(ClinicDataSeeder.DAY_END);
+                start = start.plusMinutes(ClinicDataSeeder.CONSULTATION_MINUTES)) {
+            if (AppointmentSlotRules.fitsSchedule(day, start, start.plusMinutes(ClinicDataSeeder.CONSULTATION_MINUTES))) {
+                starts.add(start);
+            }
+        }
+        return List.copyOf(starts);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest put(String path, String token) {
+        return request(path, token).PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+
+    enum Operation {
+        LOGIN, SEARCH, BOOK, LIST, CANCEL
+    }
+
+    private static final class Session {
+        private final String email;
+        private final Deque<Long> cancellable = new ArrayDeque<>();
+        private String token;
+
+        private Session(String email) {
+            this.email = email;
+        }
+    }
+
+    @Builder
+    record Settings(int virtualUsers, int durationSeconds, int bookingHorizonDays, Map<Operation, Integer> mix) {
+
+        int totalWeight() {
+            return mix.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+    record Report(double elapsedSeconds, List<LatencyStats.Summary> endpoints) {
+
+        long totalRequests() {
+            return endpoints.stream().mapToLong(LatencyStats.Summary::requests).sum();
+        }
+
+        long totalErrors() {
+            return endpoints.stream().mapToLong(LatencyStats.Summary::errors).sum();
+        }
+
+        double errorRate() {
+            long total = totalRequests();
+            return total == 0 ? 0 : (double) totalErrors() / total;
+        }
+    }
+}
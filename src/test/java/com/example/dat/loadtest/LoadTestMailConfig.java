@@ -0,0 +1,22 @@
+package com.example.dat.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import com.example.dat.support.SinkMailSender;
+
+/**
+ * Replaces the SMTP-backed JavaMailSender with an in-process sink that accepts every message,
+ * optionally waiting to simulate the SMTP round trip.
+ */
+@TestConfiguration
+public class LoadTestMailConfig {
+
+    @Bean
+    @Primary
+    public SinkMailSender sinkMailSender(@Value("${loadtest.mail.latency-ms:0}") long latencyMs) {
+        return new SinkMailSender(latencyMs);
+    }
+}
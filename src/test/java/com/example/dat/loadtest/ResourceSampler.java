@@ -0,0 +1,84 @@
+package com.example.dat.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Samples heap usage and platform thread count while the load runs, so platform-thread and
+ * virtual-thread runs can be compared on memory as well as throughput. Virtual threads do not
+ * appear in the thread counts; carrier and pool threads do.
+ */
+class ResourceSampler implements AutoCloseable {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final long intervalMillis;
+
+    private final long gcCountAtStart;
+    private final long gcTimeAtStart;
+
+    private volatile boolean running = true;
+    private long samples;
+    private long heapSum;
+    private long heapPeak;
+    private final Thread sampler;
+
+    ResourceSampler(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+        this.gcCountAtStart = gcCount();
+        this.gcTimeAtStart = gcTime();
+        threads.resetPeakThreadCount();
+
+        sampler = Thread.ofPlatform().daemon().name("loadtest-resource-sampler").start(this::sampleLoop);
+    }
+
+    private void sampleLoop() {
+        while (running) {
+            long used = memory.getHeapMemoryUsage().getUsed();
+            synchronized (this) {
+                samples++;
+                heapSum += used;
+                heapPeak = Math.max(heapPeak, used);
+            }
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    Summary summary() {
+        synchronized (this) {
+            long mb = 1024 * 1024;
+            return new Summary(
+                    samples == 0 ? 0 : heapSum / samples / mb,
+                    heapPeak / mb,
+                    threads.getPeakThreadCount(),
+                    gcCount() - gcCountAtStart,
+                    gcTime() - gcTimeAtStart);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        sampler.interrupt();
+        sampler.join();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(c -> c > 0).sum();
+    }
+
+    private static long gcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(t -> t > 0).sum();
+    }
+
+    record Summary(long avgHeapUsedMb, long peakHeapUsedMb, int peakPlatformThreads, long gcCount, long gcTimeMs) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.dat.monitoring;
+
+import static com.example.dat.monitoring.SqlStatementAssertions.statementsAtMost;
+import static com.example.dat.monitoring.SqlStatementAssertions.statementsExactly;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.example.dat.consultation.repo.ConsultationRepo;
+import com.example.dat.doctor.repo.DoctorRepo;
+import com.example.dat.enums.Specialization;
+import com.example.dat.patient.entity.Patient;
+import com.example.dat.patient.repo.PatientRepo;
+import com.example.dat.security.JwtService;
+import com.example.dat.support.ClinicDataSeeder;
+import com.example.dat.users.repo.UserRepo;
+
+/**
+ * Statement counts of the main read endpoints on a small seeded clinic
+ * (3 doctors, 2 patients with 6 past appointments each). The limits document today's cost:
+ * a change that adds per-row queries to one of these endpoints fails here first.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointSqlBudgetTest {
+
+    @Autowired private WebApplicationContext context;
+    @Autowired private SqlStatementFilter sqlStatementFilter;
+
+    @Autowired private UserRepo userRepo;
+    @Autowired private DoctorRepo doctorRepo;
+    @Autowired private PatientRepo patientRepo;
+    @Autowired private ConsultationRepo consultationRepo;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JwtService jwtService;
+    @Autowired private ClinicDataSeeder seeder;
+
+    private MockMvc mockMvc;
+
+    private Long doctorId;
+    private Specialization specialization;
+    private String doctorEmail;
+    private String patientEmail;
+    private Long consultedAppointmentId;
+
+    @BeforeAll
+    void seed() {
+
+        // The counting filter goes first so the security chain's own queries are included
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(sqlStatementFilter)
+                .apply(springSecurity())
+                .build();
+
+        ClinicDataSeeder.Dataset dataset = seeder.seed(ClinicDataSeeder.Scale.builder()
+                .doctors(3)
+                .patients(2)
+                .dependentsPerPatient(1)
+                .historyPerPatient(6)
+                .build());
+
+        doctorId = dataset.doctorIds().get(0);
+        specialization = dataset.specializations().get(0);
+        patientEmail = dataset.patientEmails().get(0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            doctorEmail = doctorRepo.findById(doctorId).orElseThrow().getUser().getEmail();
+            Patient patient = patientRepo.findByUser(userRepo.findByEmail(patientEmail).orElseThrow()).orElseThrow();
+            consultedAppointmentId = consultationRepo.findByAppointmentPatientIdOrderByConsultationDateDesc(patient.getId())
+                    .get(0).getAppointment().getId();
+        });
+    }
+
+    @Test
+    void doctorEndpoints() throws Exception {
+
+        mockMvc.perform(get("/api/doctors"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatementHeaderAdvice.TIME_HEADER))
+                .andExpect(statementsAtMost(12));
+
+        mockMvc.perform(get("/api/doctors/{doctorId}", doctorId))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(6));
+
+        mockMvc.perform(get("/api/doctors/filter").param("specialization", specialization.name()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(12));
+
+        // Enum listing: anonymous requests must not touch the database
+        mockMvc.perform(get("/api/doctors/specializations"))
+                .andExpect(status().isOk())
+                .andExpect(statementsExactly(0));
+    }
+
+    @Test
+    void bearerTokenAuthenticatesWithoutQueries() throws Exception {
+
+        String token = transactionTemplate.execute(status ->
+                jwtService.generateToken(userRepo.findByEmail(patientEmail).orElseThrow()));
+
+        // User id and roles come from the token's claims: the auth path itself runs no SQL
+        mockMvc.perform(get("/api/doctors/specializations").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(statementsExactly(0));
+    }
+
+    @Test
+    void appointmentEndpoints() throws Exception {
+
+        mockMvc.perform(get("/api/appointments").with(patient()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(40));
+
+        mockMvc.perform(get("/api/appointments/calendar").param("view", "week").with(doctor()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(10));
+    }
+
+    @Test
+    void consultationEndpoints() throws Exception {
+
+        mockMvc.perform(get("/api/consultations/appointment/{appointmentId}", consultedAppointmentId).with(patient()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(10));
+
+        mockMvc.perform(get("/api/consultations/history").with(patient()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(25));
+
+        mockMvc.perform(get("/api/consultations/doctor/my-consultations").with(doctor()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(40));
+    }
+
+    private RequestPostProcessor patient() {
+        return user(patientEmail).authorities(new SimpleGrantedAuthority("PATIENT"));
+    }
+
+    private RequestPostProcessor doctor() {
+        return user(doctorEmail).authorities(new SimpleGrantedAuthority("DOCTOR"));
+    }
+}
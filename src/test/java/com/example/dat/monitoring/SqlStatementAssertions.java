@@ -0,0 +1,36 @@
+package com.example.dat.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * MockMvc matchers over the X-SQL-Count header written by SqlStatementHeaderAdvice.
+ * The MockMvc instance must include SqlStatementFilter, otherwise no scope is opened.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static ResultMatcher statementsAtMost(long max) {
+        return result -> assertThat(statementCount(result))
+                .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static ResultMatcher statementsExactly(long expected) {
+        return result -> assertThat(statementCount(result))
+                .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(expected);
+    }
+
+    public static long statementCount(MvcResult result) {
+        String header = result.getResponse().getHeader(SqlStatementHeaderAdvice.COUNT_HEADER);
+        assertThat(header)
+                .as("%s header (is SqlStatementFilter registered on the MockMvc?)", SqlStatementHeaderAdvice.COUNT_HEADER)
+                .isNotNull();
+        return Long.parseLong(header);
+    }
+}
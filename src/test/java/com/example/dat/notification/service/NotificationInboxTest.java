@@ -0,0 +1,153 @@
+package com.example.dat.notification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.dat.enums.NotificationType;
+import com.example.dat.exceptions.BadRequestException;
+import com.example.dat.notification.dto.NotificationDTO;
+import com.example.dat.notification.dto.NotificationPageDTO;
+import com.example.dat.notification.entity.Notification;
+import com.example.dat.notification.repo.NotificationRepo;
+import com.example.dat.support.ClinicDataSeeder;
+import com.example.dat.users.entity.User;
+import com.example.dat.users.repo.UserRepo;
+
+/**
+ * Inbox of a patient with five notifications (two of them created in the same microsecond) and a
+ * second patient with one: pages walk the inbox newest first without gaps or repeats, and the
+ * unread count follows mark-as-read without counting again.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NotificationInboxTest {
+
+    @Autowired private NotificationInboxService notificationInboxService;
+    @Autowired private NotificationRepo notificationRepo;
+
+    @Autowired private UserRepo userRepo;
+    @Autowired private ClinicDataSeeder seeder;
+
+    private String patientEmail;
+    private List<Long> newestFirst;
+    private Long otherPatientNotificationId;
+
+    @BeforeAll
+    void seed() {
+        List<String> emails = seeder.seed(ClinicDataSeeder.Scale.of(1, 2)).patientEmails();
+
+        patientEmail = emails.get(0);
+        User patient = userRepo.findByEmail(patientEmail).orElseThrow();
+        User otherPatient = userRepo.findByEmail(emails.get(1)).orElseThrow();
+
+        LocalDateTime base = LocalDateTime.now().minusMinutes(10).truncatedTo(ChronoUnit.MICROS);
+        List<Notification> notifications = new ArrayList<>();
+        for (int minute : new int[] {0, 1, 2, 2, 3}) {
+            notifications.add(notification(patient, base.plusMinutes(minute)));
+        }
+        List<Notification> saved = notificationRepo.saveAll(notifications);
+
+        // Same createdAt: the higher id comes first
+        newestFirst = List.of(saved.get(4).getId(),
+                Math.max(saved.get(2).getId(), saved.get(3).getId()),
+                Math.min(saved.get(2).getId(), saved.get(3).getId()),
+                saved.get(1).getId(),
+                saved.get(0).getId());
+
+        otherPatientNotificationId = notificationRepo.save(notification(otherPatient, base)).getId();
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void pagesWalkTheInboxNewestFirst() {
+
+        signIn(patientEmail);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            NotificationPageDTO page = notificationInboxService.getMyNotifications(cursor, 2).getData();
+            page.getNotifications().stream().map(NotificationDTO::getId).forEach(seen::add);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(newestFirst);
+        assertThat(pages).isEqualTo(3);
+
+        assertThatThrownBy(() -> notificationInboxService.getMyNotifications("not-a-cursor", 2))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void unreadCountFollowsMarkAsRead() {
+
+        signIn(patientEmail);
+        Long userId = userRepo.findByEmail(patientEmail).orElseThrow().getId();
+
+        assertThat(notificationInboxService.getUnreadCount().getData()).isEqualTo(5L);
+
+        // Another user's notification in the request is left alone
+        assertThat(notificationInboxService.markAsRead(
+                List.of(newestFirst.get(0), newestFirst.get(1), otherPatientNotificationId)).getData()).isEqualTo(2);
+        assertThat(notificationInboxService.markAsRead(List.of(newestFirst.get(0))).getData()).isZero();
+        assertThat(notificationInboxService.getUnreadCount().getData()).isEqualTo(3L);
+        assertThat(notificationRepo.findById(otherPatientNotificationId).orElseThrow().getReadAt()).isNull();
+
+        assertThat(notificationInboxService.markAllAsRead().getData()).isEqualTo(3);
+        assertThat(notificationInboxService.getUnreadCount().getData()).isZero();
+        assertThat(notificationRepo.countByUser_IdAndReadAtIsNull(userId)).isZero();
+    }
+
+    @Test
+    void createdAtIsSetWhenPersisted() {
+
+        User patient = userRepo.findByEmail(patientEmail).orElseThrow();
+        Notification built = Notification.builder().subject("Sin fecha").type(NotificationType.EMAIL).user(patient).build();
+        assertThat(built.getCreatedAt()).isNull();
+
+        LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Notification saved = notificationRepo.save(built);
+
+        assertThat(saved.getCreatedAt()).isAfterOrEqualTo(before);
+        assertThat(notificationRepo.findById(saved.getId()).orElseThrow().getCreatedAt()).isEqualTo(saved.getCreatedAt());
+        notificationRepo.delete(saved);
+    }
+
+    private static Notification notification(User user, LocalDateTime createdAt) {
+        return Notification.builder()
+                .subject("Confirmación de cita")
+                .recipient(user.getEmail())
+                .message("Su cita ha sido confirmada.")
+                .type(NotificationType.EMAIL)
+                .user(user)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.dat.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Token-bucket behaviour of the node-local store, on a manual clock: burst, refill, Retry-After,
+ * no over-admission under contention, and eviction of refilled buckets.
+ */
+class InMemoryRateLimitStoreTest {
+
+    // 5 attempts, one more every minute
+    private static final RateLimitProperties.Bandwidth FIVE_PER_5_MIN =
+            new RateLimitProperties.Bandwidth(5, Duration.ofMinutes(5));
+
+    private final AtomicLong clock = new AtomicLong();
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(clock::get);
+
+    @Test
+    void allowsBurstThenRejectsWithRetryAfter() {
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(store.tryConsume("login:account:a@test.local", FIVE_PER_5_MIN)).isZero();
+        }
+
+        long wait = store.tryConsume("login:account:a@test.local", FIVE_PER_5_MIN);
+        assertThat(wait).isEqualTo(TimeUnit.MINUTES.toNanos(1));
+
+        // Other keys are unaffected
+        assertThat(store.tryConsume("login:account:b@test.local", FIVE_PER_5_MIN)).isZero();
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+
+        for (int i = 0; i < 5; i++) {
+            store.tryConsume("login:ip:10.0.0.1", FIVE_PER_5_MIN);
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(store.tryConsume("login:ip:10.0.0.1", FIVE_PER_5_MIN)).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(store.tryConsume("login:ip:10.0.0.1", FIVE_PER_5_MIN)).isZero();
+        assertThat(store.tryConsume("login:ip:10.0.0.1", FIVE_PER_5_MIN)).isPositive();
+    }
+
+    @Test
+    void concurrentAttemptsNeverExceedCapacity() throws Exception {
+
+        RateLimitProperties.Bandwidth hundred = new RateLimitProperties.Bandwidth(100, Duration.ofHours(1));
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 1000; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (store.tryConsume("login:account:victim@test.local", hundred) == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(100);
+    }
+
+    @Test
+    void evictsOnlyRefilledBuckets() {
+
+        store.tryConsume("forgot-password:account:a@test.local", FIVE_PER_5_MIN);
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(4));
+        store.tryConsume("forgot-password:account:b@test.local", FIVE_PER_5_MIN);
+
+        // a has been full again since minute 1, b refills at minute 5
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        store.evictIdle();
+
+        assertThat(store.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.dat.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.dat.role.entity.Role;
+import com.example.dat.scheduling.service.LeaseService;
+import com.example.dat.security.repo.JwtSigningKeyRepo;
+import com.example.dat.users.entity.User;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Key rotation: tokens signed before a rotation keep verifying, the JWKS lists every active key,
+ * and a token whose kid is unknown is rejected after a read-only reload (expired keys are only
+ * deleted by the periodic refresh).
+ */
+class JwtKeyManagerTest {
+
+    private JwtSigningKeyRepo jwtSigningKeyRepo;
+    private JwtKeyManager keyManager;
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtSigningKeyRepo = mock(JwtSigningKeyRepo.class);
+        keyManager = new JwtKeyManager(jwtSigningKeyRepo, mock(LeaseService.class),
+                JwtKeyManager.EDDSA, 86_400_000L, 900_000L);
+        jwtService = new JwtService(keyManager);
+        ReflectionTestUtils.setField(jwtService, "EXPIRATION_TIME", 900_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        user = User.builder()
+                .id(7L)
+                .email("patient@test.local")
+                .roles(List.of(Role.builder().name("PATIENT").build()))
+                .build();
+    }
+
+    @Test
+    void tokensSurviveRotationAndJwksListsBothKeys() {
+
+        keyManager.rotate();
+        String before = jwtService.generateToken(user);
+        String firstKid = keyManager.currentKey().kid();
+
+        keyManager.rotate();
+        String after = jwtService.generateToken(user);
+
+        assertThat(jwtService.parseToken(before).userId()).isEqualTo(7L);
+        assertThat(jwtService.parseToken(after).roles()).containsExactly("PATIENT");
+
+        List<?> keys = (List<?>) keyManager.jwks().get("keys");
+        assertThat(keys).hasSize(2);
+        assertThat(keys).anySatisfy(jwk -> {
+            Map<?, ?> entry = (Map<?, ?>) jwk;
+            assertThat(entry.get("kid")).isEqualTo(firstKid);
+            assertThat(entry.get("kty")).isEqualTo("OKP");
+            assertThat(entry.get("crv")).isEqualTo("Ed25519");
+            assertThat(entry).doesNotContainKey("d");
+        });
+    }
+
+    @Test
+    void tokenFromAnUnknownKeyIsRejected() {
+
+        keyManager.rotate();
+        JwtKeyManager.SigningKey foreign = JwtKeyManager.generate(JwtKeyManager.EDDSA);
+        String forged = Jwts.builder()
+                .header().keyId(foreign.kid()).and()
+                .subject(user.getEmail())
+                .claim("uid", 1L)
+                .signWith(foreign.privateKey(), Jwts.SIG.EdDSA)
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.parseToken(forged)).isInstanceOf(JwtException.class);
+        verify(jwtSigningKeyRepo).findByExpiresAtAfter(any());
+        verify(jwtSigningKeyRepo, never()).deleteExpired(any());
+
+        keyManager.refresh();
+        verify(jwtSigningKeyRepo).deleteExpired(any());
+    }
+}
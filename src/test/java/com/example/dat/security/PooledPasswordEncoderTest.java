@@ -0,0 +1,95 @@
+package com.example.dat.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+import com.example.dat.exceptions.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Password encoder as configured in SecurityFilter: prefixed BCrypt hashes, legacy hashes flagged for
+ * rehash, and rejection instead of queueing once the hashing pool is saturated.
+ */
+class PooledPasswordEncoderTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void legacyAndWeakerHashesAreUpgraded() {
+
+        PooledPasswordEncoder encoder = encoder(6);
+
+        String legacy = new BCryptPasswordEncoder(4).encode("secreto123");
+        assertThat(encoder.matches("secreto123", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(5).encode("secreto123");
+        assertThat(encoder.matches("secreto123", weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+
+        String current = encoder.encode("secreto123");
+        assertThat(current).startsWith("{bcrypt}$2a$06$");
+        assertThat(encoder.matches("secreto123", current)).isTrue();
+        assertThat(encoder.matches("otra", current)).isFalse();
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+    }
+
+    @Test
+    void saturatedPoolRejectsInsteadOfQueueing() throws Exception {
+
+        PooledPasswordEncoder encoder = encoder(4);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            assertThatThrownBy(() -> encoder.encode("secreto123")).isInstanceOf(TooManyRequestsException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertThat(BcryptCalibration.calibrate(Duration.ofMillis(1), 4, 8)).isEqualTo(4);
+        assertThat(BcryptCalibration.calibrate(Duration.ofHours(1), 4, 6)).isEqualTo(6);
+    }
+
+    private PooledPasswordEncoder encoder(int strength) {
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return new PooledPasswordEncoder(delegating, executor, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.dat.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.dat.users.repo.RevokedTokenRepo;
+
+/**
+ * Revoking a user: iat only has second precision, so a token issued in the same second as the
+ * revocation (possibly just before it) must count as revoked, and later ones must not.
+ */
+class TokenRevocationListTest {
+
+    private static final long TTL_MS = 900_000L;
+
+    private final TokenRevocationList revocationList = new TokenRevocationList(mock(RevokedTokenRepo.class), TTL_MS, 100);
+
+    @Test
+    void userRevocationCoversTokensIssuedUpToItsSecond() {
+
+        Instant issuedBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        revocationList.revokeUser(42L);
+
+        assertThat(revocationList.isRevoked(token(42L, issuedBefore))).isTrue();
+        assertThat(revocationList.isRevoked(token(42L, issuedBefore.minusSeconds(60)))).isTrue();
+        assertThat(revocationList.isRevoked(token(42L, issuedBefore.plusSeconds(2)))).isFalse();
+        assertThat(revocationList.isRevoked(token(7L, issuedBefore))).isFalse();
+    }
+
+    @Test
+    void singleTokenRevocationLeavesTheUsersOtherTokensValid() {
+
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        JwtService.AccessToken revoked = new JwtService.AccessToken(42L, "patient@test.local", List.of("PATIENT"),
+                "jti-revoked", issuedAt, issuedAt.plusMillis(TTL_MS));
+        revocationList.revokeToken(revoked.jti(), revoked.expiresAt());
+
+        assertThat(revocationList.isRevoked(revoked)).isTrue();
+        assertThat(revocationList.isRevoked(token(42L, issuedAt))).isFalse();
+    }
+
+    private static JwtService.AccessToken token(Long userId, Instant issuedAt) {
+        return new JwtService.AccessToken(userId, "patient@test.local", List.of("PATIENT"),
+                "jti-" + userId + "-" + issuedAt.getEpochSecond(), issuedAt, issuedAt.plusMillis(TTL_MS));
+    }
+}
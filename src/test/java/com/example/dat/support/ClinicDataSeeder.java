@@ -0,0 +1,303 @@
+package com.example.dat.support;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.appointment.entity.Appointment;
+import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.consultation.entity.Consultation;
+import com.example.dat.consultation.repo.ConsultationRepo;
+import com.example.dat.dependent.entity.Dependent;
+import com.example.dat.dependent.repo.DependentRepo;
+import com.example.dat.doctor.entity.Doctor;
+import com.example.dat.doctor.entity.Schedule;
+import com.example.dat.doctor.repo.DoctorRepo;
+import com.example.dat.doctor.repo.ScheduleRepo;
+import com.example.dat.enums.AppointmentStatus;
+import com.example.dat.enums.BloodGroup;
+import com.example.dat.enums.Genotype;
+import com.example.dat.enums.Specialization;
+import com.example.dat.patient.entity.Patient;
+import com.example.dat.patient.repo.PatientRepo;
+import com.example.dat.role.entity.Role;
+import com.example.dat.role.repo.RoleRepo;
+import com.example.dat.users.entity.User;
+import com.example.dat.users.repo.UserRepo;
+
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Synthetic clinic: doctors with a Monday-Saturday schedule, patients with dependents,
+ * and a year of past appointments (mostly completed, with consultation notes).
+ * Used by the load test and, at a few rows, by the integration tests that need a clinic to work on;
+ * component scanning registers it in every test context, so tests simply inject it.
+ * Everything is written in batches through the application's repositories.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClinicDataSeeder {
+
+    public static final String PASSWORD = "LoadTest#2026";
+
+    // Every seeded doctor: Monday-Saturday 08:00-17:00 with lunch 12:00-13:00, 30-minute consultations
+    public static final List<DayOfWeek> WORKING_DAYS = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+            DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+    public static final LocalTime DAY_START = LocalTime.of(8, 0);
+    public static final LocalTime DAY_END = LocalTime.of(17, 0);
+    public static final LocalTime LUNCH_START = LocalTime.of(12, 0);
+    public static final LocalTime LUNCH_END = LocalTime.of(13, 0);
+    public static final int CONSULTATION_MINUTES = 30;
+
+    private static final int BATCH = 500;
+
+    // Test classes sharing a Spring context (and its H2 database) each seed their own clinic:
+    // numbering continues across runs so e-mails and expediente numbers stay unique
+    private static final AtomicInteger NEXT_DOCTOR = new AtomicInteger();
+    private static final AtomicInteger NEXT_PATIENT = new AtomicInteger();
+    private static final AtomicInteger NEXT_DEPENDENT = new AtomicInteger();
+
+    private final UserRepo userRepo;
+    private final RoleRepo roleRepo;
+    private final DoctorRepo doctorRepo;
+    private final ScheduleRepo scheduleRepo;
+    private final PatientRepo patientRepo;
+    private final DependentRepo dependentRepo;
+    private final AppointmentRepo appointmentRepo;
+    private final ConsultationRepo consultationRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Random random = new Random(42);
+
+    public Dataset seed(Scale scale) {
+
+        long started = System.nanoTime();
+
+        // Same hash for every account: hashing thousands of passwords would dominate the seeding time
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        List<Doctor> doctors = seedDoctors(scale.doctors(), passwordHash);
+        List<Patient> patients = seedPatients(scale.patients(), passwordHash);
+        int dependents = seedDependents(patients, scale.dependentsPerPatient());
+        int history = seedHistory(doctors, patients, scale.historyPerPatient());
+
+        log.info("Seeded {} doctors, {} patients, {} dependents, {} past appointments in {} ms",
+                doctors.size(), patients.size(), dependents, history, (System.nanoTime() - started) / 1_000_000);
+
+        return new Dataset(
+                doctors.stream().map(Doctor::getId).toList(),
+                doctors.stream().map(Doctor::getSpecialization).distinct().toList(),
+                patients.stream().map(p -> p.getUser().getEmail()).toList());
+    }
+
+    private List<Doctor> seedDoctors(int count, String passwordHash) {
+
+        Specialization[] specializations = Specialization.values();
+        List<Doctor> doctors = new ArrayList<>(count);
+        int first = NEXT_DOCTOR.getAndAdd(count);
+
+        for (int from = 0; from < count; from += BATCH) {
+            int to = Math.min(count, from + BATCH);
+            int start = from;
+            doctors.addAll(transactionTemplate.execute(status -> {
+                // Loaded per transaction: User.roles cascades, so the role must be managed here
+                Role doctorRole = roleRepo.findByName("DOCTOR").orElseThrow();
+                List<User> users = new ArrayList<>();
+                List<Doctor> batch = new ArrayList<>();
+                for (int i = first + start; i < first + to; i++) {
+                    User user = User.builder()
+                            .name("Doctor " + i)
+                            .email("doctor" + i + "@loadtest.local")
+                            .password(passwordHash)
+                            .roles(new ArrayList<>(List.of(doctorRole)))
+                            .build();
+                    users.add(user);
+                    batch.add(Doctor.builder()
+                            .firstName("Doctor")
+                            .lastName(String.valueOf(i))
+                            .gender(i % 2 == 0 ? "FEMENINO" : "MASCULINO")
+                            .specialization(specializations[i % specializations.length])
+                            .licenseNumber("LT-" + i)
+                            .restriccionGenero("TODOS")
+                            .tiempoDeConsulta(CONSULTATION_MINUTES)
+                            .user(user)
+                            .build());
+                }
+                userRepo.saveAll(users);
+                List<Doctor> saved = doctorRepo.saveAll(batch);
+
+                List<Schedule> schedules = new ArrayList<>();
+                for (Doctor doctor : saved) {
+                    for (DayOfWeek day : WORKING_DAYS) {
+                        schedules.add(Schedule.builder()
+                                .dayOfWeek(day.name())
+                                .isActive(true)
+                                .startTime(DAY_START)
+                                .endTime(DAY_END)
+                                .lunchStart(LUNCH_START)
+                                .lunchEnd(LUNCH_END)
+                                .doctor(doctor)
+                                .build());
+                    }
+                }
+                scheduleRepo.saveAll(schedules);
+                return saved;
+            }));
+        }
+        return doctors;
+    }
+
+    private List<Patient> seedPatients(int count, String passwordHash) {
+
+        BloodGroup[] bloodGroups = BloodGroup.values();
+        List<Patient> patients = new ArrayList<>(count);
+        int first = NEXT_PATIENT.getAndAdd(count);
+
+        for (int from = 0; from < count; from += BATCH) {
+            int to = Math.min(count, from + BATCH);
+            int start = from;
+            patients.addAll(transactionTemplate.execute(status -> {
+                Role patientRole = roleRepo.findByName("PATIENT").orElseThrow();
+                List<User> users = new ArrayList<>();
+                List<Patient> batch = new ArrayList<>();
+                for (int i = first + start; i < first + to; i++) {
+                    User user = User.builder()
+                            .name("Patient " + i)
+                            .email("patient" + i + "@loadtest.local")
+                            .password(passwordHash)
+                            .roles(new ArrayList<>(List.of(patientRole)))
+                            .build();
+                    users.add(user);
+                    batch.add(Patient.builder()
+                            .expedienteNumber(expediente('P', i))
+                            .firstName("Patient")
+                            .lastName(String.valueOf(i))
+                            .dateOfBirth(LocalDate.now().minusYears(18 + random.nextInt(60)).minusDays(random.nextInt(365)))
+                            .gender(i % 2 == 0 ? "FEMENINO" : "MASCULINO")
+                            .bloodGroup(bloodGroups[i % bloodGroups.length])
+                            .genotype(Genotype.AA)
+                            .user(user)
+                            .build());
+                }
+                userRepo.saveAll(users);
+                return patientRepo.saveAll(batch);
+            }));
+        }
+        return patients;
+    }
+
+    private int seedDependents(List<Patient> patients, int perPatient) {
+
+        int total = 0;
+        int first = NEXT_DEPENDENT.getAndAdd(patients.size() * perPatient);
+        for (int from = 0; from < patients.size(); from += BATCH) {
+            List<Patient> slice = patients.subList(from, Math.min(patients.size(), from + BATCH));
+            int offset = first + total;
+            Integer saved = transactionTemplate.execute(status -> {
+                List<Dependent> batch = new ArrayList<>();
+                int n = offset;
+                for (Patient patient : slice) {
+                    for (int d = 0; d < perPatient; d++) {
+                        batch.add(Dependent.builder()
+                                .expedienteNumber(expediente('D', n++))
+                                .firstName("Dependent")
+                                .lastName(patient.getLastName() + "-" + d)
+                                .dateOfBirth(LocalDate.now().minusYears(1 + random.nextInt(17)))
+                                .gender(d % 2 == 0 ? "MASCULINO" : "FEMENINO")
+                                .relationship("HIJO/HIJA")
+                                .patient(patient)
+                                .build());
+                    }
+                }
+                dependentRepo.saveAll(batch);
+                return batch.size();
+            });
+            total += saved;
+        }
+        return total;
+    }
+
+    private int seedHistory(List<Doctor> doctors, List<Patient> patients, int perPatient) {
+
+        LocalDate today = LocalDate.now();
+        int total = 0;
+
+        for (int from = 0; from < patients.size(); from += BATCH) {
+            List<Patient> slice = patients.subList(from, Math.min(patients.size(), from + BATCH));
+            Integer saved = transactionTemplate.execute(status -> {
+                List<Appointment> appointments = new ArrayList<>();
+                for (Patient patient : slice) {
+                    for (int k = 0; k < perPatient; k++) {
+                        Doctor doctor = doctors.get(random.nextInt(doctors.size()));
+                        LocalDateTime start = today.minusDays(1 + random.nextInt(365))
+                                .atTime(8, 0)
+                                .plusMinutes(30L * random.nextInt(8));
+                        int roll = random.nextInt(10);
+                        AppointmentStatus appointmentStatus = roll < 8 ? AppointmentStatus.COMPLETED
+                                : roll == 8 ? AppointmentStatus.NO_SHOW : AppointmentStatus.CANCELLED;
+                        appointments.add(Appointment.builder()
+                                .startTime(start)
+                                .endTime(start.plusMinutes(30))
+                                .meetingLink("https://meet.jit.si/loadtest-" + patient.getId() + "-" + k)
+                                .purposeOfConsultation("Control")
+                                .status(appointmentStatus)
+                                .reminderSentAt(start.minusDays(1))
+                                .doctor(doctor)
+                                .patient(patient)
+                                .build());
+                    }
+                }
+                appointmentRepo.saveAll(appointments);
+
+                List<Consultation> consultations = new ArrayList<>();
+                for (Appointment appointment : appointments) {
+                    if (appointment.getStatus() == AppointmentStatus.COMPLETED) {
+                        consultations.add(Consultation.builder()
+                                .consultationDate(appointment.getStartTime())
+                                .subjectiveNotes("Paciente refiere molestias leves.")
+                                .objectiveFindings("Signos vitales dentro de rangos normales.")
+                                .assessment("Sin hallazgos relevantes.")
+                                .plan("Control en seis meses.")
+                                .appointment(appointment)
+                                .build());
+                    }
+                }
+                consultationRepo.saveAll(consultations);
+                return appointments.size();
+            });
+            total += saved;
+        }
+        return total;
+    }
+
+    // Five characters like the real expediente numbers: prefix plus four base-36 digits
+    private static String expediente(char prefix, int n) {
+        String digits = Integer.toString(n, 36).toUpperCase();
+        return prefix + "0".repeat(Math.max(0, 4 - digits.length())) + digits;
+    }
+
+    @Builder
+    public record Scale(int doctors, int patients, int dependentsPerPatient, int historyPerPatient) {
+
+        // Accounts only: no dependents and no past appointments
+        public static Scale of(int doctors, int patients) {
+            return new Scale(doctors, patients, 0, 0);
+        }
+    }
+
+    public record Dataset(List<Long> doctorIds, List<Specialization> specializations, List<String> patientEmails) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.dat.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * In-process stand-in for the SMTP-backed JavaMailSender: accepts every message, optionally
+ * waiting to simulate the SMTP round trip, and counts what it delivered.
+ */
+public class SinkMailSender extends JavaMailSenderImpl {
+
+    private final long latencyMs;
+    private final AtomicLong delivered = new AtomicLong();
+
+    public SinkMailSender(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        delivered.addAndGet(mimeMessages.length);
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.dat.users;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.support.ClinicDataSeeder;
+import com.example.dat.users.entity.User;
+import com.example.dat.users.repo.PasswordResetRepo;
+import com.example.dat.users.repo.UserRepo;
+import com.example.dat.users.service.PasswordResetCodeStore;
+
+/**
+ * Reset codes: a new code replaces the user's previous one, and a code can be claimed exactly once.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PasswordResetCodeStoreTest {
+
+    @Autowired private PasswordResetCodeStore passwordResetCodeStore;
+    @Autowired private PasswordResetRepo passwordResetRepo;
+
+    @Autowired private UserRepo userRepo;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ClinicDataSeeder seeder;
+
+    private User user;
+
+    @BeforeAll
+    void seed() {
+        String email = seeder.seed(ClinicDataSeeder.Scale.of(1, 1)).patientEmails().get(0);
+        user = userRepo.findByEmail(email).orElseThrow();
+    }
+
+    @Test
+    void newCodeReplacesThePreviousOne() {
+
+        String first = transactionTemplate.execute(status -> passwordResetCodeStore.issue(user));
+        String second = transactionTemplate.execute(status -> passwordResetCodeStore.issue(user));
+
+        assertThat(second).hasSize(12).isNotEqualTo(first);
+        assertThat(passwordResetRepo.findByCode(first)).isEmpty();
+        assertThat(passwordResetCodeStore.find(second)).get()
+                .extracting(PasswordResetCodeStore.ResetCode::userId).isEqualTo(user.getId());
+    }
+
+    @Test
+    void codeIsClaimedOnlyOnce() {
+
+        String code = transactionTemplate.execute(status -> passwordResetCodeStore.issue(user));
+        PasswordResetCodeStore.ResetCode resetCode = passwordResetCodeStore.find(code).orElseThrow();
+
+        Boolean first = transactionTemplate.execute(status -> passwordResetCodeStore.claim(code, resetCode));
+        Boolean second = transactionTemplate.execute(status -> passwordResetCodeStore.claim(code, resetCode));
+
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(passwordResetCodeStore.find(code)).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.dat.users;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.example.dat.support.ClinicDataSeeder;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Login, refresh-token rotation, reuse detection and logout through the real security chain.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RefreshTokenFlowTest {
+
+    @Autowired private WebApplicationContext context;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ClinicDataSeeder seeder;
+
+    private MockMvc mockMvc;
+    private String patientEmail;
+
+    @BeforeAll
+    void seed() {
+
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        patientEmail = seeder.seed(ClinicDataSeeder.Scale.of(1, 1)).patientEmails().get(0);
+    }
+
+    @Test
+    void rotatedTokenWorksAndLogoutRevokesBoth() throws Exception {
+
+        JsonNode login = login();
+        JsonNode refreshed = refresh(login.path("refreshToken").asString(), 200);
+
+        String accessToken = refreshed.path("token").asString();
+        String refreshToken = refreshed.path("refreshToken").asString();
+        assertThat(refreshToken).isNotEqualTo(login.path("refreshToken").asString());
+
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        refresh(refreshToken, 401);
+    }
+
+    @Test
+    void reusedRefreshTokenRevokesTheFamily() throws Exception {
+
+        String first = login().path("refreshToken").asString();
+        String second = refresh(first, 200).path("refreshToken").asString();
+
+        // The first token was already rotated: whoever holds it copied it
+        refresh(first, 401);
+        refresh(second, 401);
+    }
+
+    private JsonNode login() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("email", patientEmail, "password", ClinicDataSeeder.PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data");
+    }
+
+    private JsonNode refresh(String refreshToken, int expectedStatus) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data");
+    }
+}
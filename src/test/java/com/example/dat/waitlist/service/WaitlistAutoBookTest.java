@@ -0,0 +1,182 @@
+package com.example.dat.waitlist.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.dat.appointment.event.AppointmentCancelledEvent;
+import com.example.dat.appointment.repo.AppointmentRepo;
+import com.example.dat.appointment.service.AppointmentService;
+import com.example.dat.dependent.repo.DependentRepo;
+import com.example.dat.doctor.repo.DoctorRepo;
+import com.example.dat.enums.WaitlistStatus;
+import com.example.dat.notification.event.EmailRequestedEvent;
+import com.example.dat.patient.entity.Patient;
+import com.example.dat.patient.repo.PatientRepo;
+import com.example.dat.support.ClinicDataSeeder;
+import com.example.dat.users.repo.UserRepo;
+import com.example.dat.users.service.UserService;
+import com.example.dat.waitlist.entity.WaitlistEntry;
+import com.example.dat.waitlist.repo.WaitlistEntryRepo;
+
+/**
+ * Auto-booking from the waitlist when a slot is freed, with the real booking path behind it:
+ * the entry is claimed, booked and linked in one go; a booking that fails releases the claim so
+ * the entry keeps waiting and the walk moves on; and a second node handling the same cancellation
+ * cannot book the entry again.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WaitlistAutoBookTest {
+
+    @Autowired private WaitlistEntryRepo waitlistEntryRepo;
+    @Autowired private PatientRepo patientRepo;
+    @Autowired private DoctorRepo doctorRepo;
+    @Autowired private DependentRepo dependentRepo;
+    @Autowired private UserRepo userRepo;
+    @Autowired private UserService userService;
+    @Autowired private AppointmentService appointmentService;
+    @Autowired private AppointmentRepo appointmentRepo;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ClinicDataSeeder seeder;
+
+    private LocalDate monday;
+    private int week;
+
+    private Long doctorId;
+    private List<String> patientEmails;
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeAll
+    void firstWeek() {
+        monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    // A doctor of its own per test, so every test starts from an empty waitlist and calendar
+    @BeforeEach
+    void seed() {
+        ClinicDataSeeder.Dataset dataset = seeder.seed(ClinicDataSeeder.Scale.of(1, 3));
+        doctorId = dataset.doctorIds().get(0);
+        patientEmails = dataset.patientEmails();
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        week++;
+    }
+
+    @Test
+    void waiterIsClaimedBookedAndLinkedTogether() {
+
+        LocalDateTime slot = slot();
+        Long entryId = waiting(0, true, slot.toLocalDate());
+
+        node().onAppointmentCancelled(cancelled(slot));
+
+        WaitlistEntry entry = waitlistEntryRepo.findById(entryId).orElseThrow();
+        assertThat(entry.getStatus()).isEqualTo(WaitlistStatus.BOOKED);
+        assertThat(entry.getAppointmentId()).isNotNull();
+        assertThat(appointmentRepo.findById(entry.getAppointmentId()))
+                .hasValueSatisfying(appointment -> assertThat(appointment.getStartTime()).isEqualTo(slot));
+    }
+
+    @Test
+    void failedBookingReleasesTheClaimAndTheWalkMovesOn() {
+
+        LocalDateTime slot = slot();
+        Long autoBookId = waiting(0, true, slot.toLocalDate());
+        waiting(1, false, slot.toLocalDate());
+
+        // Someone else got the slot before the waitlist did
+        appointmentService.bookOnBehalf(patientId(2), null, doctorId, slot, "Control");
+
+        node().onAppointmentCancelled(cancelled(slot));
+
+        WaitlistEntry entry = waitlistEntryRepo.findById(autoBookId).orElseThrow();
+        assertThat(entry.getStatus()).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(entry.getAppointmentId()).isNull();
+        assertThat(appointmentRepo.findByPatient_User_IdOrderByIdDesc(userId(0))).isEmpty();
+
+        // The next waiter, offer-only, is told about the slot instead
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EmailRequestedEvent email
+                && patientEmails.get(1).equals(email.notification().getRecipient())));
+    }
+
+    @Test
+    void sameCancellationOnAnotherNodeDoesNotBookTwice() {
+
+        LocalDateTime slot = slot();
+        Long entryId = waiting(0, true, slot.toLocalDate());
+
+        WaitlistServiceImpl first = node();
+        WaitlistServiceImpl second = node();
+        // Loads the second node's queue (entry included) without matching it
+        second.onAppointmentCancelled(cancelled(slot.plusDays(1)));
+
+        first.onAppointmentCancelled(cancelled(slot));
+        second.onAppointmentCancelled(cancelled(slot));
+
+        assertThat(appointmentRepo.findByPatient_User_IdOrderByIdDesc(userId(0))).hasSize(1);
+        assertThat(waitlistEntryRepo.findById(entryId).orElseThrow().getStatus()).isEqualTo(WaitlistStatus.BOOKED);
+    }
+
+    // A service instance as one node would have it: own in-memory queues, same database
+    private WaitlistServiceImpl node() {
+        WaitlistServiceImpl node = new WaitlistServiceImpl(waitlistEntryRepo, patientRepo, doctorRepo, dependentRepo,
+                userService, appointmentService, eventPublisher, transactionTemplate);
+        ReflectionTestUtils.setField(node, "maxRangeDays", 60L);
+        ReflectionTestUtils.setField(node, "offerFanOut", 3);
+        ReflectionTestUtils.setField(node, "queueRefreshSeconds", 300L);
+        return node;
+    }
+
+    // 09:00 on a Monday, a different week per test
+    private LocalDateTime slot() {
+        return monday.plusWeeks(week).atTime(9, 0);
+    }
+
+    // Waiting for exactly the slot's day, queued in call order
+    private Long waiting(int patient, boolean autoBook, LocalDate date) {
+        return transactionTemplate.execute(status -> waitlistEntryRepo.save(WaitlistEntry.builder()
+                .doctor(doctorRepo.findById(doctorId).orElseThrow())
+                .patient(patientRepo.findById(patientId(patient)).orElseThrow())
+                .fromDate(date)
+                .toDate(date)
+                .purposeOfConsultation("Control")
+                .autoBook(autoBook)
+                .priority(0)
+                .status(WaitlistStatus.WAITING)
+                .createdAt(LocalDateTime.now().plusNanos(patient * 1_000_000L))
+                .build()).getId());
+    }
+
+    private AppointmentCancelledEvent cancelled(LocalDateTime start) {
+        return new AppointmentCancelledEvent(null, doctorId, start, start.plusMinutes(30));
+    }
+
+    private Long patientId(int index) {
+        Patient patient = patientRepo.findByUser(userRepo.findByEmail(patientEmails.get(index)).orElseThrow())
+                .orElseThrow();
+        return patient.getId();
+    }
+
+    private Long userId(int index) {
+        return userRepo.findByEmail(patientEmails.get(index)).orElseThrow().getId();
+    }
+}
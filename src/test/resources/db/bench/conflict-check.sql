@@ -0,0 +1,45 @@
+-- Compares the old and new booking conflict checks on the seeded data (see seed-appointments.sql).
+-- Run each block with and without idx_appointments_doctor_status_time
+-- (ALTER TABLE appointments ALTER INDEX idx_appointments_doctor_status_time INVISIBLE / VISIBLE)
+-- and compare the EXPLAIN ANALYZE timings and "rows examined".
+
+SET @doctor_id = (SELECT MIN(id) FROM doctors WHERE first_name = 'Bench');
+SET @slot_start = TIMESTAMP(CURDATE() + INTERVAL 30 DAY, '10:00:00');
+SET @slot_end = @slot_start + INTERVAL 1 HOUR;
+
+-- Before: entity list with the status as a string literal
+EXPLAIN ANALYZE
+SELECT a.*
+FROM appointments a
+WHERE a.doctor_id = @doctor_id
+  AND a.status = 'SCHEDULED'
+  AND a.start_time < @slot_end
+  AND a.end_time > @slot_start;
+
+-- After: what AppointmentRepo.existsConflictingAppointment generates (ids only, bounded range, LIMIT 1)
+EXPLAIN ANALYZE
+SELECT a.id
+FROM appointments a
+WHERE a.doctor_id = @doctor_id
+  AND a.status = 'SCHEDULED'
+  AND a.start_time >= @slot_start - INTERVAL 1 DAY
+  AND a.start_time < @slot_end
+  AND a.end_time > @slot_start
+LIMIT 1;
+
+-- Free slot (worst case for the existence check: no match to stop at)
+SET @free_start = TIMESTAMP(CURDATE() + INTERVAL 30 DAY, '19:00:00');
+EXPLAIN ANALYZE
+SELECT a.id
+FROM appointments a
+WHERE a.doctor_id = @doctor_id
+  AND a.status = 'SCHEDULED'
+  AND a.start_time >= @free_start - INTERVAL 1 DAY
+  AND a.start_time < @free_start + INTERVAL 1 HOUR
+  AND a.end_time > @free_start
+LIMIT 1;
+
+-- Clean up the bench data
+-- DELETE a FROM appointments a JOIN doctors d ON d.id = a.doctor_id WHERE d.first_name = 'Bench';
+-- DELETE FROM doctors WHERE first_name = 'Bench';
+-- DELETE FROM users WHERE email LIKE 'bench.doctor%@bench.local';
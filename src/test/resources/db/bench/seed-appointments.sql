@@ -0,0 +1,57 @@
+-- Seeds ~1,000,000 appointments for benchmarking the booking conflict check.
+-- Run against a throwaway MySQL 8 schema that has been migrated by Flyway (start the app once):
+--   mysql -u <user> -p <bench_schema> < src/test/resources/db/bench/seed-appointments.sql
+-- Data: 200 doctors, each with 5000 one-hour appointments spread over ~2 years of working days,
+-- 80% SCHEDULED, 15% COMPLETED, 5% CANCELLED, so the status filter is actually selective.
+
+SET SESSION foreign_key_checks = 0;
+SET SESSION unique_checks = 0;
+
+DROP TEMPORARY TABLE IF EXISTS bench_digits;
+CREATE TEMPORARY TABLE bench_digits (d INT NOT NULL PRIMARY KEY);
+INSERT INTO bench_digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+-- Doctors and their users
+INSERT INTO users (name, email, password)
+SELECT CONCAT('Bench Doctor ', n), CONCAT('bench.doctor', n, '@bench.local'), '{noop}bench'
+FROM (SELECT a.d + b.d * 10 + c.d * 100 + 1 AS n
+      FROM bench_digits a, bench_digits b, bench_digits c) nums
+WHERE n <= 200;
+
+INSERT INTO doctors (first_name, last_name, specialization, consultation_minutes, user_id)
+SELECT 'Bench', CONCAT('Doctor ', u.id), 'MEDICINA_FAMILIAR', 60, u.id
+FROM users u
+WHERE u.email LIKE 'bench.doctor%@bench.local';
+
+-- 1,000,000 appointments: doctor = n mod 200, slot = n div 200 (8 slots a day from 08:00)
+INSERT INTO appointments (start_time, end_time, status, meeting_link, doctor_id)
+SELECT s.start_time,
+       s.start_time + INTERVAL 1 HOUR,
+       CASE WHEN s.n % 20 = 0 THEN 'CANCELLED'
+            WHEN s.n % 20 < 4 THEN 'COMPLETED'
+            ELSE 'SCHEDULED' END,
+       CONCAT('https://meet.jit.si/bench-', s.n),
+       d.id
+FROM (SELECT n,
+             n % 200 AS doctor_index,
+             TIMESTAMP(CURDATE() - INTERVAL 1 YEAR)
+                 + INTERVAL ((n DIV 200) DIV 8) DAY
+                 + INTERVAL (8 + (n DIV 200) % 8) HOUR AS start_time
+      FROM (SELECT a.d + b.d * 10 + c.d * 100 + e.d * 1000 + f.d * 10000 + g.d * 100000 AS n
+            FROM bench_digits a, bench_digits b, bench_digits c,
+                 bench_digits e, bench_digits f, bench_digits g) nums) s
+JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS doctor_index
+      FROM doctors
+      WHERE first_name = 'Bench') d ON d.doctor_index = s.doctor_index;
+
+DROP TEMPORARY TABLE bench_digits;
+
+SET SESSION unique_checks = 1;
+SET SESSION foreign_key_checks = 1;
+
+-- Hibernate allocates appointment ids from id_generators (V7); move it past the seeded rows
+UPDATE id_generators
+SET next_val = (SELECT COALESCE(MAX(id), 0) + 100 FROM appointments)
+WHERE name = 'appointments';
+
+ANALYZE TABLE appointments;